@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/io;
 import ballerina/jballerina.java;
 
 # Represents a chunker that can process documents and return chunks.
@@ -24,6 +25,31 @@ public type Chunker isolated object {
     public isolated function chunk(Document document) returns Chunk[]|Error;
 };
 
+# Configuration of a built-in chunker, used to chunk a batch of documents natively.
+type ChunkerConfig record {|
+    # The type of the documents the chunker is meant for
+    "text"|"markdown"|"html" documentType;
+    # Maximum number of characters allowed per chunk
+    int maxChunkSize;
+    # Maximum number of characters to reuse from the end of the previous chunk
+    int maxOverlapSize;
+    # The chunking strategy to use
+    RecursiveChunkStrategy|MarkdownChunkStrategy|HtmlChunkStrategy strategy;
+|};
+
+# Chunks a batch of text documents in parallel.
+# The chunks are returned in the order of the input documents, and the chunks of each document are indexed
+# as if the document was chunked on its own.
+#
+# + documents - The text documents or chunks to be chunked
+# + configs - The configuration of the chunker to use for each document
+# + textChunkType - The type of the chunks to be created
+# + return - An array of chunks, or an `ai:Error` if chunking any of the documents fails
+isolated function chunkDocuments((TextDocument|TextChunk)[] documents, ChunkerConfig[] configs,
+        typedesc<TextChunk> textChunkType = TextChunk) returns TextChunk[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
 # Represents a Genereric document chunker.
 # Provides functionality to recursively chunk a text document using a configurable strategy.
 #
@@ -40,8 +66,8 @@ public isolated class GenericRecursiveChunker {
     #
     # + maxChunkSize - Maximum number of characters allowed per chunk
     # + maxOverlapSize - Maximum number of characters to reuse from the end of the previous chunk when creating the next one.
-    # This overlap is made of complete sentences taken in reverse from the previous chunk, without exceeding
-    # this limit. It helps maintain context between chunks during splitting.
+    # This overlap is the last piece of the previous chunk, split with the strategy and its fallbacks, that fits
+    # within this limit. It helps maintain context between chunks during splitting.
     # + strategy - The recursive chunking strategy to use. Defaults to `PARAGRAPH`
     public isolated function init(int maxChunkSize = 200, int maxOverlapSize = 40,
             RecursiveChunkStrategy strategy = PARAGRAPH) {
@@ -56,6 +82,11 @@ public isolated class GenericRecursiveChunker {
     public isolated function chunk(Document document) returns Chunk[]|Error {
         return chunkDocumentRecursively(document, self.maxChunkSize, self.maxOverlapSize, self.strategy);
     }
+
+    isolated function getConfig() returns ChunkerConfig {
+        return {documentType: "text", maxChunkSize: self.maxChunkSize, maxOverlapSize: self.maxOverlapSize,
+            strategy: self.strategy};
+    }
 }
 
 # Represents a Markdown document chunker.
@@ -89,6 +120,11 @@ public isolated class MarkdownChunker {
     public isolated function chunk(Document document) returns Chunk[]|Error {
         return chunkMarkdownDocument(document, self.maxChunkSize, self.maxOverlapSize, self.strategy);
     }
+
+    isolated function getConfig() returns ChunkerConfig {
+        return {documentType: "markdown", maxChunkSize: self.maxChunkSize, maxOverlapSize: self.maxOverlapSize,
+            strategy: self.strategy};
+    }
 }
 
 # Represents an HTML document chunker.
@@ -123,6 +159,11 @@ public isolated class HtmlChunker {
     public isolated function chunk(Document document) returns Chunk[]|Error {
         return chunkHtmlDocument(document, self.maxChunkSize, self.maxOverlapSize, self.strategy);
     }
+
+    isolated function getConfig() returns ChunkerConfig {
+        return {documentType: "html", maxChunkSize: self.maxChunkSize, maxOverlapSize: self.maxOverlapSize,
+            strategy: self.strategy};
+    }
 }
 
 # Provides functionality to recursively chunk a text document using a configurable strategy.
@@ -134,8 +175,8 @@ public isolated class HtmlChunker {
 # + document - The input document or string to be chunked
 # + maxChunkSize - Maximum number of characters allowed per chunk
 # + maxOverlapSize - Maximum number of characters to reuse from the end of the previous chunk when creating the next one.
-# This overlap is made of complete sentences taken in reverse from the previous chunk, without exceeding
-# this limit. It helps maintain context between chunks during splitting.
+# This overlap is the last piece of the previous chunk, split with the strategy and its fallbacks, that fits
+# within this limit. It helps maintain context between chunks during splitting.
 # + strategy - The recursive chunking strategy to use. Defaults to `PARAGRAPH`
 # + return - An array of chunks, or an `ai:Error` if the chunking fails.
 public isolated function chunkDocumentRecursively(Document|string document, int maxChunkSize = 200, int maxOverlapSize = 40,
@@ -185,6 +226,292 @@ public isolated function chunkHtmlDocument(Document document, int maxChunkSize,
     return chunkHtmlDocumentInner(document, maxChunkSize, maxOverlapSize, strategy);
 }
 
+# Describes the chunks of a document as of its last chunking, so that the document can be re-chunked incrementally.
+public type ChunkManifest record {|
+    # The chunks that have an id, in document order
+    ChunkManifestEntry[] chunks;
+|};
+
+# Describes a chunk of a document in a `ChunkManifest`.
+public type ChunkManifestEntry record {|
+    # The id of the chunk
+    int id;
+    # The hash of the chunk content, which is the same for all the chunks with the same content
+    int contentHash;
+    # The offset of the chunk, which is the total length of the content of the chunks before it
+    int offset;
+|};
+
+# Represents a chunk whose content was also in the previous chunking of its document.
+public type MovedChunk record {|
+    # The id of the previous chunk with the same content
+    int previousId;
+    # The chunk
+    Chunk chunk;
+|};
+
+# Represents the changes between two chunkings of a document.
+public type ChunkDiff record {|
+    # The chunks whose content was not in the previous chunking, such as inserted chunks and chunks whose content
+    # changed
+    Chunk[] added;
+    # The chunks whose content was in the previous chunking, but at a different offset or under a different id
+    MovedChunk[] moved;
+    # The ids of the previous chunks whose content is no longer present
+    int[] removed;
+    # The manifest of the new chunking, to be used for the next incremental chunking of the document
+    ChunkManifest manifest;
+|};
+
+# Re-chunks a document and returns only the chunks that changed since its previous chunking.
+#
+# Chunk ids are derived from the chunk content, its occurrence in the document and the path or file name of the
+# document, so a chunk whose content is unchanged keeps its id. How far an edit reaches depends on the strategy.
+# With the `MARKDOWN_HEADER` strategy of the markdown chunker, chunks do not span sections, so an edit only changes
+# the chunks of its section. Other strategies fill chunks greedily, so an edit that changes the length of the content
+# can shift the boundaries of all the chunks that follow it, and those chunks are reported as added.
+# Chunks that keep their content but not their offset or id, such as the chunks after an edit of another section,
+# are reported as moved rather than added.
+# Chunks without an id, such as those produced by custom chunkers, are always reported as added.
+#
+# + document - The updated document
+# + previous - The manifest of the previous chunking of the document
+# + chunker - The chunker to use. If set to `AUTO`, the chunker is chosen based on the document type
+# + return - The changes between the two chunkings, or an `ai:Error` if the chunking fails
+public isolated function chunkIncrementally(Document document, ChunkManifest previous, Chunker|AUTO chunker = AUTO)
+        returns ChunkDiff|Error {
+    Chunker chunkerToUse = chunker is Chunker ? chunker : guessChunker(document);
+    return diffChunks(check chunkerToUse.chunk(document), previous);
+}
+
+isolated function diffChunks(Chunk[] chunks, ChunkManifest previous) returns ChunkDiff {
+    map<ChunkManifestEntry> previousById = {};
+    map<ChunkManifestEntry[]> previousByHash = {};
+    foreach ChunkManifestEntry entry in previous.chunks {
+        previousById[entry.id.toString()] = entry;
+        ChunkManifestEntry[]? entries = previousByHash[entry.contentHash.toString()];
+        if entries is () {
+            previousByHash[entry.contentHash.toString()] = [entry];
+        } else {
+            entries.push(entry);
+        }
+    }
+    map<()> currentIds = {};
+    foreach Chunk chunk in chunks {
+        int? id = chunk.metadata?.id;
+        if id is int {
+            currentIds[id.toString()] = ();
+        }
+    }
+
+    Chunk[] added = [];
+    MovedChunk[] moved = [];
+    ChunkManifestEntry[] entries = [];
+    map<()> seenIds = {};
+    // The previous chunks whose content is still present
+    map<()> kept = {};
+    int offset = 0;
+    foreach Chunk chunk in chunks {
+        string content = contentOf(chunk);
+        int chunkOffset = offset;
+        offset += content.length();
+        int? id = chunk.metadata?.id;
+        if id is () {
+            added.push(chunk);
+            continue;
+        }
+        string key = id.toString();
+        if seenIds.hasKey(key) {
+            // Chunks with the same id are reported once, such as the chunks of a document that is chunked twice
+            continue;
+        }
+        seenIds[key] = ();
+        int hash = contentHash(content);
+        entries.push({id, contentHash: hash, offset: chunkOffset});
+
+        ChunkManifestEntry? same = previousById[key];
+        if same is ChunkManifestEntry {
+            kept[key] = ();
+            if same.offset != chunkOffset {
+                moved.push({previousId: id, chunk});
+            }
+            continue;
+        }
+        // The content may have been kept under another id, such as when an earlier copy of it was removed
+        ChunkManifestEntry? source = ();
+        foreach ChunkManifestEntry candidate in previousByHash[hash.toString()] ?: [] {
+            string candidateKey = candidate.id.toString();
+            if !currentIds.hasKey(candidateKey) && !kept.hasKey(candidateKey) {
+                source = candidate;
+                break;
+            }
+        }
+        if source is ChunkManifestEntry {
+            kept[source.id.toString()] = ();
+            moved.push({previousId: source.id, chunk});
+        } else {
+            added.push(chunk);
+        }
+    }
+    int[] removed = from ChunkManifestEntry entry in previous.chunks
+        where !kept.hasKey(entry.id.toString())
+        select entry.id;
+    return {added, moved, removed, manifest: {chunks: entries}};
+}
+
+# Returns the manifest of the chunks of a document, given in document order.
+isolated function manifestOf(Chunk[] chunks) returns ChunkManifest {
+    ChunkManifestEntry[] entries = [];
+    int offset = 0;
+    foreach Chunk chunk in chunks {
+        string content = contentOf(chunk);
+        int? id = chunk.metadata?.id;
+        if id is int {
+            entries.push({id, contentHash: contentHash(content), offset});
+        }
+        offset += content.length();
+    }
+    return {chunks: entries};
+}
+
+isolated function contentOf(Chunk chunk) returns string {
+    anydata content = chunk.content;
+    return content is string ? content : content.toJsonString();
+}
+
+isolated function contentHash(string content) returns int = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
+# Lazily chunks markdown content read as a stream of UTF-8 encoded byte blocks, such as the stream returned by
+# `io:fileReadBlocksAsStream`.
+#
+# Only a window of a few chunks is held in memory at a time, so arbitrarily large content can be chunked
+# without loading it fully. Chunks are produced using the same strategies as `chunkMarkdownDocument`.
+#
+# + content - The stream of byte blocks to be chunked
+# + maxChunkSize - Maximum number of characters allowed per chunk
+# + maxOverlapSize - Maximum number of characters to reuse from the end of the previous chunk when creating the next one.
+# + strategy - The markdown chunking strategy to use. Defaults to `MARKDOWN_HEADER`
+# + metadata - Metadata to be included in each chunk
+# + return - A stream of chunks, or an `ai:Error` if the chunker cannot be created
+public isolated function chunkMarkdownStream(stream<byte[], io:Error?> content, int maxChunkSize = 200,
+        int maxOverlapSize = 40, MarkdownChunkStrategy strategy = MARKDOWN_HEADER, Metadata? metadata = ())
+        returns stream<TextChunk, Error?>|Error {
+    TextChunkStream chunkStream = new (content, metadata);
+    check initMarkdownStreamChunker(chunkStream, maxChunkSize, maxOverlapSize, strategy);
+    return new (chunkStream);
+}
+
+# Lazily chunks plain text read as a stream of UTF-8 encoded byte blocks, such as the stream returned by
+# `io:fileReadBlocksAsStream`.
+#
+# Only a window of a few chunks is held in memory at a time, so arbitrarily large content can be chunked
+# without loading it fully. Chunks are produced using the same strategies as `chunkDocumentRecursively`.
+#
+# + content - The stream of byte blocks to be chunked
+# + maxChunkSize - Maximum number of characters allowed per chunk
+# + maxOverlapSize - Maximum number of characters to reuse from the end of the previous chunk when creating the next one.
+# + strategy - The recursive chunking strategy to use. Defaults to `PARAGRAPH`
+# + metadata - Metadata to be included in each chunk
+# + return - A stream of chunks, or an `ai:Error` if the chunker cannot be created
+public isolated function chunkTextStream(stream<byte[], io:Error?> content, int maxChunkSize = 200,
+        int maxOverlapSize = 40, RecursiveChunkStrategy strategy = PARAGRAPH, Metadata? metadata = ())
+        returns stream<TextChunk, Error?>|Error {
+    TextChunkStream chunkStream = new (content, metadata);
+    check initTextStreamChunker(chunkStream, maxChunkSize, maxOverlapSize, strategy);
+    return new (chunkStream);
+}
+
+# Lazily chunks HTML content read as a stream of UTF-8 encoded byte blocks, such as the stream returned by
+# `io:fileReadBlocksAsStream`.
+#
+# Only a window of a few chunks is held in memory at a time, so arbitrarily large content can be chunked
+# without loading it fully. Chunks are produced using the same strategies as `chunkHtmlDocument`.
+#
+# + content - The stream of byte blocks to be chunked
+# + maxChunkSize - Maximum number of characters allowed per chunk
+# + maxOverlapSize - Maximum number of characters to reuse from the end of the previous chunk when creating the next one.
+# + strategy - The HTML chunking strategy to use. Defaults to `HTML_HEADER`
+# + metadata - Metadata to be included in each chunk
+# + return - A stream of chunks, or an `ai:Error` if the chunker cannot be created
+public isolated function chunkHtmlStream(stream<byte[], io:Error?> content, int maxChunkSize = 200,
+        int maxOverlapSize = 40, HtmlChunkStrategy strategy = HTML_HEADER, Metadata? metadata = ())
+        returns stream<TextChunk, Error?>|Error {
+    TextChunkStream chunkStream = new (content, metadata);
+    check initHtmlStreamChunker(chunkStream, maxChunkSize, maxOverlapSize, strategy);
+    return new (chunkStream);
+}
+
+class TextChunkStream {
+    private final stream<byte[], io:Error?> content;
+    private final TextDocument document;
+    private TextChunk[] pending = [];
+    private int position = 0;
+    private boolean finished = false;
+
+    isolated function init(stream<byte[], io:Error?> content, Metadata? metadata) {
+        self.content = content;
+        self.document = {content: "", metadata: metadata.clone()};
+    }
+
+    public isolated function next() returns record {|TextChunk value;|}|Error? {
+        while self.position >= self.pending.length() {
+            if self.finished {
+                return;
+            }
+            record {|byte[] value;|}|io:Error? block = self.content.next();
+            if block is io:Error {
+                return error Error("Failed to read the content to be chunked", block);
+            }
+            if block is () {
+                self.finished = true;
+                self.pending = check finishStreamChunker(self, self.document);
+            } else {
+                self.pending = check feedStreamChunker(self, block.value, self.document);
+            }
+            self.position = 0;
+        }
+        TextChunk chunk = self.pending[self.position];
+        self.position += 1;
+        return {value: chunk};
+    }
+
+    public isolated function close() returns Error? {
+        self.finished = true;
+        self.pending = [];
+        io:Error? result = self.content.close();
+        if result is io:Error {
+            return error Error("Failed to close the content stream", result);
+        }
+    }
+}
+
+isolated function initMarkdownStreamChunker(TextChunkStream chunkStream, int chunkSize, int overlapSize,
+        MarkdownChunkStrategy chunkStrategy) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
+isolated function initTextStreamChunker(TextChunkStream chunkStream, int chunkSize, int overlapSize,
+        RecursiveChunkStrategy chunkStrategy) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
+isolated function initHtmlStreamChunker(TextChunkStream chunkStream, int chunkSize, int overlapSize,
+        HtmlChunkStrategy chunkStrategy) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
+isolated function feedStreamChunker(TextChunkStream chunkStream, byte[] bytes, TextDocument document,
+        typedesc<TextChunk> textChunkType = TextChunk) returns TextChunk[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
+isolated function finishStreamChunker(TextChunkStream chunkStream, TextDocument document,
+        typedesc<TextChunk> textChunkType = TextChunk) returns TextChunk[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.ai.Chunkers"
+} external;
+
 isolated function chunkMarkdownDocumentInner(Document document, int chunkSize, int overlapSize,
         MarkdownChunkStrategy chunkStrategy, typedesc<TextChunk> textChunkType = TextChunk) returns TextChunk[]|Error = @java:Method {
     'class: "io.ballerina.stdlib.ai.Chunkers",
@@ -202,40 +529,41 @@ isolated function chunkHtmlDocumentInner(Document document, int chunkSize, int o
 # Each strategy attempts to include as much content as possible using a specific unit (such as paragraph or sentence).
 # If the content exceeds the defined `maxChunkSize` in `RecursiveChunker`, the strategy recursively falls back
 # to a finer-grained unit until the content fits within the limit.
+# The chunks are slices of the original content, with the whitespace around each chunk trimmed. The separators
+# between the units of a chunk are kept as they are in the content.
 public enum RecursiveChunkStrategy {
 
-    # Splits text by individual characters.
+    # Splits text into windows of at most `maxChunkSize` characters.
     CHARACTER,
 
     # Splits text by words. Falls back to CHARACTER if the chunk exceeds the size limit.
     #
-    # Word boundaries are detected using at least one space character (" ").
-    # Any extra whitespace before or after words, such as multiple spaces or newline characters, is ignored.
-    # Examples of valid word separators include " ", "  ", "\n", and " \n ".
-    # When multiple words fit within the limit, they are joined together using a single space (" ").
+    # Word boundaries are detected using any run of whitespace, such as " ", "  ", "\n", and " \n ".
     WORD,
 
-    # Splits text by lines. Falls back to WORD, then CHARACTER, if the chunk exceeds the size limit.
+    # Splits text by lines. Falls back to SENTENCE, then WORD, then CHARACTER, if the chunk exceeds the size limit.
     #
-    # Line boundaries are identified using at least one newline character ("\n").
-    # Any extra whitespace before or after lines is ignored.
-    # Examples of valid line separators include "\n", "\n\n", " \n", and "\n ".
-    # When multiple lines fit within the limit, they are joined together using a single newline ("\n").
+    # Line boundaries are identified using a newline along with the whitespace around it, such as "\n", " \n", and
+    # "\n\n".
     LINE,
 
     # Splits text by sentences. Falls back to WORD, then CHARACTER, if the chunk exceeds the size limit.
     #
     # Sentence boundaries are detected using OpenNLP's sentence detector (https://opennlp.apache.org).
-    # When multiple sentences fit within the limit, they are joined together using a single space (" ").
     SENTENCE,
 
     # Splits text by paragraphs. Falls back to SENTENCE, then WORD, then CHARACTER, if the chunk exceeds the size limit.
     #
-    # Paragraph boundaries are detected using at least two newline characters ("\n\n").
-    # Any extra whitespace before, between, or after paragraphs is ignored.
-    # Examples of valid paragraph separators include "\n\n", "\n\n\n", "\n \n", and " \n \n ".
-    # When multiple paragraphs fit within the limit, they are joined together using a double newline ("\n\n").
-    PARAGRAPH
+    # Paragraph boundaries are detected using two newlines along with the whitespace around and between them, such
+    # as "\n\n", "\n\n\n", "\n \n", and " \n \n ".
+    PARAGRAPH,
+
+    # Splits text by sentences detected with OpenNLP's sentence detector. Falls back to WORD, then CHARACTER, if the
+    # chunk exceeds the size limit.
+    #
+    # The sentence model is loaded once and shared, so chunking many documents does not reload it. Sentences keep the
+    # whitespace that follows them, so the chunks are slices of the original content.
+    NLP_SENTENCE
 }
 
 # Represents the available strategies for chunking a markdown document.
@@ -267,7 +595,11 @@ public enum MarkdownChunkStrategy {
 
     WORD,
 
-    CHARACTER
+    CHARACTER,
+
+    # Split text by sentences detected with OpenNLP's sentence detector. If chunk is still too large, it falls back to
+    # the WORD and CHARACTER strategies in that order.
+    NLP_SENTENCE
 }
 
 # Represents the available strategies for chunking a HTML document.
@@ -294,5 +626,9 @@ public enum HtmlChunkStrategy {
 
     WORD,
 
-    CHARACTER
+    CHARACTER,
+
+    # Split text by sentences detected with OpenNLP's sentence detector. If chunk is still too large, it falls back to
+    # the WORD and CHARACTER strategies in that order.
+    NLP_SENTENCE
 }
@@ -17,6 +17,7 @@
 import ballerina/file;
 import ballerina/io;
 import ballerina/jballerina.java;
+import ballerina/log;
 
 # Represents a data loader that can load documents from various sources.
 public type DataLoader isolated object {
@@ -25,6 +26,27 @@ public type DataLoader isolated object {
     public isolated function load() returns Document[]|Document|Error;
 };
 
+# Configuration of the on-disk cache of the text extracted from PDF, DOCX and PPTX files.
+public type ExtractionCacheConfig record {|
+    # The directory in which the extracted text and metadata are stored
+    string directory;
+    # The maximum total size of the cached entries. The least recently used entries are deleted once it is exceeded
+    int maxSizeInBytes = 1073741824;
+|};
+
+# Limits applied to each PDF, DOCX and PPTX file read by the data loaders. A document that exceeds any of them fails
+# with a `DocumentLimitExceededError`. A limit that is not set is not enforced. The limits also apply to documents
+# found in the extraction cache and to PDF files loaded as a stream.
+public type DocumentLimits record {|
+    # The maximum number of characters extracted from a document
+    int? maxCharacters = ();
+    # The maximum size of a file in bytes
+    int? maxInputBytes = ();
+    # The maximum time in seconds taken to extract the text of a document. For PDF files loaded as a stream, the
+    # time spent waiting for the pages to be read is not counted
+    decimal? timeout = ();
+|};
+
 # Dataloader that can be used to load supported file types as `TextDocument`s.
 # Currently only supports `pdf`, `docx`, `markdown`, `html`, and `pptx` file types.
 public isolated class TextDataLoader {
@@ -55,6 +77,162 @@ public isolated class TextDataLoader {
         }
         return documents;
     }
+
+    # Lazily loads documents as `TextDocument`s from a source, one at a time.
+    #
+    # PDF files are read page by page, and a `TextDocument` is produced for every `pagesPerDocument` pages, with the
+    # number of its first page in the `page` metadata field. Only a few pages are held in memory at a time, so large
+    # PDF files can be loaded and chunked before they are fully parsed. Other files produce a single document each.
+    # A stream that is not read to the end should be closed to stop reading the file in progress.
+    #
+    # + pagesPerDocument - Number of PDF pages to include in each document
+    # + return - a stream of documents, or an `ai:Error` if `pagesPerDocument` is not positive
+    public isolated function loadAsStream(int pagesPerDocument = 1) returns stream<Document, Error?>|Error {
+        if pagesPerDocument <= 0 {
+            return error Error("Pages per document must be greater than 0");
+        }
+        return new (new DocumentStream(self.paths, pagesPerDocument));
+    }
+}
+
+class DocumentStream {
+    private final readonly & string[] paths;
+    private final int pagesPerDocument;
+    private int position = 0;
+    private string? pdfPath = ();
+
+    isolated function init(readonly & string[] paths, int pagesPerDocument) {
+        self.paths = paths;
+        self.pagesPerDocument = pagesPerDocument;
+    }
+
+    public isolated function next() returns record {|Document value;|}|Error? {
+        while true {
+            string? pdfPath = self.pdfPath;
+            if pdfPath is string {
+                TextDocument|Error? pages = readPdfPagesNative(self, pdfPath);
+                if pages is TextDocument {
+                    return {value: pages};
+                }
+                self.pdfPath = ();
+                if pages is Error {
+                    return pages;
+                }
+            }
+            if self.position >= self.paths.length() {
+                return;
+            }
+            string path = self.paths[self.position];
+            self.position += 1;
+            if getFileType(path) == PDF {
+                check openPdfPageReaderNative(self, path, self.pagesPerDocument);
+                self.pdfPath = path;
+            } else {
+                return {value: check loadDocument(path)};
+            }
+        }
+    }
+
+    public isolated function close() returns Error? {
+        self.position = self.paths.length();
+        self.pdfPath = ();
+        closePdfPageReaderNative(self);
+    }
+}
+
+# Represents how a `DirectoryDataLoader` handles a file that cannot be loaded.
+public enum FileErrorPolicy {
+    # Stop loading and return the error of the file
+    FAIL,
+    # Skip the file and continue loading the rest of the files
+    SKIP
+}
+
+# Dataloader that loads the supported files in a directory tree as `TextDocument`s, several files at a time.
+# Files of the types supported by `TextDataLoader` are loaded, and any other files are ignored. The `path` metadata
+# field of each document is the path of its file relative to the directory, separated by `/`, so files with the same
+# name in different subdirectories are told apart.
+public isolated class DirectoryDataLoader {
+    *DataLoader;
+    private final string directory;
+    private final readonly & string[] include;
+    private final readonly & string[] exclude;
+    private final int maxConcurrency;
+    private final FileErrorPolicy onError;
+
+    # Initializes the data loader with the directory to load files from.
+    # + directory - The directory to load files from, including its subdirectories
+    # + include - Glob patterns of the paths, relative to the directory, of the files to load.
+    # A pattern starting with `**/` also matches files directly in the directory
+    # + exclude - Glob patterns of the paths, relative to the directory, of the files not to load
+    # + maxConcurrency - Maximum number of files loaded at a time
+    # + onError - Whether to stop or to skip the file when a file cannot be loaded
+    # + return - an error if the directory does not exist or `maxConcurrency` is not positive
+    public isolated function init(string directory, string[] include = ["**"], string[] exclude = [],
+            int maxConcurrency = 8, FileErrorPolicy onError = FAIL) returns Error? {
+        file:MetaData|error metadata = file:getMetaData(directory);
+        if metadata is error || !metadata.dir {
+            return error Error("Directory does not exist: " + directory);
+        }
+        if maxConcurrency <= 0 {
+            return error Error("Maximum concurrency must be greater than 0");
+        }
+        self.directory = directory;
+        self.include = include.cloneReadOnly();
+        self.exclude = exclude.cloneReadOnly();
+        self.maxConcurrency = maxConcurrency;
+        self.onError = onError;
+    }
+
+    # Loads the files of the directory as `TextDocument`s.
+    # + return - an array of documents, in the order the files were loaded, or an `ai:Error` if the loading fails
+    public isolated function load() returns Document[]|Document|Error {
+        stream<Document, Error?> documents = check self.loadAsStream();
+        return from Document document in documents select document;
+    }
+
+    # Lazily loads the files of the directory as `TextDocument`s, one at a time.
+    #
+    # Up to `maxConcurrency` files are loaded in parallel, and each document is returned as soon as its file is
+    # loaded, so the documents are in the order the files finish loading rather than in the order of their paths.
+    # A stream that is not read to the end should be closed to stop loading the remaining files.
+    #
+    # + return - a stream of documents, or an `ai:Error` if the directory cannot be read
+    public isolated function loadAsStream() returns stream<Document, Error?>|Error {
+        DirectoryDocumentStream documentStream = new (self.onError);
+        check openDirectoryLoaderNative(documentStream, self.directory, self.include, self.exclude,
+                self.maxConcurrency);
+        return new (documentStream);
+    }
+}
+
+class DirectoryDocumentStream {
+    private final FileErrorPolicy onError;
+
+    isolated function init(FileErrorPolicy onError) {
+        self.onError = onError;
+    }
+
+    public isolated function next() returns record {|Document value;|}|Error? {
+        while true {
+            TextDocument|Error? document = readDirectoryDocumentNative(self);
+            if document is () {
+                return;
+            }
+            if document is Document {
+                return {value: document};
+            }
+            if self.onError == FAIL {
+                closeDirectoryLoaderNative(self);
+                return document;
+            }
+            log:printWarn("Skipping a file that could not be loaded", 'error = document);
+        }
+    }
+
+    public isolated function close() returns Error? {
+        closeDirectoryLoaderNative(self);
+    }
 }
 
 isolated function loadDocument(string path) returns Document|Error {
@@ -136,3 +314,47 @@ isolated function readPptxNative(string path) returns TextDocument|Error = @java
     'class: "io.ballerina.stdlib.ai.TextDataLoader",
     name: "readPptx"
 } external;
+
+isolated function openPdfPageReaderNative(DocumentStream documentStream, string path, int pagesPerDocument)
+        returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.TextDataLoader",
+    name: "openPdfPageReader"
+} external;
+
+isolated function readPdfPagesNative(DocumentStream documentStream, string path) returns TextDocument|Error? =
+        @java:Method {
+    'class: "io.ballerina.stdlib.ai.TextDataLoader",
+    name: "readPdfPages"
+} external;
+
+isolated function closePdfPageReaderNative(DocumentStream documentStream) = @java:Method {
+    'class: "io.ballerina.stdlib.ai.TextDataLoader",
+    name: "closePdfPageReader"
+} external;
+
+isolated function configureExtractionCache(string directory, int maxSizeInBytes) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.ExtractionCache",
+    name: "configure"
+} external;
+
+isolated function openDirectoryLoaderNative(DirectoryDocumentStream documentStream, string directory,
+        string[] include, string[] exclude, int maxConcurrency) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.TextDataLoader",
+    name: "openDirectoryLoader"
+} external;
+
+isolated function readDirectoryDocumentNative(DirectoryDocumentStream documentStream)
+        returns TextDocument|Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.TextDataLoader",
+    name: "readDirectoryDocument"
+} external;
+
+isolated function closeDirectoryLoaderNative(DirectoryDocumentStream documentStream) = @java:Method {
+    'class: "io.ballerina.stdlib.ai.TextDataLoader",
+    name: "closeDirectoryLoader"
+} external;
+
+isolated function configureDocumentLimits(int maxCharacters, int maxInputBytes, int timeoutMillis) = @java:Method {
+    'class: "io.ballerina.stdlib.ai.ExtractionLimits",
+    name: "configure"
+} external;
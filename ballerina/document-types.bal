@@ -25,6 +25,10 @@ public type Metadata record {|
     string mimeType?;
     # File name for the document
     string fileName?;
+    # Path that identifies the document, such as the path of its file relative to the directory it was loaded from.
+    # Scopes the ids of the chunks of the document in place of the file name, and identifies the document when it is
+    # upserted
+    string path?;
     # File size in bytes
     decimal fileSize?;
     # Creation timestamp of the file
@@ -33,7 +37,9 @@ public type Metadata record {|
     time:Utc modifiedAt?;
     # Index of the chunk in the document
     int index?;
-    # Unique identifier for the chunk
+    # Identifier of the chunk, derived from its content, the number of earlier chunks of its document with the same
+    # content, and the path, or else the file name, of its document. Chunking the same content again yields the
+    # same id. The ids of the chunks of a document without a path or a file name are only unique within the document
     int id?;
     # Previous chunk id if a semantically meaningful chunk was broken into multiple chunks
     int prev?;
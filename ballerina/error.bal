@@ -94,3 +94,6 @@ public type MaxIterationExceededError distinct (Error & error<record {|(Executio
 
 # Represents errors that occur during memory-related operations.  
 public type MemoryError distinct Error;
+
+# Errors occurred when a document exceeds the configured document limits.
+public type DocumentLimitExceededError distinct Error;
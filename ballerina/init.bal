@@ -19,6 +19,22 @@ import ballerina/jballerina.java;
 # Configurable for WSO2 provider.
 configurable Wso2ProviderConfig? wso2ProviderConfig = ();
 
+# Number of threads used to parse documents and chunk content without blocking the calling strands.
+# Defaults to the number of available processors when not greater than zero.
+configurable int nativeWorkerCount = 0;
+
+# Whether to warm up the document parsers in the background when the module is initialized, so that the first
+# PDF, DOCX or PPTX file read is not slowed down by class loading and font cache initialization.
+configurable boolean warmUpDocumentParsers = false;
+
+# Configuration of an on-disk cache of the text extracted from PDF, DOCX and PPTX files, so that files that have not
+# changed since they were last loaded are not parsed again. The cache is disabled when not configured.
+configurable ExtractionCacheConfig? extractionCache = ();
+
+# Limits on the size of the PDF, DOCX and PPTX files read and the time taken to extract their text, so that an
+# oversized or malformed file cannot hold a worker indefinitely. No limits are enforced by default.
+configurable DocumentLimits documentLimits = {};
+
 isolated function init() returns Error? {
     Wso2ProviderConfig? config = wso2ProviderConfig;
     if config is () {
@@ -31,8 +47,29 @@ isolated function init() returns Error? {
     }
 
     setModule();
+    configureNativeWorkers(nativeWorkerCount);
+    if warmUpDocumentParsers {
+        warmUpDocumentParsersInBackground();
+    }
+    ExtractionCacheConfig? cacheConfig = extractionCache;
+    if cacheConfig !is () {
+        check configureExtractionCache(cacheConfig.directory, cacheConfig.maxSizeInBytes);
+    }
+    DocumentLimits {maxCharacters, maxInputBytes, timeout} = documentLimits;
+    configureDocumentLimits(maxCharacters ?: -1, maxInputBytes ?: -1,
+            timeout is () ? -1 : <int>(timeout * 1000));
 }
 
 isolated function setModule() = @java:Method {
     'class: "io.ballerina.stdlib.ai.ModuleUtils"
 } external;
+
+isolated function configureNativeWorkers(int count) = @java:Method {
+    'class: "io.ballerina.stdlib.ai.NativeWorkers",
+    name: "configure"
+} external;
+
+isolated function warmUpDocumentParsersInBackground() = @java:Method {
+    'class: "io.ballerina.stdlib.ai.DocumentParsers",
+    name: "warmUpInBackground"
+} external;
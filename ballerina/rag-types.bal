@@ -134,7 +134,38 @@ public enum SimilarityMetric {
     DOT_PRODUCT
 }
 
-type InMemoryVectorEntry record {|
-    *VectorEntry;
-    readonly string id;
+# Configuration of a Hierarchical Navigable Small World (HNSW) graph, which an `InMemoryVectorStore` uses to find
+# approximately the most similar vectors without comparing the query with every vector.
+public type HnswConfig record {|
+    # The number of neighbours each vector is linked to on the upper layers of the graph. Twice as many are linked on
+    # the bottom layer. Larger values improve recall at the cost of memory and indexing time
+    int m = 16;
+    # The number of candidate neighbours considered when a vector is added. Larger values improve the quality of the
+    # graph at the cost of indexing time
+    int efConstruction = 200;
+    # The number of candidates considered by a query. Larger values improve recall at the cost of latency. A query
+    # for more entries than `efSearch` considers as many candidates as the entries requested
+    int efSearch = 64;
+|};
+
+# The encodings of the quantized vectors of an `InMemoryVectorStore`.
+public enum QuantizationType {
+    # Each element is kept as an 8-bit integer, scaled by the largest magnitude in its vector
+    INT8,
+    # Only the sign of each element is kept, as a single bit
+    BINARY
+}
+
+# Configuration of the quantized vectors that an `InMemoryVectorStore` scans to shortlist the entries most similar to
+# a query, which are then ranked again with their full-precision vectors.
+# Without an HNSW configuration, the full-precision vectors are kept in native memory outside the Java heap, which
+# counts towards the `-XX:MaxDirectMemorySize` limit, so only the quantized vectors are kept on the heap. The vectors
+# are kept as 32-bit floats, so the embeddings of the matches returned are copies rounded to that precision.
+public type QuantizationConfig record {|
+    # The encoding of the quantized vectors. `INT8` vectors are a quarter and `BINARY` vectors a thirty-second of the
+    # size of the full-precision vectors, but `BINARY` vectors rank entries less accurately
+    QuantizationType 'type = INT8;
+    # The number of entries shortlisted for each entry requested by a query. Larger values improve recall at the cost
+    # of latency
+    int rerankFactor = 4;
 |};
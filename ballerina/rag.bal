@@ -94,6 +94,8 @@ public type KnowledgeBase distinct isolated object {
 };
 
 const string VECTOR_KNOWLDEGE_BASE = "VectorKnowledgeBase";
+// The number of chunk ids looked up in the vector store per query when skipping ingested chunks
+const int INGESTED_CHUNK_QUERY_BATCH_SIZE = 100;
 
 # Represents a vector knowledge base for managing chunk indexing and retrieval operations.
 # The `VectorKnowledgeBase` handles converting chunks to embeddings,
@@ -104,6 +106,7 @@ public distinct isolated class VectorKnowledgeBase {
     private final EmbeddingProvider embeddingModel;
     private final Retriever retriever;
     private final Chunker|AUTO|DISABLE chunker;
+    private final boolean skipIngestedChunks;
     private final string id = uuid:createRandomUuid();
 
     # Initializes a new `VectorKnowledgeBase` instance.
@@ -113,20 +116,27 @@ public distinct isolated class VectorKnowledgeBase {
     # + chunker - The chunker to chunk the documents. If set to `AUTO`, the chunker will be chosen automatically
     # based on the document type. If set to `DISABLE`, no chunking will be performed.
     # Otherwise, the specified chunker will be used.
+    # + skipIngestedChunks - Whether to skip the chunks of documents with a `path` or a `fileName` whose ids are
+    # already in the vector store, so that re-ingesting unchanged content does not embed it again. The ids are
+    # looked up with queries that have only `filters`, using the `IN` operator on the `id` metadata key, and a `topK`
+    # of `-1`, which the vector store must support
     public isolated function init(VectorStore vectorStore, EmbeddingProvider embeddingModel,
-            Chunker|AUTO|DISABLE chunker = AUTO) {
+            Chunker|AUTO|DISABLE chunker = AUTO, boolean skipIngestedChunks = false) {
         observe:CreateKnowledgeBaseSpan span = observe:createCreateKnowledgeBaseSpan(VECTOR_KNOWLDEGE_BASE);
         span.addId(self.id);
         self.vectorStore = vectorStore;
         self.embeddingModel = embeddingModel;
         self.retriever = new VectorRetriever(vectorStore, embeddingModel);
         self.chunker = chunker;
+        self.skipIngestedChunks = skipIngestedChunks;
         span.close();
     }
 
     # Indexes a collection of chunks.
     # Converts each chunk to an embedding and stores it in the vector store,
     # making the chunk searchable through the retriever.
+    # If the knowledge base skips ingested chunks, chunks whose ids are already in the vector store are not
+    # embedded again.
     #
     # + documents - The documents or chunks to be indexed.
     # The configured chunker will further split any provided documents or chunks before indexing.
@@ -138,13 +148,7 @@ public distinct isolated class VectorKnowledgeBase {
             Chunk[] chunks = check self.chunk(documents);
             span.addInputChunks(chunks.toJson());
 
-            Embedding[] embeddings = check self.embeddingModel->batchEmbed(chunks);
-            if chunks.length() != embeddings.length() {
-                check error Error("Mismatch between number of chunks and embeddings generated");
-            }
-            VectorEntry[] entries = from [int, Chunk] [i, chunk] in chunks.enumerate()
-                select {chunk, embedding: embeddings[i]};
-            check self.vectorStore.add(entries);
+            check self.embedAndStore(self.skipIngestedChunks ? check self.excludeIngestedChunks(chunks) : chunks);
             span.close();
         } on fail Error err {
             span.close(err);
@@ -152,12 +156,155 @@ public distinct isolated class VectorKnowledgeBase {
         }
     }
 
+    # Updates the chunks of a previously ingested document, embedding only the chunks that changed.
+    #
+    # The stored chunks of the document are identified by the `path` in its metadata. The document is re-chunked,
+    # the chunks that are not stored yet are embedded and added, and the stored chunks that are no longer part of the
+    # document are deleted. Unchanged chunks whose `index` or `prev` changed are stored again with their new
+    # metadata, reusing their embeddings.
+    #
+    # + document - The updated document, with a `path` in its metadata
+    # + return - An `ai:Error` if the update fails; otherwise, `nil`
+    public isolated function upsertDocument(Document document) returns Error? {
+        string? path = document.metadata?.path;
+        if path is () {
+            return error Error("Document must have a 'path' in its metadata to be upserted");
+        }
+        VectorMatch[] storedEntries = check self.vectorStore.query({
+            filters: {filters: [{key: "path", value: path}]},
+            topK: -1
+        });
+        map<VectorMatch> storedById = {};
+        // Stored chunks without an id, or with the id of another stored chunk, cannot be matched against the new
+        // chunks, so they are replaced as well
+        VectorMatch[] staleEntries = [];
+        foreach VectorMatch entry in storedEntries {
+            int? id = entry.chunk.metadata?.id;
+            if id is () || storedById.hasKey(id.toString()) {
+                staleEntries.push(entry);
+            } else {
+                storedById[id.toString()] = entry;
+            }
+        }
+        Chunk[] storedChunks = from VectorMatch entry in storedById
+            let int index = entry.chunk.metadata?.index ?: 0
+            order by index
+            select entry.chunk;
+        Chunk[] chunks = check self.chunk(document);
+        ChunkDiff diff = diffChunks(chunks, manifestOf(storedChunks));
+        check self.embedAndStore(diff.added);
+
+        VectorEntry[] movedEntries = [];
+        foreach MovedChunk move in diff.moved {
+            if move.chunk.metadata?.id != move.previousId {
+                // The content is stored under the id of another chunk, so its embedding is stored again under the
+                // new id
+                VectorMatch stored = storedById.get(move.previousId.toString());
+                movedEntries.push({embedding: stored.embedding, chunk: move.chunk});
+                staleEntries.push(stored);
+            }
+        }
+        foreach Chunk chunk in chunks {
+            int? id = chunk.metadata?.id;
+            VectorMatch? stored = id is int ? storedById[id.toString()] : ();
+            if stored is VectorMatch && (stored.chunk.metadata?.index != chunk.metadata?.index
+                    || stored.chunk.metadata?.prev != chunk.metadata?.prev) {
+                movedEntries.push({embedding: stored.embedding, chunk});
+                staleEntries.push(stored);
+            }
+        }
+        if movedEntries.length() > 0 {
+            check self.vectorStore.add(movedEntries);
+        }
+        foreach int id in diff.removed {
+            staleEntries.push(storedById.get(id.toString()));
+        }
+        string[] staleEntryIds = from VectorMatch entry in staleEntries
+            let string? entryId = entry.id
+            where entryId is string
+            select entryId;
+        if staleEntryIds.length() > 0 {
+            check self.vectorStore.delete(staleEntryIds);
+        }
+    }
+
+    private isolated function embedAndStore(Chunk[] chunks) returns Error? {
+        if chunks.length() == 0 {
+            return;
+        }
+        Embedding[] embeddings = check self.embeddingModel->batchEmbed(chunks);
+        if chunks.length() != embeddings.length() {
+            return error Error("Mismatch between number of chunks and embeddings generated");
+        }
+        VectorEntry[] entries = from [int, Chunk] [i, chunk] in chunks.enumerate()
+            select {chunk, embedding: embeddings[i]};
+        check self.vectorStore.add(entries);
+    }
+
+    # Drops the chunks whose ids are already in the vector store, along with repeated chunks of the batch.
+    # Chunk ids are derived from the chunk content, its occurrence in the document and the path or file name of the
+    # document, so an existing id means the chunk is already embedded. The ids of chunks of documents without a
+    # path or a file name are only unique within the document, so such chunks are always kept, as are chunks without
+    # an id.
+    private isolated function excludeIngestedChunks(Chunk[] chunks) returns Chunk[]|Error {
+        int[] ids = from Chunk chunk in chunks
+            let int? id = chunk.metadata?.id
+            where id is int && hasDocumentKey(chunk)
+            select id;
+        map<()> seenIds = {};
+        int batchStart = 0;
+        while batchStart < ids.length() {
+            int batchEnd = int:min(batchStart + INGESTED_CHUNK_QUERY_BATCH_SIZE, ids.length());
+            VectorMatch[] existingEntries = check self.vectorStore.query({
+                filters: {filters: [{key: "id", operator: IN, value: ids.slice(batchStart, batchEnd)}]},
+                topK: -1
+            });
+            foreach VectorMatch entry in existingEntries {
+                int? id = entry.chunk.metadata?.id;
+                if id is int {
+                    seenIds[id.toString()] = ();
+                }
+            }
+            batchStart = batchEnd;
+        }
+        Chunk[] newChunks = [];
+        foreach Chunk chunk in chunks {
+            int? id = chunk.metadata?.id;
+            if id is int && hasDocumentKey(chunk) {
+                string key = id.toString();
+                if seenIds.hasKey(key) {
+                    continue;
+                }
+                seenIds[key] = ();
+            }
+            newChunks.push(chunk);
+        }
+        return newChunks;
+    }
+
     private isolated function chunk(Document|Document[]|Chunk[] input) returns Chunk[]|Error {
         (Document|Chunk)[] inputs = input is Document[]|Chunk[] ? input : [input];
         Chunker|AUTO|DISABLE chunker = self.chunker;
         if chunker is DISABLE {
             return inputs;
         }
+        // Text documents handled by the built-in chunkers are chunked together natively, in parallel
+        (TextDocument|TextChunk)[] textDocuments = [];
+        ChunkerConfig[] configs = [];
+        foreach Document|Chunk item in inputs {
+            Chunker chunkerToUse = chunker is Chunker ? chunker : guessChunker(item);
+            if item is TextDocument|TextChunk
+                    && chunkerToUse is GenericRecursiveChunker|MarkdownChunker|HtmlChunker {
+                textDocuments.push(item);
+                configs.push(chunkerToUse.getConfig());
+            } else {
+                break;
+            }
+        }
+        if textDocuments.length() == inputs.length() {
+            return chunkDocuments(textDocuments, configs);
+        }
+
         Chunk[] chunks = [];
         foreach Document|Chunk item in inputs {
             Chunker chunkerToUse = chunker is Chunker ? chunker : guessChunker(item);
@@ -207,6 +354,10 @@ public distinct isolated class VectorKnowledgeBase {
     }
 }
 
+# Returns whether the chunk belongs to a document identified by a path or a file name, which scopes the chunk id.
+isolated function hasDocumentKey(Chunk chunk) returns boolean =>
+    chunk.metadata?.path is string || chunk.metadata?.fileName is string;
+
 isolated function guessChunker(Document|Chunk doc) returns Chunker {
     // Guess the chunker based on the document type or mimeType in metadata
     string? mimeType = doc.metadata?.mimeType;
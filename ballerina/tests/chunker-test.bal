@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/io;
 import ballerina/test;
 
 @test:Config {}
@@ -68,6 +69,20 @@ function testSentenceChunking() returns error? {
     test:assertEquals(chunks[1].content, "This is sentence two. This is three.");
 }
 
+@test:Config {}
+function testNlpSentenceChunking() returns error? {
+    TextDocument doc = {content: "This is sentence one. This is sentence two. This is three."};
+    Chunk[] chunks = check chunkDocumentRecursively(doc, 40, 0, NLP_SENTENCE);
+
+    test:assertEquals(chunks.length(), 2);
+    test:assertEquals(chunks[0].content, "This is sentence one. ");
+    test:assertEquals(chunks[1].content, "This is sentence two. This is three.");
+
+    chunks = check chunkMarkdownDocument(doc, 40, 0, NLP_SENTENCE);
+    test:assertEquals(chunks.length(), 2);
+    test:assertEquals(chunks[1].content, "This is sentence two. This is three.");
+}
+
 @test:Config {}
 function testParagraphChunking() returns error? {
     TextDocument doc = {content: "Paragraph one.\n\nParagraph two is here.\n\nAnd three."};
@@ -1583,3 +1598,147 @@ function testHtmlChunkerHeaderMetadataExtraction() returns error? {
     }
 }
 
+
+@test:Config {}
+function testMarkdownStreamChunking() returns error? {
+    string mdPath = "tests/resources/data-loader/Test.md";
+    stream<byte[], io:Error?> content = check io:fileReadBlocksAsStream(mdPath, 64);
+    stream<TextChunk, Error?> chunkStream = check chunkMarkdownStream(content, 100, 0, metadata = {fileName: "Test.md"});
+    TextChunk[] streamedChunks = check from TextChunk chunk in chunkStream select chunk;
+
+    string markdownContent = check io:fileReadString(mdPath);
+    TextChunk[] chunks = check chunkMarkdownDocument(<TextDocument>{content: markdownContent}, 100, 0);
+    test:assertTrue(streamedChunks.length() > 1);
+    foreach TextChunk chunk in streamedChunks {
+        test:assertTrue(chunk.content.length() <= 100);
+        test:assertEquals(chunk.metadata?.fileName, "Test.md");
+    }
+    test:assertEquals(string:'join("", ...streamedChunks.'map(chunk => chunk.content)),
+            string:'join("", ...chunks.'map(chunk => chunk.content)));
+}
+
+@test:Config {}
+function testTextStreamChunking() returns error? {
+    string textContent = string:'join("\n\n", "First paragraph with some text.", "Second paragraph.",
+            "Third paragraph that is a little longer than the others.");
+    stream<byte[], io:Error?> content = [textContent.toBytes()].toStream();
+    stream<TextChunk, Error?> chunkStream = check chunkTextStream(content, 40, 0, metadata = {fileName: "test.txt"});
+    TextChunk[] streamedChunks = check from TextChunk chunk in chunkStream select chunk;
+
+    TextChunk[] chunks = check chunkDocumentRecursively(textContent, 40, 0);
+    test:assertEquals(streamedChunks.'map(chunk => chunk.content), chunks.'map(chunk => chunk.content));
+    foreach TextChunk chunk in streamedChunks {
+        test:assertEquals(chunk.metadata?.fileName, "test.txt");
+    }
+}
+
+@test:Config {}
+function testHtmlStreamChunking() returns error? {
+    string htmlContent = "<h1>Title</h1><p>First paragraph with some text.</p><p>Second paragraph.</p>";
+    stream<byte[], io:Error?> content = [htmlContent.toBytes()].toStream();
+    stream<TextChunk, Error?> chunkStream = check chunkHtmlStream(content, 40, 0, HTML_PARAGRAPH);
+    TextChunk[] streamedChunks = check from TextChunk chunk in chunkStream select chunk;
+
+    TextChunk[] chunks = check chunkHtmlDocument(<TextDocument>{content: htmlContent}, 40, 0, HTML_PARAGRAPH);
+    test:assertEquals(streamedChunks.'map(chunk => chunk.content), chunks.'map(chunk => chunk.content));
+}
+
+@test:Config {}
+function testBatchChunkingPreservesInputOrder() returns error? {
+    TextDocument[] documents = [
+        {content: "# Title\n\nFirst markdown paragraph.\n\nSecond markdown paragraph.", metadata: {fileName: "a.md"}},
+        {content: "<h1>Title</h1><p>First HTML paragraph.</p><p>Second HTML paragraph.</p>"},
+        {content: "First text paragraph.\n\nSecond text paragraph."}
+    ];
+    MarkdownChunker markdownChunker = new (30, 0);
+    HtmlChunker htmlChunker = new (30, 0);
+    GenericRecursiveChunker textChunker = new (30, 0);
+    TextChunk[] chunks = check chunkDocuments(documents,
+            [markdownChunker.getConfig(), htmlChunker.getConfig(), textChunker.getConfig()]);
+
+    Chunk[] expected = [
+        ...check markdownChunker.chunk(documents[0]),
+        ...check htmlChunker.chunk(documents[1]),
+        ...check textChunker.chunk(documents[2])
+    ];
+    test:assertEquals(chunks.'map(chunk => chunk.content), expected.'map(chunk => chunk.content));
+    test:assertEquals(chunks.'map(chunk => chunk.metadata?.index), expected.'map(chunk => chunk.metadata?.index));
+    test:assertEquals(chunks[0].metadata?.fileName, "a.md");
+}
+
+@test:Config {}
+function testBatchChunkingReturnsError() {
+    TextDocument[] documents = [{content: "<p>First paragraph</p>"}, {content: "<p>Second paragraph</p>"}];
+    TextChunk[]|Error chunks = chunkDocuments(documents, [
+        {documentType: "html", maxChunkSize: 10, maxOverlapSize: 0, strategy: HTML_PARAGRAPH},
+        {documentType: "html", maxChunkSize: 10, maxOverlapSize: 20, strategy: HTML_PARAGRAPH}
+    ]);
+    if chunks !is Error {
+        test:assertFail("Expected an error for the invalid overlap size");
+    }
+    test:assertEquals(chunks.message(), "Max overlap size must be less than or equal to chunk size");
+}
+
+@test:Config {}
+function testIncrementalChunkingReturnsChangedChunks() returns error? {
+    string[] sections = from int i in 1 ... 5
+        select string `## Section ${i}${"\n\n"}Content of section ${i}.`;
+    TextDocument original = {content: string:'join("\n\n", ...sections), metadata: {fileName: "guide.md"}};
+    MarkdownChunker chunker = new (60, 0);
+    ChunkDiff initial = check chunkIncrementally(original, {chunks: []}, chunker);
+    test:assertEquals(initial.added.length(), initial.manifest.chunks.length());
+    test:assertEquals(initial.removed, []);
+
+    ChunkDiff unchanged = check chunkIncrementally(original, initial.manifest, chunker);
+    test:assertEquals(unchanged.added, []);
+    test:assertEquals(unchanged.removed, []);
+
+    sections[2] = "## Section 3\n\nEdited content of section 3.";
+    TextDocument edited = {content: string:'join("\n\n", ...sections), metadata: {fileName: "guide.md"}};
+    ChunkDiff diff = check chunkIncrementally(edited, initial.manifest, chunker);
+    // Only the chunks of the edited section change
+    test:assertTrue(diff.added.length() > 0 && diff.added.length() < initial.added.length());
+    test:assertTrue(diff.added.some(chunk => chunk is TextChunk && chunk.content.includes("Edited content")));
+    test:assertTrue(diff.removed.length() > 0 && diff.removed.length() < initial.manifest.chunks.length());
+}
+
+@test:Config {}
+function testIncrementalChunkingReportsMovedChunks() returns error? {
+    string[] sections = from int i in 1 ... 4
+        select string `## Section ${i}${"\n\n"}Content of section ${i}.`;
+    TextDocument original = {content: string:'join("\n\n", ...sections), metadata: {fileName: "guide.md"}};
+    MarkdownChunker chunker = new (60, 0);
+    ChunkDiff initial = check chunkIncrementally(original, {chunks: []}, chunker);
+
+    string[] reordered = [sections[0], sections[3], sections[2], sections[1]];
+    TextDocument edited = {content: string:'join("\n\n", ...reordered), metadata: {fileName: "guide.md"}};
+    ChunkDiff diff = check chunkIncrementally(edited, initial.manifest, chunker);
+    test:assertEquals(diff.added, []);
+    test:assertEquals(diff.removed, []);
+    test:assertTrue(diff.moved.length() > 0);
+    foreach MovedChunk move in diff.moved {
+        test:assertEquals(move.chunk.metadata?.id, move.previousId);
+    }
+}
+
+@test:Config {}
+function testIncrementalChunkingMatchesContentUnderAnotherId() {
+    ChunkManifest previous = {
+        chunks: [
+            {id: 1, contentHash: contentHash("First"), offset: 0},
+            {id: 2, contentHash: contentHash("Second"), offset: 5}
+        ]
+    };
+    TextChunk[] chunks = [
+        {content: "Second", metadata: {id: 3}},
+        {content: "Third", metadata: {id: 4}}
+    ];
+    ChunkDiff diff = diffChunks(chunks, previous);
+    test:assertEquals(diff.added, [chunks[1]]);
+    test:assertEquals(diff.moved, [{previousId: 2, chunk: chunks[0]}]);
+    test:assertEquals(diff.removed, [1]);
+    test:assertEquals(diff.manifest.chunks, [
+        {id: 3, contentHash: contentHash("Second"), offset: 0},
+        {id: 4, contentHash: contentHash("Third"), offset: 6}
+    ]);
+}
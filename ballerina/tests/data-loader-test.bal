@@ -14,7 +14,10 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/file;
+import ballerina/io;
 import ballerina/test;
+import ballerina/time;
 
 // Helper function to validate document structure and metadata
 isolated function validateDocument(Document document, string? expectedMimeType, string expectedFileName) returns error? {
@@ -245,3 +248,122 @@ function testTextDataLoaderMultipleFilesWithInvalidFile() returns error? {
     }
     test:assertFail("Constructor should return error when any file doesn't exist");
 }
+
+@test:Config {groups: ["document-loader", "stream", "pdf", "docx"]}
+function testTextDataLoaderLoadAsStream() returns error? {
+    // Test that PDF pages are streamed as separate documents, followed by the other files
+    string pdfPath = "tests/resources/data-loader/TestDoc.pdf";
+    string docxPath = "tests/resources/data-loader/TestDoc.docx";
+    TextDataLoader loader = check new (pdfPath, docxPath);
+
+    stream<Document, Error?> documents = check loader.loadAsStream();
+    Document[] result = check from Document document in documents select document;
+    test:assertTrue(result.length() >= 2, "Should return at least one document per PDF page and one for the DOCX");
+
+    foreach int i in 0 ..< result.length() - 1 {
+        Document page = result[i];
+        check validateDocument(page, "application/pdf", "TestDoc.pdf");
+        test:assertEquals(page.metadata?.page, i + 1, "Page documents should be numbered from 1");
+    }
+    Document docxDoc = result[result.length() - 1];
+    check validateDocument(docxDoc, "application/vnd.openxmlformats-officedocument.wordprocessingml.document", "TestDoc.docx");
+    test:assertEquals(docxDoc.metadata?.page, (), "Non-PDF documents should not have a page number");
+}
+
+@test:Config {groups: ["document-loader", "stream", "error-handling", "pdf"]}
+function testTextDataLoaderLoadAsStreamWithInvalidPageCount() returns error? {
+    TextDataLoader loader = check new ("tests/resources/data-loader/TestDoc.pdf");
+    stream<Document, Error?>|Error documents = loader.loadAsStream(0);
+    if documents is Error {
+        test:assertEquals(documents.message(), "Pages per document must be greater than 0");
+    } else {
+        test:assertFail("Should return an error when pages per document is not positive");
+    }
+}
+
+@test:Config {groups: ["document-loader", "directory"]}
+function testDirectoryDataLoaderLoadsSupportedFiles() returns error? {
+    DirectoryDataLoader loader = check new ("tests/resources/data-loader", maxConcurrency = 2);
+    Document[]|Document|Error result = loader.load();
+    if result !is Document[] {
+        test:assertFail("Should return an array of documents");
+    }
+    // The text file is not a supported file type, so it is ignored
+    string[] fileNames = from Document document in result
+        order by document.metadata?.fileName.toString()
+        select document.metadata?.fileName.toString();
+    test:assertEquals(fileNames, ["Test presentation.pptx", "Test.htm", "Test.html", "Test.md", "TestDoc.docx",
+            "TestDoc.pdf"]);
+}
+
+@test:Config {groups: ["document-loader", "directory"]}
+function testDirectoryDataLoaderSetsRelativePaths() returns error? {
+    string directory = check file:createTempDir();
+    string subdirectory = check file:joinPath(directory, "guides");
+    check file:createDir(subdirectory);
+    check file:copy("tests/resources/data-loader/Test.md", check file:joinPath(directory, "Test.md"));
+    check file:copy("tests/resources/data-loader/Test.md", check file:joinPath(subdirectory, "Test.md"));
+    check file:copy("tests/resources/data-loader/TestDoc.pdf", check file:joinPath(subdirectory, "TestDoc.pdf"));
+
+    DirectoryDataLoader loader = check new (directory);
+    Document[] documents = check from Document document in check loader.loadAsStream() select document;
+    string[] paths = from Document document in documents
+        order by document.metadata?.path.toString()
+        select document.metadata?.path.toString();
+    test:assertEquals(paths, ["Test.md", "guides/Test.md", "guides/TestDoc.pdf"]);
+
+    string expected = check io:fileReadString("tests/resources/data-loader/Test.md");
+    foreach Document document in documents {
+        if document.metadata?.fileName == "Test.md" {
+            test:assertEquals(document.content, expected);
+            test:assertTrue(document.metadata?.fileSize is decimal, "Markdown files should have their file size");
+            test:assertTrue(document.metadata?.modifiedAt is time:Utc,
+                    "Markdown files should have their modification time");
+        }
+    }
+}
+
+@test:Config {groups: ["document-loader", "directory"]}
+function testDirectoryDataLoaderFiltersFilesWithGlobs() returns error? {
+    DirectoryDataLoader loader = check new ("tests/resources/data-loader", ["**/*.pdf", "**/*.docx", "*.md"],
+            ["**/*.docx"]);
+    Document[] documents = check from Document document in check loader.loadAsStream() select document;
+    string[] fileNames = from Document document in documents
+        order by document.metadata?.fileName.toString()
+        select document.metadata?.fileName.toString();
+    test:assertEquals(fileNames, ["Test.md", "TestDoc.pdf"]);
+}
+
+@test:Config {groups: ["document-loader", "directory", "error-handling"]}
+function testDirectoryDataLoaderErrorPolicy() returns error? {
+    string directory = check file:createTempDir();
+    check io:fileWriteString(check file:joinPath(directory, "broken.pdf"), "not a PDF file");
+    check file:copy("tests/resources/data-loader/Test.md", check file:joinPath(directory, "Test.md"));
+
+    DirectoryDataLoader failingLoader = check new (directory);
+    Document[]|Document|Error failed = failingLoader.load();
+    if failed is Error {
+        test:assertTrue(failed.message().includes("broken.pdf"), "Error should name the file that failed");
+    } else {
+        test:assertFail("Should return an error when a file cannot be loaded");
+    }
+
+    DirectoryDataLoader skippingLoader = check new (directory, onError = SKIP);
+    Document[]|Document|Error skipped = skippingLoader.load();
+    if skipped is Document[] {
+        test:assertEquals(skipped.length(), 1, "Should skip the file that cannot be loaded");
+        test:assertEquals(skipped[0].metadata?.fileName, "Test.md");
+    } else {
+        test:assertFail("Should return the documents that could be loaded");
+    }
+}
+
+@test:Config {groups: ["document-loader", "directory", "error-handling"]}
+function testDirectoryDataLoaderWithInvalidDirectory() {
+    DirectoryDataLoader|Error loader = new ("tests/resources/non-existent-directory");
+    if loader is Error {
+        test:assertTrue(loader.message().includes("Directory does not exist"));
+    } else {
+        test:assertFail("Constructor should return an error when the directory does not exist");
+    }
+}
@@ -34,3 +34,172 @@ isolated function testVectorKnowledgeBase() returns error? {
     'match = check kb.retrieve("dog");
     test:assertEquals('match.length(), 0);
 }
+
+@test:Config
+isolated function testVectorKnowledgeBaseSkipsIngestedChunks() returns error? {
+    InMemoryVectorStore vectorStore = check new;
+    VectorKnowledgeBase kb = new (vectorStore, new ConstantEmbeddingProvider(), new GenericRecursiveChunker(20, 0),
+        skipIngestedChunks = true);
+    TextDocument document = {
+        content: "The puppy ran across the yard. The kitten slept on the couch.",
+        metadata: {fileName: "animals.txt"}
+    };
+    check kb.ingest(document);
+    VectorMatch[] entries = check vectorStore.query({topK: -1});
+    int ingestedCount = entries.length();
+    test:assertTrue(ingestedCount > 1);
+    test:assertTrue(entries.every(entry => entry.chunk.metadata?.id is int));
+
+    check kb.ingest(document);
+    entries = check vectorStore.query({topK: -1});
+    test:assertEquals(entries.length(), ingestedCount);
+
+    TextDocument sameContent = {content: document.content, metadata: {fileName: "copy.txt"}};
+    check kb.ingest(sameContent);
+    entries = check vectorStore.query({topK: -1});
+    test:assertEquals(entries.length(), 2 * ingestedCount);
+}
+
+@test:Config
+isolated function testVectorKnowledgeBaseKeepsRepeatedChunks() returns error? {
+    InMemoryVectorStore vectorStore = check new;
+    VectorKnowledgeBase kb = new (vectorStore, new ConstantEmbeddingProvider(), new GenericRecursiveChunker(10, 0),
+        skipIngestedChunks = true);
+    string content = "abcdefghijabcdefghijabcdefghij";
+    check kb.ingest(<TextDocument>{content, metadata: {fileName: "repeated.txt"}});
+    VectorMatch[] entries = check vectorStore.query({topK: -1});
+    int[] indexes = from VectorMatch entry in entries
+        let int? index = entry.chunk.metadata?.index
+        where index is int
+        order by index
+        select index;
+    test:assertEquals(indexes, [0, 1, 2]);
+
+    check kb.ingest(<TextDocument>{content, metadata: {fileName: "repeated.txt"}});
+    entries = check vectorStore.query({topK: -1});
+    test:assertEquals(entries.length(), 3);
+
+    // Documents without a file name cannot be told apart, so their chunks are always stored
+    check kb.ingest(<TextDocument>{content});
+    check kb.ingest(<TextDocument>{content});
+    entries = check vectorStore.query({topK: -1});
+    test:assertEquals(entries.length(), 9);
+}
+
+@test:Config
+isolated function testVectorKnowledgeBaseIngestOnlyAddsByDefault() returns error? {
+    VectorKnowledgeBase kb = new (new AddOnlyVectorStore(), new ConstantEmbeddingProvider(),
+        new GenericRecursiveChunker(20, 0));
+    check kb.ingest(<TextDocument>{content: "The puppy ran across the yard.", metadata: {fileName: "animals.txt"}});
+}
+
+isolated class AddOnlyVectorStore {
+    *VectorStore;
+
+    public isolated function add(VectorEntry[] entries) returns Error? {
+    }
+
+    public isolated function query(VectorStoreQuery query) returns VectorMatch[]|Error {
+        return error Error("Queries are not supported");
+    }
+
+    public isolated function delete(string|string[] ids) returns Error? {
+    }
+}
+
+isolated client class ConstantEmbeddingProvider {
+    *EmbeddingProvider;
+
+    isolated remote function embed(Chunk chunk) returns Embedding|Error {
+        return [1.0, 0.0, 0.0];
+    }
+
+    isolated remote function batchEmbed(Chunk[] chunks) returns Embedding[]|Error {
+        return from Chunk _ in chunks
+            select [1.0, 0.0, 0.0];
+    }
+}
+
+@test:Config
+isolated function testVectorKnowledgeBaseUpsertDocument() returns error? {
+    InMemoryVectorStore vectorStore = check new;
+    VectorKnowledgeBase kb = new (vectorStore, new ConstantEmbeddingProvider(), new GenericRecursiveChunker(30, 0));
+    check kb.ingest(<TextDocument>{
+        content: "First paragraph stays.\n\nSecond paragraph changes.\n\nThird paragraph stays.",
+        metadata: {fileName: "notes.txt", path: "docs/notes.txt"}
+    });
+    VectorMatch[] before = check vectorStore.query({topK: -1});
+
+    check kb.upsertDocument(<TextDocument>{
+        content: "First paragraph stays.\n\nSecond paragraph was edited.\n\nThird paragraph stays.",
+        metadata: {fileName: "notes.txt", path: "docs/notes.txt"}
+    });
+    VectorMatch[] after = check vectorStore.query({topK: -1});
+    test:assertEquals(after.length(), before.length());
+    string[] contents = from VectorMatch entry in after
+        let Chunk chunk = entry.chunk
+        where chunk is TextChunk
+        order by chunk.content
+        select chunk.content;
+    test:assertEquals(contents, ["First paragraph stays.", "Second paragraph was edited.", "Third paragraph stays."]);
+
+    // Unchanged chunks keep their entries
+    string[] beforeIds = from VectorMatch entry in before select entry.id ?: "";
+    string[] keptIds = from VectorMatch entry in after
+        let string id = entry.id ?: ""
+        where beforeIds.indexOf(id) != ()
+        select id;
+    test:assertEquals(keptIds.length(), 2);
+
+    Error? result = kb.upsertDocument(<TextDocument>{content: "No path", metadata: {fileName: "notes.txt"}});
+    test:assertTrue(result is Error);
+}
+
+@test:Config
+isolated function testVectorKnowledgeBaseUpsertKeepsFilesWithSameName() returns error? {
+    InMemoryVectorStore vectorStore = check new;
+    VectorKnowledgeBase kb = new (vectorStore, new ConstantEmbeddingProvider(), new GenericRecursiveChunker(30, 0));
+    check kb.ingest([
+        <TextDocument>{content: "Readme of the first module.", metadata: {fileName: "README.md", path: "a/README.md"}},
+        <TextDocument>{content: "Readme of the second module.", metadata: {fileName: "README.md", path: "b/README.md"}}
+    ]);
+
+    check kb.upsertDocument(<TextDocument>{
+        content: "Updated readme of the second module.",
+        metadata: {fileName: "README.md", path: "b/README.md"}
+    });
+    VectorMatch[] entries = check vectorStore.query({topK: -1});
+    string[] contents = from VectorMatch entry in entries
+        let Chunk chunk = entry.chunk
+        where chunk is TextChunk
+        order by chunk.content
+        select chunk.content;
+    test:assertEquals(contents, ["Readme of the first module.", "Updated readme of the second module."]);
+}
+
+@test:Config
+isolated function testVectorKnowledgeBaseUpsertUpdatesMovedChunks() returns error? {
+    InMemoryVectorStore vectorStore = check new;
+    VectorKnowledgeBase kb = new (vectorStore, new ConstantEmbeddingProvider(), new GenericRecursiveChunker(30, 0));
+    check kb.ingest(<TextDocument>{
+        content: "First paragraph stays.\n\nSecond paragraph stays.",
+        metadata: {path: "docs/notes.txt"}
+    });
+
+    check kb.upsertDocument(<TextDocument>{
+        content: "A new opening paragraph.\n\nFirst paragraph stays.\n\nSecond paragraph stays.",
+        metadata: {path: "docs/notes.txt"}
+    });
+    VectorMatch[] entries = check vectorStore.query({topK: -1});
+    [int, string][] indexedContents = from VectorMatch entry in entries
+        let Chunk chunk = entry.chunk
+        let int? index = chunk.metadata?.index
+        where chunk is TextChunk && index is int
+        order by index
+        select [index, chunk.content];
+    test:assertEquals(indexedContents, [
+        [0, "A new opening paragraph."],
+        [1, "First paragraph stays."],
+        [2, "Second paragraph stays."]
+    ]);
+}
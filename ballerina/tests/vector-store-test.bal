@@ -80,7 +80,7 @@ isolated function testInMemoryStoreWithMetrics() returns error? {
     VectorMatch[] matchWithDotProduct = check vectorStore2.query({embedding: dogEmbedding});
     test:assertEquals(matchWithDotProduct[0].chunk.content, expectedContent);
 
-    VectorMatch[] matchWithEuclidean = check vectorStore2.query({embedding: dogEmbedding});
+    VectorMatch[] matchWithEuclidean = check vectorStore3.query({embedding: dogEmbedding});
     test:assertEquals(matchWithEuclidean[0].chunk.content, expectedContent);
 }
 
@@ -158,3 +158,110 @@ isolated function testInMemoryVectorDeletion() returns error? {
         test:assertFail("Expected an 'Error' but got '()'");
     }
 }
+
+@test:Config
+isolated function testInMemoryStoreQueryOrderAndTopK() returns error? {
+    VectorStore cosineStore = check new InMemoryVectorStore();
+    VectorStore euclideanStore = check new InMemoryVectorStore(similarityMetric = EUCLIDEAN);
+    VectorEntry[] vectorEntries = [
+        {id: "far", embedding: [10.0, 0.0], chunk: {'type: "text", content: "far"}},
+        {id: "near", embedding: [1.0, 0.1], chunk: {'type: "text", content: "near"}},
+        {id: "opposite", embedding: [-1.0, 0.0], chunk: {'type: "text", content: "opposite"}}
+    ];
+    check cosineStore.add(vectorEntries);
+    check euclideanStore.add(vectorEntries);
+
+    VectorMatch[] cosineMatches = check cosineStore.query({embedding: [1.0, 0.0], topK: 2});
+    test:assertEquals(cosineMatches.map(m => m.id), ["far", "near"]);
+
+    VectorMatch[] euclideanMatches = check euclideanStore.query({embedding: [1.0, 0.0], topK: -1});
+    test:assertEquals(euclideanMatches.map(m => m.id), ["near", "opposite", "far"]);
+    test:assertEquals(euclideanMatches[1].similarityScore, 2.0);
+}
+
+@test:Config
+isolated function testInMemoryStoreWithMismatchedDimensions() returns error? {
+    VectorStore vectorStore = check new InMemoryVectorStore();
+    check vectorStore.add([{id: "1", embedding: [1.0, 0.0], chunk: {'type: "text", content: "first"}}]);
+
+    Error? result = vectorStore.add([{id: "2", embedding: [1.0, 0.0, 0.0], chunk: {'type: "text", content: "second"}}]);
+    if result !is Error {
+        test:assertFail("Expected an 'Error' but got '()'");
+    }
+    VectorMatch[]|Error matches = vectorStore.query({embedding: [1.0, 0.0, 0.0]});
+    if matches !is Error {
+        test:assertFail("Expected an 'Error' for a query of a different dimension");
+    }
+}
+
+@test:Config
+isolated function testInMemoryStoreWithHnswIndex() returns error? {
+    VectorStore vectorStore = check new InMemoryVectorStore(hnswConfig = {m: 8, efConstruction: 50, efSearch: 20});
+    VectorEntry[] vectorEntries = [];
+    foreach string word in words {
+        TextChunk chunk = {content: word, metadata: {fileName: word.length() > 4 ? "long.txt" : "short.txt"}};
+        Embedding embedding = check mockEmbeddingProvider->embed(chunk);
+        vectorEntries.push({id: word, chunk, embedding});
+    }
+    check vectorStore.add(vectorEntries);
+
+    Embedding dogEmbedding = check mockEmbeddingProvider->embed(<TextChunk>{content: "dog"});
+    VectorMatch[] matches = check vectorStore.query({embedding: dogEmbedding, topK: 3});
+    test:assertEquals(matches.length(), 3);
+    test:assertEquals(matches[0].chunk.content, "puppy");
+
+    check vectorStore.delete("puppy");
+    matches = check vectorStore.query({embedding: dogEmbedding, topK: 3});
+    test:assertFalse(matches.some(m => m.id == "puppy"));
+
+    matches = check vectorStore.query({
+        embedding: dogEmbedding,
+        filters: {filters: [{'key: "fileName", value: "short.txt"}]}
+    });
+    test:assertTrue(matches.every(m => (<string>m.chunk.content).length() <= 4));
+}
+
+@test:Config
+isolated function testInMemoryStoreWithInvalidHnswConfig() {
+    InMemoryVectorStore|Error vectorStore = new (hnswConfig = {m: 1});
+    if vectorStore is Error {
+        test:assertEquals(vectorStore.message(), "Invalid vector store configuration: HNSW 'm' must be at least 2");
+    } else {
+        test:assertFail("Expected an 'Error' for an invalid HNSW configuration");
+    }
+}
+
+@test:Config
+isolated function testInMemoryStoreWithQuantization() returns error? {
+    foreach QuantizationType 'type in [INT8, BINARY] {
+        VectorStore vectorStore = check new InMemoryVectorStore(quantization = {'type, rerankFactor: 3});
+        VectorEntry[] vectorEntries = [];
+        foreach string word in words {
+            TextChunk chunk = {content: word};
+            Embedding embedding = check mockEmbeddingProvider->embed(chunk);
+            vectorEntries.push({id: word, chunk, embedding});
+        }
+        check vectorStore.add(vectorEntries);
+
+        Embedding dogEmbedding = check mockEmbeddingProvider->embed(<TextChunk>{content: "dog"});
+        VectorMatch[] matches = check vectorStore.query({embedding: dogEmbedding, topK: 3});
+        test:assertEquals(matches.length(), 3);
+        test:assertEquals(matches[0].chunk.content, "puppy");
+        // The embeddings of the matches are restored from the vectors kept by the index
+        test:assertEquals((<Vector>matches[0].embedding).length(), (<Vector>dogEmbedding).length());
+
+        matches = check vectorStore.query({topK: -1});
+        test:assertEquals(matches.length(), words.length());
+    }
+}
+
+@test:Config
+isolated function testInMemoryStoreWithInvalidQuantizationConfig() {
+    InMemoryVectorStore|Error vectorStore = new (quantization = {rerankFactor: 0});
+    if vectorStore is Error {
+        test:assertEquals(vectorStore.message(),
+                "Invalid vector store configuration: Quantization 'rerankFactor' must be greater than 0");
+    } else {
+        test:assertFail("Expected an 'Error' for an invalid quantization configuration");
+    }
+}
@@ -14,7 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/math.vector;
+import ballerina/jballerina.java;
 import ballerina/uuid;
 
 # Represents a vector store that provides persistence, management, and search capabilities for vector embeddings.
@@ -28,6 +28,10 @@ public type VectorStore distinct isolated object {
 
     # Searches for vectors in the store that are most similar to a given query.
     #
+    # `VectorKnowledgeBase` also sends queries without an `embedding` and with a `topK` of `-1` to select entries by
+    # their metadata alone, to delete and upsert documents and, if it skips ingested chunks, to look up chunk ids in
+    # batches using the `IN` operator.
+    #
     # + query - The vector store query that specifies the search criteria
     # + return - An array of matching vectors with their similarity scores,
     # or an `ai:Error` if the operation fails
@@ -41,16 +45,33 @@ public type VectorStore distinct isolated object {
 };
 
 # An in-memory vector store implementation that provides simple storage for vector entries.
+# The embeddings are kept in a native index of immutable segments, each storing the embeddings of a batch of entries
+# in a single contiguous array, which is scanned to find the entries most similar to a query. Queries read a snapshot
+# of the segments without locking, so they run concurrently with each other and with `add` and `delete`.
+# The chunk metadata of each segment is indexed by key, so that metadata filters select the matching entries without
+# evaluating the filters for every entry.
+# With an HNSW configuration, queries for a limited number of entries are answered approximately from a graph over
+# the embeddings of each segment, so that large stores are not scanned in full. With a quantization
+# configuration, such queries scan compact codes of the embeddings instead, and only the best candidates are compared
+# with the full-precision embeddings, which are then kept outside the Java heap unless an HNSW graph is configured.
+# The embeddings are kept only by the index, as 32-bit floats, so the embeddings of the matches are copies rounded to
+# that precision.
 public distinct isolated class InMemoryVectorStore {
     *VectorStore;
-    private final table<InMemoryVectorEntry> key(id) entries = table [];
     private final SimilarityMetric similarityMetric;
 
     # Initializes a new in-memory vector store.
     #
     # + similarityMetric - The metric used for vector similarity
-    public isolated function init(SimilarityMetric similarityMetric = COSINE) returns Error? {
+    # + hnswConfig - The configuration of the HNSW graph used to answer queries approximately. When not provided,
+    # every query compares the query vector with all the stored vectors
+    # + quantization - The configuration of the quantized vectors scanned by queries for a limited number of entries.
+    # When not provided, queries scan the full-precision vectors
+    # + return - An `ai:Error` if the HNSW or quantization configuration is invalid; otherwise, `nil`
+    public isolated function init(SimilarityMetric similarityMetric = COSINE, HnswConfig? hnswConfig = (),
+            QuantizationConfig? quantization = ()) returns Error? {
         self.similarityMetric = similarityMetric;
+        check initVectorIndex(self, similarityMetric, hnswConfig, quantization);
     }
 
     # Adds vector entries to the in-memory store.
@@ -59,7 +80,8 @@ public distinct isolated class InMemoryVectorStore {
     #
     # + entries - Array of vector entries to store. If an entry does not contain an id,
     # a unique id will be generated by default.
-    # + return - `nil` on success; an Error if non-dense vectors are provided
+    # + return - `nil` on success; an Error if non-dense vectors are provided, or if the vectors
+    # do not all have the same dimension
     public isolated function add(VectorEntry[] entries) returns Error? {
         foreach VectorEntry entry in entries {
             if entry.embedding !is Vector {
@@ -69,102 +91,23 @@ public distinct isolated class InMemoryVectorStore {
                 entry.id = uuid:createRandomUuid();
             }
         }
-        readonly & VectorEntry[] clonedEntries = entries.cloneReadOnly();
-        lock {
-            foreach VectorEntry entry in clonedEntries {
-                self.entries.put({id: <string>entry.id, embedding: entry.embedding, chunk: entry.chunk});
-            }
-        }
+        check addToVectorIndex(self, entries.cloneReadOnly());
     }
 
     # Queries the vector store for vectors similar to the given query.
+    # With the `EUCLIDEAN` metric, the similarity score is the distance to the query, and the nearest
+    # vectors are returned first.
     #
     # + query - The query containing the embedding vector and optional filters
     # + return - An array of vector matches sorted by similarity score (limited to topK), 
     # or an `ai:Error` if the query fails
     public isolated function query(VectorStoreQuery query) returns VectorMatch[]|Error {
-        lock {
-            VectorStoreQuery clonedQuery = query.cloneReadOnly();
-            Embedding? embedding = clonedQuery.embedding;
-            MetadataFilters? filters = clonedQuery.filters;
-            if embedding !is Vector? {
-                return error Error("InMemoryVectorStore supports dense vectors exclusively");
-            }
-            if embedding is () && filters is () {
-                stream<VectorMatch> matchStream = from InMemoryVectorEntry entry in self.entries
-                    select {
-                        chunk: entry.chunk.cloneReadOnly(),
-                        embedding: entry.embedding.cloneReadOnly(),
-                        similarityScore: 0.0,
-                        id: entry.id
-                    };
-                return self.getEntries(matchStream, query.topK).cloneReadOnly();
-            }
-            if embedding is () && filters !is () {
-                MetadataFilters metadataFilters = filters.cloneReadOnly();
-                stream<VectorMatch, Error?> matchStream = from InMemoryVectorEntry entry in self.entries
-                    where check entryMatchesFilters(entry, metadataFilters)
-                    select {
-                        chunk: entry.chunk.cloneReadOnly(),
-                        embedding: entry.embedding.cloneReadOnly(),
-                        similarityScore: 0.0,
-                        id: entry.id
-                    };
-                return self.getEntries(matchStream, query.topK).cloneReadOnly();
-            }
-            if filters !is () {
-                final readonly & MetadataFilters metadataFilters = filters.cloneReadOnly();
-                stream<VectorMatch, Error?> matchStream = from InMemoryVectorEntry entry in self.entries
-                    let float similarity = self.calculateSimilarity(<Vector>query.embedding.clone(), <Vector>entry.embedding)
-                    where check entryMatchesFilters(entry, metadataFilters)
-                    order by similarity descending
-                    select {
-                        chunk: entry.chunk.cloneReadOnly(),
-                        embedding: entry.embedding.cloneReadOnly(),
-                        similarityScore: similarity,
-                        id: entry.id
-                    };
-                return self.getEntries(matchStream, query.topK).cloneReadOnly();
-            }
-            stream<VectorMatch, Error?> matchStream = from InMemoryVectorEntry entry in self.entries
-                let float similarity = self.calculateSimilarity(<Vector>query.embedding.clone(), <Vector>entry.embedding)
-                order by similarity descending
-                select {
-                    chunk: entry.chunk,
-                    embedding: entry.embedding,
-                    similarityScore: similarity,
-                    id: entry.id
-                };
-            return self.getEntries(matchStream, query.topK).cloneReadOnly();
-        } on fail error err {
-            return error("Failed to query vector store", err);
-        }
-    }
-
-    private isolated function getEntries(stream<VectorMatch, Error?> entryStream, int topK) returns VectorMatch[]|Error {
-        if topK < 1 {
-            // if topK is a negative or zero then return all entries
-            return from VectorMatch entry in entryStream
-                select entry;
-        }
-        return from VectorMatch entry in entryStream
-            limit topK
-            select entry;
-    }
-
-    private isolated function calculateSimilarity(Vector queryEmbedding, Vector entryEmbedding) returns float {
-        match self.similarityMetric {
-            COSINE => {
-                return vector:cosineSimilarity(queryEmbedding, entryEmbedding);
-            }
-            EUCLIDEAN => {
-                return vector:euclideanDistance(queryEmbedding, entryEmbedding);
-            }
-            DOT_PRODUCT => {
-                return vector:dotProduct(queryEmbedding, entryEmbedding);
-            }
+        Embedding? embedding = query.embedding;
+        if embedding !is Vector? {
+            return error Error("InMemoryVectorStore supports dense vectors exclusively");
         }
-        return vector:cosineSimilarity(queryEmbedding, entryEmbedding);
+        VectorMatch[] matches = check queryVectorIndex(self, embedding, query.filters, query.topK);
+        return matches.cloneReadOnly();
     }
 
     # Deletes a vector entry from the in-memory store.
@@ -174,18 +117,30 @@ public distinct isolated class InMemoryVectorStore {
     # + return - `ai:Error` if the reference ID is not found, otherwise `nil`
     public isolated function delete(string|string[] ids) returns Error? {
         if ids is string {
-            check self.deleteEntry(ids);
+            check deleteFromVectorIndex(self, ids);
             return;
         }
-        _ = ids.'map(id => check self.deleteEntry(id));
-    }
-
-    private isolated function deleteEntry(string id) returns Error? {
-        lock {
-            if !self.entries.hasKey(id) {
-                return error Error(string `Vector entry with reference id '${id}' not found`);
-            }
-            _ = self.entries.remove(id);
+        foreach string id in ids {
+            check deleteFromVectorIndex(self, id);
         }
     }
 }
+
+isolated function initVectorIndex(InMemoryVectorStore store, SimilarityMetric similarityMetric,
+        HnswConfig? hnswConfig, QuantizationConfig? quantization) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.InMemoryVectorStore"
+} external;
+
+isolated function addToVectorIndex(InMemoryVectorStore store, readonly & VectorEntry[] entries)
+    returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.InMemoryVectorStore"
+} external;
+
+isolated function queryVectorIndex(InMemoryVectorStore store, Vector? embedding, MetadataFilters? filters, int topK,
+        typedesc<VectorMatch> matchType = VectorMatch) returns VectorMatch[]|Error = @java:Method {
+    'class: "io.ballerina.stdlib.ai.InMemoryVectorStore"
+} external;
+
+isolated function deleteFromVectorIndex(InMemoryVectorStore store, string id) returns Error? = @java:Method {
+    'class: "io.ballerina.stdlib.ai.InMemoryVectorStore"
+} external;
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.apache.tika.exception.TikaException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of extracting text from PDF and Office documents with {@link TextDataLoader}.
+ * <p>
+ * The documents default to the ones used by the tests. Larger documents can be measured by passing their paths,
+ * for example {@code -p pdfPath=/path/to/large.pdf}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentLoaderBenchmark {
+
+    @Param({"src/test/resources/doc-reader-test/TestDoc.pdf"})
+    public String pdfPath;
+
+    @Param({"src/test/resources/doc-reader-test/TestDoc.docx"})
+    public String docxPath;
+
+    @Param({"src/test/resources/doc-reader-test/Test presentation.pptx"})
+    public String pptxPath;
+
+    private long pdfBytes;
+    private long docxBytes;
+    private long pptxBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        pdfBytes = Files.size(Path.of(pdfPath));
+        docxBytes = Files.size(Path.of(docxPath));
+        pptxBytes = Files.size(Path.of(pptxPath));
+    }
+
+    @Benchmark
+    public TextDataLoader.TextDocumentInfo parsePdf(BytesProcessed bytesProcessed)
+            throws IOException, TikaException, SAXException {
+        bytesProcessed.bytes += pdfBytes;
+        return TextDataLoader.parsePDF(pdfPath, ExtractionLimits.UNLIMITED);
+    }
+
+    @Benchmark
+    public TextDataLoader.TextDocumentInfo parseDocx(BytesProcessed bytesProcessed)
+            throws IOException, TikaException, SAXException {
+        bytesProcessed.bytes += docxBytes;
+        return TextDataLoader.parseOfficeX(docxPath, TextDataLoader.FileType.DOCX, ExtractionLimits.UNLIMITED);
+    }
+
+    @Benchmark
+    public TextDataLoader.TextDocumentInfo parsePptx(BytesProcessed bytesProcessed)
+            throws IOException, TikaException, SAXException {
+        bytesProcessed.bytes += pptxBytes;
+        return TextDataLoader.parseOfficeX(pptxPath, TextDataLoader.FileType.PPTX, ExtractionLimits.UNLIMITED);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of {@link MarkdownChunker} for each strategy over synthetic markdown documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkdownChunkerBenchmark {
+
+    @Param({"NESTED_HEADERS", "CODE_BLOCKS", "SINGLE_LINE"})
+    public String corpus;
+
+    @Param({"BY_HEADER", "BY_CODE_BLOCK", "BY_HORIZONTAL_LINE", "BY_PARAGRAPH", "BY_LINE", "BY_SENTENCE",
+            "BY_WORD", "BY_CHARACTER"})
+    public String strategy;
+
+    @Param({"1048576"})
+    public int corpusSize;
+
+    @Param({"500"})
+    public int maxChunkSize;
+
+    @Param({"50"})
+    public int maxOverlapSize;
+
+    private String content;
+    private int contentBytes;
+    private MarkdownChunker.MarkdownChunkStrategy chunkStrategy;
+
+    @Setup
+    public void setUp() {
+        content = SyntheticCorpus.valueOf(corpus).generate(corpusSize);
+        contentBytes = content.getBytes(StandardCharsets.UTF_8).length;
+        chunkStrategy = MarkdownChunker.MarkdownChunkStrategy.valueOf(strategy);
+    }
+
+    @Benchmark
+    public List<RecursiveChunker.Chunk> chunk(BytesProcessed bytesProcessed) {
+        bytesProcessed.bytes += contentBytes;
+        return MarkdownChunker.split(content, chunkStrategy, maxChunkSize, maxOverlapSize);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.Random;
+
+/**
+ * Generates synthetic documents that stress specific paths of the chunkers. Documents are generated from a fixed
+ * seed, so every run of a benchmark chunks the same content.
+ */
+enum SyntheticCorpus {
+
+    /**
+     * Markdown with headers nested down to the sixth level, each followed by a few paragraphs.
+     */
+    NESTED_HEADERS {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            int level = 1 + random.nextInt(MAX_HEADER_LEVEL);
+            sb.append('\n').append("#".repeat(level)).append(' ');
+            appendWords(sb, random, 3 + random.nextInt(5));
+            sb.append("\n\n");
+            for (int i = random.nextInt(3); i >= 0; i--) {
+                appendParagraph(sb, random);
+            }
+        }
+    },
+
+    /**
+     * Markdown dominated by fenced code blocks far larger than a chunk, separated by short paragraphs.
+     */
+    CODE_BLOCKS {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            appendParagraph(sb, random);
+            sb.append("```java\n");
+            for (int i = 0; i < 400; i++) {
+                sb.append("    int value").append(i).append(" = compute(").append(random.nextInt(1000))
+                        .append(", \"").append(WORDS[random.nextInt(WORDS.length)]).append("\");\n");
+            }
+            sb.append("```\n\n");
+        }
+    },
+
+    /**
+     * HTML with a tag every few words, including headers, nested inline elements and line breaks.
+     */
+    TAG_DENSE_HTML {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            int level = 1 + random.nextInt(MAX_HEADER_LEVEL);
+            sb.append("<h").append(level).append(" class=\"title\">");
+            appendWords(sb, random, 4);
+            sb.append("</h").append(level).append(">\n<div>");
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                sb.append("<p>");
+                for (int j = 0; j < 8; j++) {
+                    sb.append("<span>");
+                    appendWords(sb, random, 2);
+                    sb.append("</span>");
+                    sb.append(j % 3 == 2 ? "<br/>" : " <b>bold</b> ");
+                }
+                sb.append("</p>\n");
+            }
+            sb.append("</div>\n");
+        }
+    },
+
+    /**
+     * Prose on a single line without any paragraph or line break, so chunkers fall back to their finest splitters.
+     */
+    SINGLE_LINE {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            appendSentence(sb, random);
+            sb.append(' ');
+        }
+    },
+
+    /**
+     * Plain text paragraphs of regular sentences.
+     */
+    PROSE {
+        @Override
+        void append(StringBuilder sb, Random random) {
+            appendParagraph(sb, random);
+        }
+    };
+
+    private static final long SEED = 42;
+    private static final int MAX_HEADER_LEVEL = 6;
+    private static final String[] WORDS = {
+            "chunk", "vector", "embedding", "retrieval", "document", "knowledge", "agent", "model", "token",
+            "stream", "index", "query", "metadata", "overlap", "boundary", "sentence", "paragraph", "header",
+            "the", "a", "of", "and", "to", "in", "is", "for", "with", "on", "by", "at"
+    };
+
+    /**
+     * Returns a document of this kind with at least the given number of characters.
+     */
+    String generate(int size) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder(size + 4096);
+        while (sb.length() < size) {
+            append(sb, random);
+        }
+        return sb.toString();
+    }
+
+    abstract void append(StringBuilder sb, Random random);
+
+    private static void appendParagraph(StringBuilder sb, Random random) {
+        for (int i = 2 + random.nextInt(4); i >= 0; i--) {
+            appendSentence(sb, random);
+            sb.append(' ');
+        }
+        sb.setLength(sb.length() - 1);
+        sb.append("\n\n");
+    }
+
+    private static void appendSentence(StringBuilder sb, Random random) {
+        int start = sb.length();
+        appendWords(sb, random, 6 + random.nextInt(14));
+        sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+        sb.append('.');
+    }
+
+    private static void appendWords(StringBuilder sb, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+    }
+}
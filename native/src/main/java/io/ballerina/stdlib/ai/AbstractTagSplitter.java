@@ -21,28 +21,30 @@ package io.ballerina.stdlib.ai;
 import io.ballerina.stdlib.ai.RecursiveChunker.Chunk;
 
 import java.util.Iterator;
-import java.util.Map;
+import java.util.Locale;
 import java.util.NoSuchElementException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 abstract class AbstractTagSplitter implements RecursiveChunker.Splitter {
 
     private final String tagName;
-    private final Pattern openTagPattern;
-    private final Pattern closeTagPattern;
+    private final HtmlTokenizer tokenizer;
 
     AbstractTagSplitter(String tagName) {
-        this.tagName = tagName;
-        // Pattern to match opening tag with optional attributes: <tagName> or <tagName attr="value">
-        this.openTagPattern = Pattern.compile("<" + Pattern.quote(tagName) + "(?:\\s[^>]*)?>",
-                Pattern.CASE_INSENSITIVE);
-        this.closeTagPattern = Pattern.compile("</" + Pattern.quote(tagName) + ">", Pattern.CASE_INSENSITIVE);
+        this(tagName, new HtmlTokenizer(Set.of(tagName.toLowerCase(Locale.ROOT))));
+    }
+
+    /**
+     * Creates a splitter that looks up the tags of the content in the given tokenizer, which must track the tag.
+     */
+    AbstractTagSplitter(String tagName, HtmlTokenizer tokenizer) {
+        this.tagName = tagName.toLowerCase(Locale.ROOT);
+        this.tokenizer = tokenizer;
     }
 
     @Override
-    public Iterator<Chunk> split(String content) {
-        return new TagSplitterIterator(content);
+    public Iterator<Chunk> split(String content, int start, int end) {
+        return new TagSplitterIterator(content, start, end);
     }
 
     enum SplitterState {
@@ -55,20 +57,35 @@ abstract class AbstractTagSplitter implements RecursiveChunker.Splitter {
 
     protected class TagSplitterIterator implements Iterator<Chunk> {
 
-        private String content;
+        private final String content;
+        private final int end;
+        // Start of the content that is yet to be broken down
+        private int position;
         SplitterState currentState;
         // Part before the tag
-        String prefix;
+        int prefixStart;
         // Part between open and closing tags
-        String tag;
+        int tagStart;
+        int tagEnd;
+        ChunkMetadata tagAttributes = ChunkMetadata.EMPTY;
         // Part after closing tag but before the next opening tag
-        Map<String, String> tagAttributes = Map.of();
-        String suffix;
-        Map<String, String> suffixAttributes = Map.of();
+        int suffixEnd;
+        ChunkMetadata suffixAttributes = ChunkMetadata.EMPTY;
+        private final TokenList openingTags;
+        private final TokenList closingTags;
 
-        TagSplitterIterator(String content) {
+        TagSplitterIterator(String content, int start, int end) {
             this.content = content;
+            this.end = end;
+            this.position = start;
             this.currentState = SplitterState.INIT;
+            HtmlTokenizer.Tags tags = tokenizer.tokenize(content);
+            this.openingTags = tags.openingTags(tagName);
+            this.closingTags = tags.closingTags(tagName);
+        }
+
+        String tag() {
+            return content.substring(tagStart, tagEnd);
         }
 
         @Override
@@ -78,7 +95,7 @@ abstract class AbstractTagSplitter implements RecursiveChunker.Splitter {
                 assert currentState != SplitterState.INIT;
                 return hasNext();
             }
-            return currentState != SplitterState.END || !content.isEmpty();
+            return currentState != SplitterState.END || position < end;
         }
 
         @Override
@@ -92,61 +109,60 @@ abstract class AbstractTagSplitter implements RecursiveChunker.Splitter {
                     yield next();
                 case PREFIX:
                     currentState = SplitterState.TAG;
-                    yield new Chunk(prefix, Map.of());
+                    yield new Chunk(content, prefixStart, tagStart, ChunkMetadata.EMPTY);
                 case TAG:
                     currentState = SplitterState.SUFFIX;
-                    yield new Chunk(tag, tagAttributes);
+                    yield new Chunk(content, tagStart, tagEnd, tagAttributes);
                 case SUFFIX:
-                    if (!content.isEmpty()) {
+                    if (position < end) {
                         currentState = SplitterState.INIT;
                     } else {
                         currentState = SplitterState.END;
                     }
-                    yield new Chunk(suffix, suffixAttributes);
+                    yield new Chunk(content, tagEnd, suffixEnd, suffixAttributes);
                 case END:
-                    String response = content;
-                    content = "";
-                    yield new Chunk(response, Map.of());
+                    int restStart = position;
+                    position = end;
+                    yield new Chunk(content, restStart, end, ChunkMetadata.EMPTY);
             };
         }
 
         private void breakdownContentInner() {
             assert currentState == SplitterState.INIT;
-            assert content != null;
             // Find the index to open tag
-            Matcher openTagMatcher = openTagPattern.matcher(content);
-            if (!openTagMatcher.find()) {
+            int openingTag = openingTags.find(position, end);
+            if (openingTag < 0) {
                 currentState = SplitterState.END;
                 return;
             }
-            int openTagIndex = openTagMatcher.start();
-            prefix = content.substring(0, openTagIndex);
+            prefixStart = position;
+            tagStart = openingTags.start(openingTag);
 
             currentState = SplitterState.PREFIX;
 
-            // Find the index to close tag
-            Matcher closeTagMatcher = closeTagPattern.matcher(content);
-            closeTagMatcher.region(openTagMatcher.end(), content.length());
-            if (!closeTagMatcher.find()) {
-                throw new IndexOutOfBoundsException("Invalid HTML <%s> is not properly terminated".formatted(tagName));
+            // Find the index to close tag. Headers and paragraphs cannot be nested, so a tag that is opened again
+            // before it is closed is treated as unclosed
+            int contentStart = openingTags.end(openingTag);
+            int closingTag = closingTags.find(contentStart, end);
+            int nextOpeningTag = openingTags.find(contentStart, end);
+            if (closingTag >= 0 && (nextOpeningTag < 0
+                    || closingTags.start(closingTag) < openingTags.start(nextOpeningTag))) {
+                // Complete tag including opening and closing tags
+                tagEnd = closingTags.end(closingTag);
+                nextOpeningTag = openingTags.find(tagEnd, end);
+            } else {
+                // Unclosed tag, which extends up to the next opening tag or to the end of the content
+                tagEnd = nextOpeningTag >= 0 ? openingTags.start(nextOpeningTag) : end;
             }
 
-            // Extract complete tag including opening and closing tags
-            tag = content.substring(openTagIndex, closeTagMatcher.end());
-
-            content = content.substring(closeTagMatcher.end());
-
-            // Find the index to the next opening tag
-            Matcher nextOpenTagMatcher = openTagPattern.matcher(content);
-            if (!nextOpenTagMatcher.find()) {
+            if (nextOpeningTag < 0) {
                 // End of content. ie no rest
-                suffix = content;
-                content = "";
+                suffixEnd = end;
+                position = end;
                 return;
             }
-            int nextOpenTagIndex = nextOpenTagMatcher.start();
-            suffix = content.substring(0, nextOpenTagIndex);
-            content = content.substring(nextOpenTagIndex);
+            suffixEnd = openingTags.start(nextOpeningTag);
+            position = suffixEnd;
         }
 
         private void breakdownContent() {
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns the ids of the chunks of a single document, in document order.
+ * <p>
+ * The id of a chunk combines the hash of its content with the number of earlier chunks of the document that have the
+ * same content, and with the key that identifies the document, if it has one. Re-chunking a document therefore yields
+ * the ids it had before, while repeated chunks of a document, such as a footer or a table header, get ids of their
+ * own. The ids of a document without a key are only unique within the document.
+ */
+final class ChunkIds {
+
+    private final long documentHash;
+    // The number of chunks assigned an id so far, by the hash of their content
+    private final Map<Long, Integer> occurrences = new HashMap<>();
+
+    /**
+     * Creates the ids of a document identified by the given key, or of a document without a key if it is
+     * {@code null}.
+     */
+    ChunkIds(String documentKey) {
+        this.documentHash = documentKey == null ? 0 : RecursiveChunker.Chunk.contentHash(documentKey);
+    }
+
+    /**
+     * Returns the id of the next chunk of the document.
+     */
+    long next(RecursiveChunker.Chunk chunk) {
+        long contentHash = chunk.id();
+        int occurrence = occurrences.merge(contentHash, 1, Integer::sum) - 1;
+        return RecursiveChunker.Chunk.scopedId(documentHash, contentHash, occurrence);
+    }
+
+    /**
+     * Returns the id assigned to the latest chunk with the given content hash, which is the chunk that a
+     * {@code prev} link of a later chunk refers to.
+     */
+    long latest(long contentHash) {
+        int occurrence = Math.max(occurrences.getOrDefault(contentHash, 1) - 1, 0);
+        return RecursiveChunker.Chunk.scopedId(documentHash, contentHash, occurrence);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable metadata of a chunk, represented as a chain of entries linked to the metadata they extend.
+ * <p>
+ * Chunks derived from one another share the entries they have in common, so adding an entry allocates a single
+ * node instead of copying the whole map. An entry shadows the entries of the same key further up the chain.
+ * The chain is only flattened into a map when the metadata of an emitted chunk is materialized.
+ */
+final class ChunkMetadata extends AbstractMap<String, String> {
+
+    static final ChunkMetadata EMPTY = new ChunkMetadata(null, null, null, 0);
+
+    // Chains longer than this are flattened when they hold shadowed entries, so that lookups stay cheap
+    private static final int MAX_DEPTH = 16;
+
+    private final ChunkMetadata parent;
+    private final String key;
+    private final String value;
+    private final int depth;
+    private Map<String, String> materialized;
+
+    private ChunkMetadata(ChunkMetadata parent, String key, String value, int depth) {
+        this.parent = parent;
+        this.key = key;
+        this.value = value;
+        this.depth = depth;
+    }
+
+    static ChunkMetadata of(String key, String value) {
+        return EMPTY.with(key, value);
+    }
+
+    static ChunkMetadata of(Map<String, String> metadata) {
+        if (metadata instanceof ChunkMetadata chunkMetadata) {
+            return chunkMetadata;
+        }
+        return EMPTY.withAll(metadata);
+    }
+
+    /**
+     * Returns metadata with the given entry added, sharing the entries of this metadata.
+     */
+    ChunkMetadata with(String key, String value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        if (value.equals(get(key))) {
+            return this;
+        }
+        ChunkMetadata base = depth >= MAX_DEPTH && depth > size() ? flatten() : this;
+        return new ChunkMetadata(base, key, value, base.depth + 1);
+    }
+
+    /**
+     * Returns metadata with the entries of the given metadata added, overriding the entries of the same keys.
+     */
+    ChunkMetadata withAll(Map<String, String> metadata) {
+        if (metadata.isEmpty()) {
+            return this;
+        }
+        if (isEmpty() && metadata instanceof ChunkMetadata chunkMetadata) {
+            return chunkMetadata;
+        }
+        ChunkMetadata result = this;
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entries shared by all the given metadata, reusing the metadata itself when they are all the same.
+     */
+    static ChunkMetadata common(List<ChunkMetadata> metadata) {
+        ChunkMetadata first = metadata.getFirst();
+        boolean shared = true;
+        for (int i = 1; i < metadata.size() && shared; i++) {
+            shared = metadata.get(i) == first;
+        }
+        if (shared || first.isEmpty()) {
+            return first;
+        }
+        ChunkMetadata result = EMPTY;
+        for (Map.Entry<String, String> entry : first.entrySet()) {
+            boolean common = true;
+            for (int i = 1; i < metadata.size() && common; i++) {
+                common = entry.getValue().equals(metadata.get(i).get(entry.getKey()));
+            }
+            if (common) {
+                result = result.with(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String get(Object key) {
+        for (ChunkMetadata node = this; node.key != null; node = node.parent) {
+            if (node.key.equals(key)) {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return key == null;
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        materialize().forEach(action);
+    }
+
+    private ChunkMetadata flatten() {
+        ChunkMetadata result = EMPTY;
+        for (Map.Entry<String, String> entry : materialize().entrySet()) {
+            result = new ChunkMetadata(result, entry.getKey(), entry.getValue(), result.depth + 1);
+        }
+        return result;
+    }
+
+    private Map<String, String> materialize() {
+        Map<String, String> result = materialized;
+        if (result != null) {
+            return result;
+        }
+        if (isEmpty()) {
+            result = Collections.emptyMap();
+        } else {
+            ChunkMetadata[] nodes = new ChunkMetadata[depth];
+            int count = 0;
+            for (ChunkMetadata node = this; node.key != null; node = node.parent) {
+                nodes[count++] = node;
+            }
+            Map<String, String> entries = new HashMap<>();
+            // Entries closer to this node are applied last, so that they shadow the ones they override
+            for (int i = count - 1; i >= 0; i--) {
+                entries.put(nodes[i].key, nodes[i].value);
+            }
+            result = Collections.unmodifiableMap(entries);
+        }
+        materialized = result;
+        return result;
+    }
+}
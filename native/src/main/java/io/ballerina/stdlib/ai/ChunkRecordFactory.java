@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the Ballerina {@code TextChunk} records of a document directly from its chunks.
+ * <p>
+ * The record and array types are resolved once per factory, and the metadata of the document is read once per
+ * document rather than once per chunk. Each chunk gets a metadata record of its own, so the metadata of the input
+ * document is never modified.
+ */
+final class ChunkRecordFactory {
+
+    private static final String METADATA_FIELD_NAME = "metadata";
+    private static final BString CONTENT_FIELD = StringUtils.fromString("content");
+    private static final BString METADATA_FIELD = StringUtils.fromString(METADATA_FIELD_NAME);
+    private static final BString INDEX_FIELD = StringUtils.fromString("index");
+    private static final BString ID_FIELD = StringUtils.fromString("id");
+    private static final BString PREV_FIELD = StringUtils.fromString("prev");
+    private static final BString FILE_NAME_FIELD = StringUtils.fromString("fileName");
+    private static final BString PATH_FIELD = StringUtils.fromString("path");
+
+    private final RecordType textChunkRecordType;
+    private final RecordType metadataRecordType;
+    private final ArrayType arrayType;
+    // Chunk metadata keys are drawn from a handful of names, so each is converted to a Ballerina string once
+    private final Map<String, BString> keys = new HashMap<>();
+
+    ChunkRecordFactory(Type textChunkType) {
+        this.textChunkRecordType = (RecordType) TypeUtils.getImpliedType(textChunkType);
+        Type metadataType = textChunkRecordType.getFields().get(METADATA_FIELD_NAME).getFieldType();
+        this.metadataRecordType = (RecordType) TypeUtils.getImpliedType(metadataType);
+        this.arrayType = TypeCreator.createArrayType(textChunkType);
+    }
+
+    /**
+     * Returns the records of all the chunks of a document.
+     */
+    BArray createRecords(BMap<BString, Object> document, List<RecursiveChunker.Chunk> chunks) {
+        return createRecords(document, chunks, 0, chunkIdsOf(document));
+    }
+
+    /**
+     * Returns the records of the given chunks of a document, indexed from the given index, with ids assigned by the
+     * ids of the document.
+     */
+    BArray createRecords(BMap<BString, Object> document, List<RecursiveChunker.Chunk> chunks, int firstIndex,
+                         ChunkIds ids) {
+        DocumentScope scope = new DocumentScope(document, ids);
+        Object[] records = new Object[chunks.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = scope.createRecord(chunks.get(i), firstIndex + i);
+        }
+        return createArray(records);
+    }
+
+    BArray createArray(Object[] records) {
+        return ValueCreator.createArrayValue(records, arrayType);
+    }
+
+    /**
+     * Returns the ids of the chunks of a document, which is identified by its path, or else by its file name, if it
+     * has either.
+     */
+    static ChunkIds chunkIdsOf(BMap<BString, Object> document) {
+        BMap<BString, Object> metadata = metadataOf(document);
+        if (metadata == null) {
+            return new ChunkIds(null);
+        }
+        if (metadata.get(PATH_FIELD) instanceof BString path) {
+            return new ChunkIds(path.getValue());
+        }
+        return new ChunkIds(metadata.get(FILE_NAME_FIELD) instanceof BString fileName ? fileName.getValue() : null);
+    }
+
+    private static BMap<BString, Object> metadataOf(BMap<BString, Object> document) {
+        return document.containsKey(METADATA_FIELD) ? (BMap<BString, Object>) document.get(METADATA_FIELD) : null;
+    }
+
+    /**
+     * The metadata of a single document, shared by the records of all its chunks.
+     */
+    final class DocumentScope {
+
+        private final BString[] documentKeys;
+        private final Object[] documentValues;
+        private final ChunkIds ids;
+
+        DocumentScope(BMap<BString, Object> document) {
+            this(document, chunkIdsOf(document));
+        }
+
+        DocumentScope(BMap<BString, Object> document, ChunkIds ids) {
+            this.ids = ids;
+            BMap<BString, Object> metadata = metadataOf(document);
+            if (metadata == null) {
+                documentKeys = new BString[0];
+                documentValues = new Object[0];
+                return;
+            }
+            documentKeys = metadata.getKeys();
+            documentValues = new Object[documentKeys.length];
+            for (int i = 0; i < documentKeys.length; i++) {
+                documentValues[i] = metadata.get(documentKeys[i]);
+            }
+        }
+
+        BMap<BString, Object> createRecord(RecursiveChunker.Chunk chunk, int index) {
+            BMap<BString, Object> metadata = ValueCreator.createRecordValue(metadataRecordType);
+            for (int i = 0; i < documentKeys.length; i++) {
+                metadata.put(documentKeys[i], documentValues[i]);
+            }
+            chunk.metadata().forEach((key, value) ->
+                    metadata.put(keys.computeIfAbsent(key, StringUtils::fromString), StringUtils.fromString(value)));
+            if (chunk.prev() != RecursiveChunker.Chunk.NO_PREV) {
+                metadata.put(PREV_FIELD, ids.latest(chunk.prev()));
+            }
+            metadata.put(ID_FIELD, ids.next(chunk));
+            metadata.put(INDEX_FIELD, (long) index);
+
+            BMap<BString, Object> textChunk = ValueCreator.createRecordValue(textChunkRecordType);
+            textChunk.put(CONTENT_FIELD, StringUtils.fromString(chunk.piece()));
+            textChunk.put(METADATA_FIELD, metadata);
+            return textChunk;
+        }
+    }
+}
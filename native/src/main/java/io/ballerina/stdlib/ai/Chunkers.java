@@ -18,177 +18,301 @@
 
 package io.ballerina.stdlib.ai;
 
-import dev.langchain4j.data.document.Document;
-import dev.langchain4j.data.document.DocumentSplitter;
-import dev.langchain4j.data.document.Metadata;
-import dev.langchain4j.data.document.splitter.DocumentByCharacterSplitter;
-import dev.langchain4j.data.document.splitter.DocumentByLineSplitter;
-import dev.langchain4j.data.document.splitter.DocumentByParagraphSplitter;
-import dev.langchain4j.data.document.splitter.DocumentBySentenceSplitter;
-import dev.langchain4j.data.document.splitter.DocumentByWordSplitter;
-import dev.langchain4j.data.segment.TextSegment;
-import io.ballerina.runtime.api.creators.TypeCreator;
-import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.Callable;
 
 /**
  * Native utility class for chunking text documents into smaller segments using various strategies.
  * Supports splitting by line, character, word, sentence, or paragraph.
  */
 public class Chunkers {
-    private static final String TEXT_CHUNK_RECORD_TYPE_NAME = "TextChunk";
-    private static final String META_DATA_RECORD_TYPE_NAME = "Metadata";
     private static final String CONTENT_FIELD_NAME = "content";
-    private static final String METADATA_FIELD_NAME = "metadata";
-    private static final String INDEX_FIELD_NAME = "index";
-    private static final String ID_FIELD_NAME = "id";
-    private static final String PREV_FIELD_NAME = "prev";
-    private static final Set<String> INTEGER_FIELDS = Set.of(INDEX_FIELD_NAME, ID_FIELD_NAME, PREV_FIELD_NAME);
-
-    public static Object chunkTextDocument(BMap<BString, Object> document, int chunkSize, int maxOverlapSize,
-                                           BString chunkStrategy, BTypedesc textChunkType) {
+    private static final String STREAMING_CHUNKER = "streamingChunker";
+    private static final String CHUNK_IDS = "chunkIds";
+    private static final BString DOCUMENT_TYPE_FIELD = StringUtils.fromString("documentType");
+    private static final BString STRATEGY_FIELD = StringUtils.fromString("strategy");
+    private static final BString MAX_CHUNK_SIZE_FIELD = StringUtils.fromString("maxChunkSize");
+    private static final BString MAX_OVERLAP_SIZE_FIELD = StringUtils.fromString("maxOverlapSize");
+
+    public static Object chunkTextDocument(Environment env, BMap<BString, Object> document, int chunkSize,
+                                           int maxOverlapSize, BString chunkStrategy, BTypedesc textChunkType) {
+        return chunkDocument(env, document, chunkSize, maxOverlapSize, chunkStrategy, textChunkType,
+                Chunkers::chunkText);
+    }
+
+    public static Object chunkMarkdownDocument(Environment env, BMap<BString, Object> document, int chunkSize,
+                                               int maxOverlapSize, BString chunkStrategy, BTypedesc textChunkType) {
+        return chunkDocument(env, document, chunkSize, maxOverlapSize, chunkStrategy, textChunkType,
+                Chunkers::chunkMarkdown);
+    }
+
+    public static Object chunkHtmlDocument(Environment env, BMap<BString, Object> document, int chunkSize,
+                                           int maxOverlapSize, BString chunkStrategy, BTypedesc textChunkType) {
+        return chunkDocument(env, document, chunkSize, maxOverlapSize, chunkStrategy, textChunkType,
+                Chunkers::chunkHtml);
+    }
+
+    /**
+     * Chunks the content of a document on the native worker pool while the calling strand yields.
+     */
+    private static Object chunkDocument(Environment env, BMap<BString, Object> document, int chunkSize,
+                                        int maxOverlapSize, BString chunkStrategy, BTypedesc textChunkType,
+                                        ContentChunker chunker) {
+        return env.yieldAndRun(() -> {
+            try {
+                String content = document.getStringValue(StringUtils.fromString(CONTENT_FIELD_NAME)).getValue();
+                List<RecursiveChunker.Chunk> chunks = NativeWorkers.run(
+                        () -> chunker.chunk(content, chunkStrategy, chunkSize, maxOverlapSize));
+                return new ChunkRecordFactory(textChunkType.getDescribingType()).createRecords(document, chunks);
+            } catch (Exception e) {
+                return handleChunkingErrors(e);
+            }
+        });
+    }
+
+    /**
+     * Chunks a batch of documents in parallel, using the chunker configuration given for each document.
+     * <p>
+     * The chunks are returned in the order of the input documents, and each document's chunks are indexed from zero
+     * as if the document was chunked on its own. If several documents fail, the error of the first one is returned.
+     */
+    public static Object chunkDocuments(Environment env, BArray documents, BArray chunkerConfigs,
+                                        BTypedesc textChunkType) {
+        return env.yieldAndRun(() -> chunkDocuments(documents, chunkerConfigs, textChunkType));
+    }
+
+    private static Object chunkDocuments(BArray documents, BArray chunkerConfigs, BTypedesc textChunkType) {
         try {
-            String content = document.getStringValue(StringUtils.fromString(CONTENT_FIELD_NAME)).getValue();
-            Document inputDocument = Document.from(content);
+            int count = documents.size();
+            List<BMap<BString, Object>> inputDocuments = new ArrayList<>(count);
+            List<ChunkingTask> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BMap<BString, Object> document = (BMap<BString, Object>) documents.get(i);
+                inputDocuments.add(document);
+                tasks.add(ChunkingTask.from(document, (BMap<BString, Object>) chunkerConfigs.get(i)));
+            }
+
+            // Only the chunking runs on the worker pool, Ballerina values are read and created on the calling thread
+            List<ChunkingResult> results = NativeWorkers.runAll(tasks);
 
-            DocumentSplitter splitter = getDocumentSplitter(chunkStrategy, chunkSize, maxOverlapSize);
-            List<TextSegment> textSegments = splitter.split(inputDocument);
+            ChunkRecordFactory recordFactory = new ChunkRecordFactory(textChunkType.getDescribingType());
+            List<Object> chunkRecords = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ChunkingResult result = results.get(i);
+                if (result.error() != null) {
+                    return handleChunkingErrors(result.error());
+                }
+                ChunkRecordFactory.DocumentScope scope = recordFactory.new DocumentScope(inputDocuments.get(i));
+                List<RecursiveChunker.Chunk> chunks = result.chunks();
+                for (int index = 0; index < chunks.size(); index++) {
+                    chunkRecords.add(scope.createRecord(chunks.get(index), index));
+                }
+            }
+            return recordFactory.createArray(chunkRecords.toArray());
+        } catch (Exception e) {
+            return handleChunkingErrors(e);
+        }
+    }
 
-            return createTextChunkRecordArray(document, textSegments, textChunkType.getDescribingType());
+    public static Object initMarkdownStreamChunker(BObject chunkStream, int chunkSize, int maxOverlapSize,
+                                                   BString chunkStrategy) {
+        try {
+            MarkdownChunker.MarkdownChunkStrategy strategy = getMarkdownChunkStrategy(chunkStrategy);
+            chunkStream.addNativeData(STREAMING_CHUNKER,
+                    StreamingChunker.forMarkdown(strategy, chunkSize, maxOverlapSize));
+            return null;
         } catch (RuntimeException e) {
             return handleChunkingErrors(e);
         }
     }
 
-    public static Object chunkMarkdownDocument(BMap<BString, Object> document, int chunkSize, int maxOverlapSize,
-                                              BString chunkStrategy, BTypedesc textChunkType) {
+    public static Object initHtmlStreamChunker(BObject chunkStream, int chunkSize, int maxOverlapSize,
+                                               BString chunkStrategy) {
         try {
-            String content = document.getStringValue(StringUtils.fromString(CONTENT_FIELD_NAME)).getValue();
-            MarkdownChunker.MarkdownChunkStrategy strategy = switch (chunkStrategy.getValue()) {
-                case "MARKDOWN_HEADER" -> MarkdownChunker.MarkdownChunkStrategy.BY_HEADER;
-                case "CODE_BLOCK" -> MarkdownChunker.MarkdownChunkStrategy.BY_CODE_BLOCK;
-                case "HORIZONTAL_LINE" -> MarkdownChunker.MarkdownChunkStrategy.BY_HORIZONTAL_LINE;
-                case "PARAGRAPH" -> MarkdownChunker.MarkdownChunkStrategy.BY_PARAGRAPH;
-                case "LINE" -> MarkdownChunker.MarkdownChunkStrategy.BY_LINE;
-                case "SENTENCE" -> MarkdownChunker.MarkdownChunkStrategy.BY_SENTENCE;
-                case "WORD" -> MarkdownChunker.MarkdownChunkStrategy.BY_WORD;
-                case "CHARACTER" -> MarkdownChunker.MarkdownChunkStrategy.BY_CHARACTER;
-                default -> throw new IllegalArgumentException("unknown chunking strategy " + chunkStrategy.getValue());
-            };
-            List<TextSegment> textSegments = MarkdownChunker.chunk(content, strategy, chunkSize, maxOverlapSize);
-            return createTextChunkRecordArray(document, textSegments, textChunkType.getDescribingType());
+            HtmlChunker.HtmlChunkStrategy strategy = getHtmlChunkStrategy(chunkStrategy);
+            chunkStream.addNativeData(STREAMING_CHUNKER, StreamingChunker.forHtml(strategy, chunkSize, maxOverlapSize));
+            return null;
         } catch (RuntimeException e) {
             return handleChunkingErrors(e);
         }
     }
 
-    public static Object chunkHtmlDocument(BMap<BString, Object> document, int chunkSize, int maxOverlapSize,
-            BString chunkStrategy, BTypedesc textChunkType) {
+    public static Object initTextStreamChunker(BObject chunkStream, int chunkSize, int maxOverlapSize,
+                                               BString chunkStrategy) {
         try {
-            String content = document.getStringValue(StringUtils.fromString(CONTENT_FIELD_NAME)).getValue();
-            HtmlChunker.HtmlChunkStrategy strategy = switch (chunkStrategy.getValue()) {
-                case "HTML_HEADER" -> HtmlChunker.HtmlChunkStrategy.HTML_HEADER;
-                case "HTML_PARAGRAPH" -> HtmlChunker.HtmlChunkStrategy.HTML_PARAGRAPH;
-                case "HTML_LINE" -> HtmlChunker.HtmlChunkStrategy.HTML_LINE;
-                case "SENTENCE" -> HtmlChunker.HtmlChunkStrategy.SENTENCE;
-                case "WORD" -> HtmlChunker.HtmlChunkStrategy.WORD;
-                case "CHARACTER" -> HtmlChunker.HtmlChunkStrategy.CHARACTER;
-                default -> throw new IllegalArgumentException("unknown chunking strategy " + chunkStrategy.getValue());
-            };
-            List<TextSegment> textSegments = HtmlChunker.chunk(content, strategy, chunkSize, maxOverlapSize);
-            return createTextChunkRecordArray(document, textSegments, textChunkType.getDescribingType());
+            StreamingChunker chunker = chunkStrategy.getValue().equals("NLP_SENTENCE")
+                    ? new StreamingChunker(content -> chunkSentences(content, chunkSize, maxOverlapSize), chunkSize,
+                            maxOverlapSize)
+                    : StreamingChunker.forText(getTextChunkStrategy(chunkStrategy), chunkSize, maxOverlapSize);
+            chunkStream.addNativeData(STREAMING_CHUNKER, chunker);
+            return null;
         } catch (RuntimeException e) {
             return handleChunkingErrors(e);
         }
     }
 
-    private static DocumentSplitter getDocumentSplitter(BString chunkStrategy, int maxChunkSize, int overlapSize) {
-        return switch (ChunkStrategy.fromString(chunkStrategy.getValue())) {
-            case LINE -> new DocumentByLineSplitter(maxChunkSize, overlapSize);
-            case CHARACTER -> new DocumentByCharacterSplitter(maxChunkSize, overlapSize);
-            case WORD -> new DocumentByWordSplitter(maxChunkSize, overlapSize);
-            case SENTENCE -> new DocumentBySentenceSplitter(maxChunkSize, overlapSize);
-            case PARAGRAPH -> new DocumentByParagraphSplitter(maxChunkSize, overlapSize);
-        };
+    public static Object feedStreamChunker(BObject chunkStream, BArray bytes, BMap<BString, Object> document,
+                                           BTypedesc textChunkType) {
+        try {
+            StreamingChunker chunker = (StreamingChunker) chunkStream.getNativeData(STREAMING_CHUNKER);
+            int firstIndex = chunker.emitted();
+            List<RecursiveChunker.Chunk> chunks = chunker.feed(bytes.getBytes());
+            return new ChunkRecordFactory(textChunkType.getDescribingType()).createRecords(document, chunks,
+                    firstIndex, chunkIdsOf(chunkStream, document));
+        } catch (RuntimeException e) {
+            return handleChunkingErrors(e);
+        }
     }
 
-    private static BArray createTextChunkRecordArray(BMap<BString, Object> document, List<TextSegment> textSegments,
-                                                     Type textChunkType) {
-        Object[] chunkArray = textSegments.stream()
-                .map(textSegment -> createTextChunkRecord(document, textSegment)).toArray();
-        return ValueCreator.createArrayValue(chunkArray, TypeCreator.createArrayType(textChunkType));
-    }
-
-    private static BMap<BString, Object> createTextChunkRecord(BMap<BString, Object> document,
-                                                               TextSegment textSegment) {
-        Map<String, Object> textChunkRecordFields = new HashMap<>();
-        textChunkRecordFields.put(CONTENT_FIELD_NAME, textSegment.text());
-        textChunkRecordFields.put(METADATA_FIELD_NAME, createMetadataRecord(document, textSegment.metadata()));
-        return ValueCreator.createRecordValue(ModuleUtils.getModule(), TEXT_CHUNK_RECORD_TYPE_NAME,
-                textChunkRecordFields);
-    }
-
-    private static BMap<BString, Object> createMetadataRecord(BMap<BString, Object> document, Metadata metadata) {
-        BMap<BString, Object> existingMetadata = document.containsKey(StringUtils.fromString(METADATA_FIELD_NAME))
-                ? (BMap<BString, Object>) document.get(StringUtils.fromString(METADATA_FIELD_NAME))
-                : ValueCreator.createMapValue();
-
-        for (Map.Entry<String, Object> entry : metadata.toMap().entrySet()) {
-            BString key = StringUtils.fromString(entry.getKey());
-            Object value = entry.getValue();
-            if (INTEGER_FIELDS.contains(entry.getKey()) && value instanceof String stringValue) {
-                existingMetadata.put(key, Integer.parseInt(stringValue));
-            } else if (value instanceof String strVal) {
-                existingMetadata.put(key, StringUtils.fromString(strVal));
-            } else if (!(value instanceof UUID)) {
-                existingMetadata.put(key, value);
-            }
+    public static Object finishStreamChunker(BObject chunkStream, BMap<BString, Object> document,
+                                             BTypedesc textChunkType) {
+        try {
+            StreamingChunker chunker = (StreamingChunker) chunkStream.getNativeData(STREAMING_CHUNKER);
+            int firstIndex = chunker.emitted();
+            List<RecursiveChunker.Chunk> chunks = chunker.finish();
+            return new ChunkRecordFactory(textChunkType.getDescribingType()).createRecords(document, chunks,
+                    firstIndex, chunkIdsOf(chunkStream, document));
+        } catch (RuntimeException e) {
+            return handleChunkingErrors(e);
         }
+    }
 
-        return existingMetadata.isEmpty() ? null :
-                ValueCreator.createRecordValue(ModuleUtils.getModule(), META_DATA_RECORD_TYPE_NAME, existingMetadata);
+    public static long contentHash(BString content) {
+        return RecursiveChunker.Chunk.contentHash(content.getValue());
     }
 
-    private static BError handleChunkingErrors(RuntimeException e) {
-        // Since the concept of subSplitter is not exposed at the Ballerina level,
-        // we modify the error message thrown by the underlying Java implementation.
-        String subSplitterErrorRegex = ", and there is no subSplitter defined to split it further\\.";
-        String errorMessage = e.getMessage().replaceAll(subSplitterErrorRegex, "");
-        return ModuleUtils.createError(errorMessage);
+    /**
+     * Returns the ids of the chunks of a stream, which carry the occurrences of chunk contents across blocks.
+     */
+    private static ChunkIds chunkIdsOf(BObject chunkStream, BMap<BString, Object> document) {
+        ChunkIds ids = (ChunkIds) chunkStream.getNativeData(CHUNK_IDS);
+        if (ids == null) {
+            ids = ChunkRecordFactory.chunkIdsOf(document);
+            chunkStream.addNativeData(CHUNK_IDS, ids);
+        }
+        return ids;
+    }
+
+    static List<RecursiveChunker.Chunk> chunkText(String content, BString chunkStrategy, int chunkSize,
+                                                  int maxOverlapSize) {
+        if (chunkStrategy.getValue().equals("NLP_SENTENCE")) {
+            return chunkSentences(content, chunkSize, maxOverlapSize);
+        }
+        TextChunker.TextChunkStrategy strategy = getTextChunkStrategy(chunkStrategy);
+        return TextChunker.split(content, strategy, chunkSize, maxOverlapSize);
+    }
+
+    private static List<RecursiveChunker.Chunk> chunkSentences(String content, int chunkSize, int maxOverlapSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        if (maxOverlapSize > chunkSize) {
+            throw new IllegalArgumentException("Max overlap size must be less than or equal to chunk size");
+        }
+        List<RecursiveChunker.Splitter> splitters = List.of(
+                RecursiveChunker.Splitter.createSentenceDetectorSplitter(),
+                RecursiveChunker.Splitter.createWordSplitter(),
+                RecursiveChunker.Splitter.createCharacterSplitter());
+        return new RecursiveChunker(Set.of()).chunkUsingSplitters(content, splitters, chunkSize, maxOverlapSize);
+    }
+
+    private static List<RecursiveChunker.Chunk> chunkMarkdown(String content, BString chunkStrategy, int chunkSize,
+                                                              int maxOverlapSize) {
+        MarkdownChunker.MarkdownChunkStrategy strategy = getMarkdownChunkStrategy(chunkStrategy);
+        return MarkdownChunker.split(content, strategy, chunkSize, maxOverlapSize);
+    }
+
+    private static List<RecursiveChunker.Chunk> chunkHtml(String content, BString chunkStrategy, int chunkSize,
+                                                          int maxOverlapSize) {
+        HtmlChunker.HtmlChunkStrategy strategy = getHtmlChunkStrategy(chunkStrategy);
+        return HtmlChunker.split(content, strategy, chunkSize, maxOverlapSize);
     }
-}
 
-enum ChunkStrategy {
-    LINE("LINE"),
-    CHARACTER("CHARACTER"),
-    WORD("WORD"),
-    SENTENCE("SENTENCE"),
-    PARAGRAPH("PARAGRAPH");
+    private static MarkdownChunker.MarkdownChunkStrategy getMarkdownChunkStrategy(BString chunkStrategy) {
+        return switch (chunkStrategy.getValue()) {
+            case "MARKDOWN_HEADER" -> MarkdownChunker.MarkdownChunkStrategy.BY_HEADER;
+            case "CODE_BLOCK" -> MarkdownChunker.MarkdownChunkStrategy.BY_CODE_BLOCK;
+            case "HORIZONTAL_LINE" -> MarkdownChunker.MarkdownChunkStrategy.BY_HORIZONTAL_LINE;
+            case "PARAGRAPH" -> MarkdownChunker.MarkdownChunkStrategy.BY_PARAGRAPH;
+            case "LINE" -> MarkdownChunker.MarkdownChunkStrategy.BY_LINE;
+            case "SENTENCE" -> MarkdownChunker.MarkdownChunkStrategy.BY_SENTENCE;
+            case "WORD" -> MarkdownChunker.MarkdownChunkStrategy.BY_WORD;
+            case "CHARACTER" -> MarkdownChunker.MarkdownChunkStrategy.BY_CHARACTER;
+            case "NLP_SENTENCE" -> MarkdownChunker.MarkdownChunkStrategy.BY_NLP_SENTENCE;
+            default -> throw new IllegalArgumentException("unknown chunking strategy " + chunkStrategy.getValue());
+        };
+    }
 
-    private final String value;
+    private static HtmlChunker.HtmlChunkStrategy getHtmlChunkStrategy(BString chunkStrategy) {
+        return switch (chunkStrategy.getValue()) {
+            case "HTML_HEADER" -> HtmlChunker.HtmlChunkStrategy.HTML_HEADER;
+            case "HTML_PARAGRAPH" -> HtmlChunker.HtmlChunkStrategy.HTML_PARAGRAPH;
+            case "HTML_LINE" -> HtmlChunker.HtmlChunkStrategy.HTML_LINE;
+            case "SENTENCE" -> HtmlChunker.HtmlChunkStrategy.SENTENCE;
+            case "WORD" -> HtmlChunker.HtmlChunkStrategy.WORD;
+            case "CHARACTER" -> HtmlChunker.HtmlChunkStrategy.CHARACTER;
+            case "NLP_SENTENCE" -> HtmlChunker.HtmlChunkStrategy.NLP_SENTENCE;
+            default -> throw new IllegalArgumentException("unknown chunking strategy " + chunkStrategy.getValue());
+        };
+    }
+
+    private static TextChunker.TextChunkStrategy getTextChunkStrategy(BString chunkStrategy) {
+        return switch (chunkStrategy.getValue()) {
+            case "LINE" -> TextChunker.TextChunkStrategy.LINE;
+            case "CHARACTER" -> TextChunker.TextChunkStrategy.CHARACTER;
+            case "WORD" -> TextChunker.TextChunkStrategy.WORD;
+            case "SENTENCE" -> TextChunker.TextChunkStrategy.SENTENCE;
+            case "PARAGRAPH" -> TextChunker.TextChunkStrategy.PARAGRAPH;
+            default -> throw new IllegalArgumentException("unknown chunking strategy " + chunkStrategy.getValue());
+        };
+    }
 
-    ChunkStrategy(String value) {
-        this.value = value;
+    @FunctionalInterface
+    private interface ContentChunker {
+        List<RecursiveChunker.Chunk> chunk(String content, BString chunkStrategy, int chunkSize, int maxOverlapSize);
     }
 
-    public static ChunkStrategy fromString(String value) {
-        for (ChunkStrategy status : ChunkStrategy.values()) {
-            if (status.value.equals(value)) {
-                return status;
+    private record ChunkingTask(String content, String documentType, BString chunkStrategy, int chunkSize,
+                                int maxOverlapSize) implements Callable<ChunkingResult> {
+
+        static ChunkingTask from(BMap<BString, Object> document, BMap<BString, Object> chunkerConfig) {
+            return new ChunkingTask(document.getStringValue(StringUtils.fromString(CONTENT_FIELD_NAME)).getValue(),
+                    chunkerConfig.getStringValue(DOCUMENT_TYPE_FIELD).getValue(),
+                    chunkerConfig.getStringValue(STRATEGY_FIELD),
+                    (int) chunkerConfig.getIntValue(MAX_CHUNK_SIZE_FIELD).longValue(),
+                    (int) chunkerConfig.getIntValue(MAX_OVERLAP_SIZE_FIELD).longValue());
+        }
+
+        @Override
+        public ChunkingResult call() {
+            try {
+                List<RecursiveChunker.Chunk> chunks = switch (documentType) {
+                    case "markdown" -> chunkMarkdown(content, chunkStrategy, chunkSize, maxOverlapSize);
+                    case "html" -> chunkHtml(content, chunkStrategy, chunkSize, maxOverlapSize);
+                    default -> chunkText(content, chunkStrategy, chunkSize, maxOverlapSize);
+                };
+                return new ChunkingResult(chunks, null);
+            } catch (RuntimeException e) {
+                return new ChunkingResult(List.of(), e);
             }
         }
-        throw new IllegalArgumentException("unknown chunking strategy " + value);
+    }
+
+    private record ChunkingResult(List<RecursiveChunker.Chunk> chunks, RuntimeException error) {
+    }
+
+    private static BError handleChunkingErrors(Exception e) {
+        return ModuleUtils.createError(e.getMessage());
     }
 }
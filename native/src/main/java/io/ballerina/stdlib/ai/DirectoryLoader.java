@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Loads the files of a directory tree on the native worker pool, returning them in the order they complete.
+ * <p>
+ * At most the given number of files are loaded at a time, and the next file is submitted as soon as a result is
+ * taken, so the results waiting to be read never exceed that number. A file that fails to load produces a result with
+ * the error, leaving it to the caller to skip the file or stop.
+ *
+ * @param <T> the type of a loaded file
+ */
+final class DirectoryLoader<T> implements AutoCloseable {
+
+    private final List<Path> files;
+    private final int maxConcurrency;
+    private final FileLoader<T> loader;
+    private final CompletionService<Result<T>> completionService = NativeWorkers.completionService();
+    // Guarded by this loader, since close() may run on another strand while next() waits for a result
+    private final Set<Future<Result<T>>> pending = new HashSet<>();
+    private int submitted;
+    private boolean closed;
+
+    /**
+     * Loads a single file.
+     *
+     * @param <T> the type of a loaded file
+     */
+    @FunctionalInterface
+    interface FileLoader<T> {
+        T load(Path file) throws Exception;
+    }
+
+    /**
+     * The outcome of loading a file, which holds either the loaded value or the error that prevented loading it.
+     */
+    record Result<T>(Path file, T value, Exception error) {
+    }
+
+    DirectoryLoader(List<Path> files, int maxConcurrency, FileLoader<T> loader) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Maximum concurrency must be greater than 0");
+        }
+        this.files = files;
+        this.maxConcurrency = maxConcurrency;
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the regular files under the given directory, sorted by path, whose paths relative to the directory match
+     * at least one of the include globs and none of the exclude globs. A glob starting with {@code **}{@code /} also
+     * matches files directly in the directory. Subdirectories that cannot be read are skipped.
+     */
+    static List<Path> listFiles(Path directory, List<String> include, List<String> exclude) throws IOException {
+        List<PathMatcher> includeMatchers = compile(directory.getFileSystem(), include);
+        List<PathMatcher> excludeMatchers = compile(directory.getFileSystem(), exclude);
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                Path relativePath = directory.relativize(file);
+                if (attributes.isRegularFile() && matchesAny(includeMatchers, relativePath)
+                        && !matchesAny(excludeMatchers, relativePath)) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (file.equals(directory)) {
+                    throw e;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        files.sort(null);
+        return files;
+    }
+
+    private static List<PathMatcher> compile(FileSystem fileSystem, List<String> globs) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String glob : globs) {
+            matchers.add(fileSystem.getPathMatcher("glob:" + glob));
+            if (glob.startsWith("**/")) {
+                matchers.add(fileSystem.getPathMatcher("glob:" + glob.substring(3)));
+            }
+        }
+        return matchers;
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path path) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the result of the next file to complete, waiting for one if none has, or {@code null} once every file
+     * has been returned or the loader is closed.
+     */
+    Result<T> next() throws InterruptedException {
+        synchronized (this) {
+            submitPending();
+            if (closed || pending.isEmpty()) {
+                return null;
+            }
+        }
+        // Waits without holding the lock, so that the loader can be closed meanwhile
+        Future<Result<T>> future = completionService.take();
+        synchronized (this) {
+            if (closed) {
+                return null;
+            }
+            pending.remove(future);
+            submitPending();
+        }
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void submitPending() {
+        while (!closed && pending.size() < maxConcurrency && submitted < files.size()) {
+            Path file = files.get(submitted++);
+            pending.add(completionService.submit(() -> load(file)));
+        }
+    }
+
+    private Result<T> load(Path file) {
+        try {
+            return new Result<>(file, loader.load(file), null);
+        } catch (Exception e) {
+            return new Result<>(file, null, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        for (Future<Result<T>> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.parser.microsoft.ooxml.OOXMLParser;
+import org.apache.tika.parser.pdf.PDFParser;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The Tika parsers used to read documents, shared by every read.
+ * <p>
+ * Tika parsers keep no state between parses and are safe to use from several threads, so each is created once per
+ * JVM. The {@link Metadata} and {@link ParseContext} of a parse hold the state of that parse, so they are still
+ * created for each document.
+ * <p>
+ * The first parse of a file type loads a large number of classes and, for PDF files, builds the PDFBox font cache,
+ * which can take several seconds. {@link #warmUp()} parses a small generated document of each type, so that this cost
+ * can be paid at module initialization instead of by the first document that is read.
+ */
+public final class DocumentParsers {
+
+    private static final Parser PDF_PARSER = new PDFParser();
+    private static final Parser OOXML_PARSER = new OOXMLParser();
+
+    private DocumentParsers() {
+    }
+
+    static void parsePdf(InputStream inputStream, ContentHandler handler, Metadata metadata)
+            throws IOException, TikaException, SAXException {
+        PDF_PARSER.parse(inputStream, handler, metadata, new ParseContext());
+    }
+
+    static void parseOfficeX(InputStream inputStream, ContentHandler handler, Metadata metadata)
+            throws IOException, TikaException, SAXException {
+        OOXML_PARSER.parse(inputStream, handler, metadata, new ParseContext());
+    }
+
+    /**
+     * Warms up the parsers on a background thread, so that module initialization is not delayed.
+     */
+    @SuppressWarnings("unused")
+    public static void warmUpInBackground() {
+        Thread.ofPlatform().name("ballerina-ai-parser-warm-up").daemon().start(DocumentParsers::warmUp);
+    }
+
+    /**
+     * Parses a small generated PDF, DOCX and PPTX document. Warming up is best effort, so a document that cannot be
+     * generated or parsed is skipped, and is parsed as usual when a document of its type is first read.
+     */
+    static void warmUp() {
+        try {
+            parsePdf(new ByteArrayInputStream(createPdf()), new DefaultHandler(), new Metadata());
+        } catch (IOException | TikaException | SAXException | RuntimeException ignored) {
+            // The first PDF file read pays for the warm-up instead
+        }
+        try {
+            parseOfficeX(new ByteArrayInputStream(createDocx()), new DefaultHandler(), new Metadata());
+            parseOfficeX(new ByteArrayInputStream(createPptx()), new DefaultHandler(), new Metadata());
+        } catch (IOException | TikaException | SAXException | RuntimeException ignored) {
+            // The first DOCX or PPTX file read pays for the warm-up instead
+        }
+    }
+
+    // The text is set in a standard font that is not embedded, so that parsing loads the font cache
+    private static byte[] createPdf() throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                contentStream.newLineAtOffset(72, 720);
+                contentStream.showText("Warm-up");
+                contentStream.endText();
+            }
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static byte[] createDocx() throws IOException {
+        try (XWPFDocument document = new XWPFDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            document.createParagraph().createRun().setText("Warm-up");
+            document.write(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static byte[] createPptx() throws IOException {
+        try (XMLSlideShow slideShow = new XMLSlideShow();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            slideShow.createSlide().createTextBox().setText("Warm-up");
+            slideShow.write(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+}
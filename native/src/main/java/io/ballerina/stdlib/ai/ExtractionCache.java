@@ -0,0 +1,312 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.runtime.api.values.BString;
+import org.apache.tika.exception.TikaException;
+import org.xml.sax.SAXException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of the text and metadata extracted from documents, so that unchanged files are not parsed again.
+ * <p>
+ * Entries are keyed by the absolute path, size and modification time of a file, so looking up a file reads its
+ * attributes but not its content, and a file that changes gets a new entry. Each entry is a file in the cache
+ * directory, written to a temporary file first and then moved into place, so concurrent readers and writers, including
+ * other processes sharing the directory, never see a partial entry. A hit updates the modification time of its entry,
+ * and once the entries take up more than the maximum size, the least recently used ones are deleted.
+ * <p>
+ * The cache is a best-effort optimization: an entry that cannot be read is extracted again, and an entry that cannot
+ * be written is skipped.
+ */
+final class ExtractionCache {
+
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static final String TEMP_FILE_PREFIX = "extraction";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    // Far longer than writing an entry takes, so only files abandoned by writers that stopped are deleted
+    private static final Duration STALE_TEMP_FILE_AGE = Duration.ofHours(1);
+    // Changing the format of the entries changes their keys, so old entries are never read
+    private static final int FORMAT_VERSION = 1;
+
+    private static volatile ExtractionCache instance;
+
+    private final Path directory;
+    private final long maxSizeInBytes;
+    private final AtomicLong sizeInBytes = new AtomicLong();
+
+    ExtractionCache(Path directory, long maxSizeInBytes) throws IOException {
+        if (maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be greater than 0");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSizeInBytes = maxSizeInBytes;
+        deleteStaleTempFiles();
+        for (Entry entry : listEntries()) {
+            sizeInBytes.addAndGet(entry.size());
+        }
+    }
+
+    /**
+     * Enables the cache for every document read by the module, storing entries in the given directory.
+     */
+    @SuppressWarnings("unused")
+    public static Object configure(BString directory, long maxSizeInBytes) {
+        try {
+            instance = new ExtractionCache(Path.of(directory.getValue()), maxSizeInBytes);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return ModuleUtils.createError("Failed to initialize the extraction cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the document extracted from the file at the given path, from the cache if it is enabled.
+     */
+    static TextDataLoader.TextDocumentInfo load(String path, TextDataLoader.TextExtractor extractor)
+            throws IOException, TikaException, SAXException {
+        ExtractionCache cache = instance;
+        return cache == null ? extractor.extract() : cache.getOrExtract(path, extractor);
+    }
+
+    TextDataLoader.TextDocumentInfo getOrExtract(String path, TextDataLoader.TextExtractor extractor)
+            throws IOException, TikaException, SAXException {
+        Path entryPath;
+        try {
+            entryPath = directory.resolve(key(Path.of(path)) + ENTRY_SUFFIX);
+        } catch (IOException e) {
+            // The file cannot be read either, so the extractor reports the error
+            return extractor.extract();
+        }
+        TextDataLoader.TextDocumentInfo cached = read(entryPath);
+        if (cached != null) {
+            return cached;
+        }
+        TextDataLoader.TextDocumentInfo extracted = extractor.extract();
+        write(entryPath, extracted);
+        return extracted;
+    }
+
+    private static String key(Path file) throws IOException {
+        Path absolutePath = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+        String key = FORMAT_VERSION + "\n" + absolutePath + "\n" + attributes.size() + "\n"
+                + attributes.lastModifiedTime().toMillis();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private TextDataLoader.TextDocumentInfo read(Path entryPath) {
+        try (SeekableByteChannel channel = Files.newByteChannel(entryPath);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))) {
+            // No count or length in an entry can exceed its size, so a corrupt one is rejected before allocating
+            long entrySize = channel.size();
+            String mimeType = readNullableString(input, entrySize);
+            String fileName = readNullableString(input, entrySize);
+            int metadataCount = readLength(input, entrySize);
+            Map<String, String> metadata = new HashMap<>(metadataCount * 2);
+            for (int i = 0; i < metadataCount; i++) {
+                metadata.put(readString(input, entrySize), readString(input, entrySize));
+            }
+            String content = readString(input, entrySize);
+            touch(entryPath);
+            return new TextDataLoader.TextDocumentInfo(mimeType, fileName, metadata, content);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // A corrupt entry is replaced by the document extracted again
+            delete(entryPath);
+            return null;
+        }
+    }
+
+    private void write(Path entryPath, TextDataLoader.TextDocumentInfo document) {
+        Path tempPath = null;
+        try {
+            tempPath = Files.createTempFile(directory, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                writeNullableString(output, document.mimeType());
+                writeNullableString(output, document.fileName());
+                output.writeInt(document.metadata().size());
+                for (Map.Entry<String, String> entry : document.metadata().entrySet()) {
+                    writeString(output, entry.getKey());
+                    writeString(output, entry.getValue());
+                }
+                writeString(output, document.content());
+            }
+            long size = Files.size(tempPath);
+            long replacedSize = sizeOf(entryPath);
+            Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (sizeInBytes.addAndGet(size - replacedSize) > maxSizeInBytes) {
+                evict();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (tempPath != null) {
+                delete(tempPath);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the entries fit within the maximum size. The size is recounted
+     * from the directory, so entries written or deleted by other processes are taken into account.
+     */
+    private synchronized void evict() throws IOException {
+        List<Entry> entries = listEntries();
+        long total = 0;
+        for (Entry entry : entries) {
+            total += entry.size();
+        }
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        for (int i = 0; i < entries.size() && total > maxSizeInBytes; i++) {
+            Entry entry = entries.get(i);
+            if (delete(entry.path())) {
+                total -= entry.size();
+            }
+        }
+        sizeInBytes.set(total);
+    }
+
+    private List<Entry> listEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.filter(path -> path.toString().endsWith(ENTRY_SUFFIX)).toList()) {
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime()));
+                } catch (NoSuchFileException e) {
+                    // Deleted by another reader or process since it was listed
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Deletes the temporary files left behind by writers that stopped before moving them into place. Recent ones are
+     * kept, since other processes sharing the directory may still be writing them.
+     */
+    private void deleteStaleTempFiles() throws IOException {
+        long staleBefore = System.currentTimeMillis() - STALE_TEMP_FILE_AGE.toMillis();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.filter(ExtractionCache::isTempFile).toList()) {
+                try {
+                    if (Files.getLastModifiedTime(path).toMillis() < staleBefore) {
+                        delete(path);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Moved into place or deleted since it was listed
+                }
+            }
+        }
+    }
+
+    private static boolean isTempFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(TEMP_FILE_PREFIX) && fileName.endsWith(TEMP_FILE_SUFFIX);
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void touch(Path path) {
+        try {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // The entry is evicted earlier than it would otherwise be
+        }
+    }
+
+    private static boolean delete(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String readNullableString(DataInputStream input, long entrySize) throws IOException {
+        return input.readBoolean() ? readString(input, entrySize) : null;
+    }
+
+    private static String readString(DataInputStream input, long entrySize) throws IOException {
+        byte[] bytes = new byte[readLength(input, entrySize)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(DataInputStream input, long entrySize) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > entrySize) {
+            throw new IOException("Invalid length " + length + " in an entry of " + entrySize + " bytes");
+        }
+        return length;
+    }
+
+    private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            writeString(output, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private record Entry(Path path, long size, FileTime lastUsed) {
+    }
+}
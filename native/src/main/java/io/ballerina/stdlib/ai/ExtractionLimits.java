@@ -0,0 +1,296 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.sax.ContentHandlerDecorator;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits on the size of a document and the time taken to extract its text, so that a malformed or oversized file
+ * cannot hold on to a worker indefinitely.
+ * <p>
+ * The size of the file is checked before it is parsed, and the content handler of the parse stops it once too many
+ * characters are extracted. When a timeout is set, a watchdog interrupts the thread extracting the document once the
+ * timeout elapses. The content handler stops the parse at its next event, and since files are read through
+ * interruptible channels ({@link Files#newInputStream}), a parser blocked reading the file fails as well. A parser
+ * that loops without reading the file or emitting content is not stopped. A document that exceeds a limit fails with
+ * a {@link LimitExceededException}.
+ *
+ * @param maxCharacters the maximum number of characters extracted from a document, or a negative value for no limit
+ * @param maxInputBytes the maximum size of a file in bytes, or a negative value for no limit
+ * @param timeoutMillis the maximum time taken to extract a document in milliseconds, or zero or a negative value
+ *                      for no limit
+ */
+record ExtractionLimits(long maxCharacters, long maxInputBytes, long timeoutMillis) {
+
+    static final ExtractionLimits UNLIMITED = new ExtractionLimits(-1, -1, -1);
+
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ballerina-ai-extraction-watchdog").daemon().factory());
+
+    private static volatile ExtractionLimits current = UNLIMITED;
+
+    /**
+     * Sets the limits applied to every document read by the module.
+     */
+    @SuppressWarnings("unused")
+    public static void configure(long maxCharacters, long maxInputBytes, long timeoutMillis) {
+        current = new ExtractionLimits(maxCharacters, maxInputBytes, timeoutMillis);
+    }
+
+    static ExtractionLimits current() {
+        return current;
+    }
+
+    /**
+     * Extracts the document at the given path within the limits.
+     */
+    TextDataLoader.TextDocumentInfo extract(String path, TextDataLoader.TextExtractor extractor)
+            throws IOException, TikaException, SAXException {
+        checkInputSize(path);
+        try {
+            return timeoutMillis > 0 ? extractWithWatchdog(extractor) : extractor.extract();
+        } catch (IOException | TikaException | SAXException | RuntimeException e) {
+            // A parser may wrap the exception thrown by its content handler
+            LimitExceededException limitExceeded = LimitExceededException.find(e);
+            if (limitExceeded != null) {
+                throw limitExceeded;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that the file at the given path is within the size limit.
+     */
+    void checkInputSize(String path) throws IOException, LimitExceededException {
+        if (maxInputBytes >= 0) {
+            long size = Files.size(Path.of(path));
+            if (size > maxInputBytes) {
+                throw new LimitExceededException(String.format(
+                        "Document size of %d bytes exceeds the limit of %d bytes", size, maxInputBytes));
+            }
+        }
+    }
+
+    /**
+     * Checks that text extracted earlier, such as text found in the extraction cache, is within the character limit.
+     */
+    void checkCharacters(String content) throws LimitExceededException {
+        if (maxCharacters >= 0 && content.length() > maxCharacters) {
+            throw charactersExceeded();
+        }
+    }
+
+    private TextDataLoader.TextDocumentInfo extractWithWatchdog(TextDataLoader.TextExtractor extractor)
+            throws IOException, TikaException, SAXException {
+        Watchdog watchdog = startWatchdog();
+        try {
+            return extractor.extract();
+        } catch (IOException | TikaException | SAXException | RuntimeException e) {
+            if (watchdog.timedOut()) {
+                throw timeoutExceeded();
+            }
+            throw e;
+        } finally {
+            watchdog.close();
+        }
+    }
+
+    /**
+     * Starts a watchdog that interrupts the current thread once the timeout elapses. It never interrupts the thread if
+     * no timeout is set.
+     */
+    Watchdog startWatchdog() {
+        Watchdog watchdog = new Watchdog(Thread.currentThread());
+        watchdog.resume();
+        return watchdog;
+    }
+
+    /**
+     * Returns the error to report for an exception that ended extraction under the given watchdog, which is the
+     * exceeded limit if extraction was stopped by one.
+     */
+    Throwable reported(Throwable e, Watchdog watchdog) {
+        if (watchdog.timedOut()) {
+            return timeoutExceeded();
+        }
+        LimitExceededException limitExceeded = LimitExceededException.find(e);
+        return limitExceeded != null ? limitExceeded : e;
+    }
+
+    private LimitExceededException charactersExceeded() {
+        return new LimitExceededException(
+                String.format("Document text exceeds the limit of %d characters", maxCharacters));
+    }
+
+    private LimitExceededException timeoutExceeded() {
+        return new LimitExceededException(
+                String.format("Document extraction exceeded the timeout of %d milliseconds", timeoutMillis));
+    }
+
+    /**
+     * Returns a content handler that passes events to the given handler, and stops the parse once too many characters
+     * are extracted or the thread is interrupted by the watchdog.
+     */
+    ContentHandler guard(ContentHandler handler) {
+        return new ContentHandlerDecorator(handler) {
+            private long characters;
+
+            @Override
+            public void characters(char[] ch, int start, int length) throws SAXException {
+                count(length);
+                super.characters(ch, start, length);
+            }
+
+            @Override
+            public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+                count(length);
+                super.ignorableWhitespace(ch, start, length);
+            }
+
+            @Override
+            public void startElement(String uri, String localName, String name, Attributes attributes)
+                    throws SAXException {
+                checkInterrupted();
+                super.startElement(uri, localName, name, attributes);
+            }
+
+            private void count(int length) throws SAXException {
+                checkInterrupted();
+                characters += length;
+                if (maxCharacters >= 0 && characters > maxCharacters) {
+                    throw charactersExceeded();
+                }
+            }
+
+            private void checkInterrupted() throws SAXException {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new SAXException("Document extraction was interrupted");
+                }
+            }
+
+            @Override
+            public String toString() {
+                return handler.toString();
+            }
+        };
+    }
+
+    /**
+     * Interrupts the thread extracting a document once it has spent longer than the timeout extracting it. Time spent
+     * while paused, such as while waiting for the extracted text to be consumed, does not count towards the timeout.
+     * <p>
+     * The thread is interrupted under the lock of the watchdog, and the watchdog is closed under the same lock by the
+     * extracting thread, so an interrupt of the watchdog is never left behind once extraction completes.
+     */
+    final class Watchdog implements AutoCloseable {
+
+        private final Thread worker;
+        private long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        private long resumedAt;
+        private ScheduledFuture<?> interrupt;
+        // Identifies the latest scheduled interrupt, so that one cancelled too late by a pause has no effect
+        private int schedule;
+        private boolean timedOut;
+        private boolean closed;
+
+        private Watchdog(Thread worker) {
+            this.worker = worker;
+        }
+
+        synchronized void resume() {
+            if (timeoutMillis <= 0 || closed || timedOut || interrupt != null) {
+                return;
+            }
+            resumedAt = System.nanoTime();
+            int current = ++schedule;
+            interrupt = WATCHDOG.schedule(() -> timeOut(current), Math.max(remainingNanos, 0),
+                    TimeUnit.NANOSECONDS);
+        }
+
+        synchronized void pause() {
+            if (interrupt == null) {
+                return;
+            }
+            interrupt.cancel(false);
+            interrupt = null;
+            remainingNanos -= System.nanoTime() - resumedAt;
+        }
+
+        synchronized boolean timedOut() {
+            return timedOut;
+        }
+
+        private synchronized void timeOut(int scheduled) {
+            if (closed || interrupt == null || scheduled != schedule) {
+                return;
+            }
+            timedOut = true;
+            interrupt = null;
+            worker.interrupt();
+        }
+
+        /**
+         * Stops the watchdog. Must be called by the extracting thread, whose interrupt by the watchdog is cleared so
+         * that it does not affect the next task of the thread.
+         */
+        @Override
+        public synchronized void close() {
+            closed = true;
+            pause();
+            if (timedOut) {
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Thrown when a document exceeds one of the limits.
+     */
+    static final class LimitExceededException extends SAXException {
+
+        LimitExceededException(String message) {
+            super(message);
+        }
+
+        /**
+         * Returns the given exception or the first of its causes that is a {@code LimitExceededException}, if any.
+         */
+        static LimitExceededException find(Throwable e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof LimitExceededException limitExceeded) {
+                    return limitExceeded;
+                }
+            }
+            return null;
+        }
+    }
+}
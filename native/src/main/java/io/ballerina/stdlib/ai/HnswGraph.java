@@ -0,0 +1,377 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * A Hierarchical Navigable Small World graph over the slots of a {@link VectorSegment}, used to find approximate
+ * nearest neighbours without comparing the query with every vector.
+ * <p>
+ * Each slot is linked to its nearest neighbours on the bottom layer and on a random number of the layers above it,
+ * each of which holds exponentially fewer slots. A search descends greedily through the upper layers and then explores
+ * the bottom layer from the closest slot found, keeping the given number of best candidates. Neighbours are chosen
+ * with the heuristic of Malkov and Yashunin, which prefers neighbours in different directions to keep the graph
+ * navigable.
+ * <p>
+ * The graph does not store vectors; they are read from the arrays of the segment passed to each operation. The slots
+ * of deleted entries stay in the graph to be navigated through, and are left out of results by the predicate given to
+ * a search. Insertions must not run concurrently with other operations, but searches of a graph that is no longer
+ * modified may run concurrently.
+ */
+final class HnswGraph {
+
+    private static final long SEED = 42;
+    private static final ThreadLocal<Visited> VISITED = ThreadLocal.withInitial(Visited::new);
+
+    private final SimilarityMetric metric;
+    private final Config config;
+    private final int maxBottomLinks;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(SEED);
+    // The links of a slot on a layer, with their number in the first element
+    private int[][][] links = new int[16][][];
+    private int entryPoint = -1;
+    private int topLayer = -1;
+
+    /**
+     * The parameters of the graph.
+     *
+     * @param m              the number of neighbours linked to a slot on the upper layers, and half the number linked
+     *                       on the bottom layer
+     * @param efConstruction the number of candidates considered when a slot is inserted
+     * @param efSearch       the number of candidates considered by a search
+     */
+    record Config(int m, int efConstruction, int efSearch) {
+
+        Config {
+            if (m < 2) {
+                throw new IllegalArgumentException("HNSW 'm' must be at least 2");
+            }
+            if (efConstruction < 1 || efSearch < 1) {
+                throw new IllegalArgumentException("HNSW 'efConstruction' and 'efSearch' must be greater than 0");
+            }
+        }
+    }
+
+    /**
+     * The vectors of the slots of a segment.
+     */
+    record Vectors(float[] data, float[] norms, int dimension) {
+    }
+
+    HnswGraph(SimilarityMetric metric, Config config) {
+        this.metric = metric;
+        this.config = config;
+        this.maxBottomLinks = 2 * config.m();
+        this.levelMultiplier = 1 / Math.log(config.m());
+    }
+
+    /**
+     * Links a slot that is not yet in the graph to its nearest neighbours.
+     */
+    void insert(int slot, Vectors vectors) {
+        int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+        if (slot >= links.length) {
+            links = Arrays.copyOf(links, Math.max(slot + 1, links.length + (links.length >> 1)));
+        }
+        int[][] slotLinks = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            slotLinks[layer] = new int[maxLinks(layer) + 1];
+        }
+        links[slot] = slotLinks;
+        if (entryPoint == -1) {
+            entryPoint = slot;
+            topLayer = level;
+            return;
+        }
+
+        float[] data = vectors.data();
+        int offset = slot * vectors.dimension();
+        float norm = vectors.norms()[slot];
+        int closest = entryPoint;
+        float closestKey = key(data, offset, norm, closest, vectors);
+        for (int layer = topLayer; layer > level; layer--) {
+            closest = descend(data, offset, norm, closest, closestKey, layer, vectors);
+            closestKey = key(data, offset, norm, closest, vectors);
+        }
+        for (int layer = Math.min(level, topLayer); layer >= 0; layer--) {
+            TopK candidates = searchLayer(data, offset, norm, closest, closestKey,
+                    Math.min(config.efConstruction(), links.length), layer, null, vectors, null);
+            float[] keys = new float[candidates.size()];
+            int[] nearest = candidates.drain(keys);
+            closest = nearest[0];
+            closestKey = keys[0];
+            int[] neighbours = selectNeighbours(slot, nearest, keys, maxLinks(layer), vectors);
+            System.arraycopy(neighbours, 0, slotLinks[layer], 1, neighbours.length);
+            slotLinks[layer][0] = neighbours.length;
+            for (int neighbour : neighbours) {
+                link(neighbour, slot, layer, vectors);
+            }
+        }
+        if (level > topLayer) {
+            entryPoint = slot;
+            topLayer = level;
+        }
+    }
+
+    /**
+     * Returns the slots nearest to the query out of those accepted by the predicate, from the nearest to the farthest,
+     * with their rank keys written to the start of {@code sortedKeys}. Fewer slots than requested may be returned when
+     * the predicate rejects most of the slots explored.
+     */
+    int[] search(float[] query, float queryNorm, int topK, IntPredicate accept, Vectors vectors, float[] sortedKeys) {
+        if (entryPoint == -1) {
+            return new int[0];
+        }
+        int closest = entryPoint;
+        float closestKey = key(query, 0, queryNorm, closest, vectors);
+        for (int layer = topLayer; layer > 0; layer--) {
+            closest = descend(query, 0, queryNorm, closest, closestKey, layer, vectors);
+            closestKey = key(query, 0, queryNorm, closest, vectors);
+        }
+        // No more candidates are kept than there are slots
+        int ef = Math.min(Math.max(config.efSearch(), topK), links.length);
+        TopK accepted = new TopK(ef);
+        searchLayer(query, 0, queryNorm, closest, closestKey, ef, 0, accept, vectors, accepted);
+        float[] keys = new float[accepted.size()];
+        int[] slots = accepted.drain(keys);
+        int count = Math.min(topK, slots.length);
+        System.arraycopy(keys, 0, sortedKeys, 0, count);
+        return Arrays.copyOf(slots, count);
+    }
+
+    private int maxLinks(int layer) {
+        return layer == 0 ? maxBottomLinks : config.m();
+    }
+
+    private float key(float[] query, int offset, float norm, int slot, Vectors vectors) {
+        return metric.rankKey(query, offset, norm, vectors.data(), slot * vectors.dimension(), vectors.norms()[slot],
+                vectors.dimension());
+    }
+
+    /**
+     * Moves greedily to the neighbour closest to the query on the given layer until no neighbour is closer.
+     */
+    private int descend(float[] query, int offset, float norm, int start, float startKey, int layer, Vectors vectors) {
+        int current = start;
+        float currentKey = startKey;
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            int[] neighbours = links[current][layer];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float neighbourKey = key(query, offset, norm, neighbours[i], vectors);
+                if (neighbourKey > currentKey) {
+                    current = neighbours[i];
+                    currentKey = neighbourKey;
+                    moved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Explores a layer from the given slot, keeping the {@code ef} slots closest to the query, which are returned. The
+     * exploration does not depend on the predicate; the slots it accepts are offered to {@code accepted}, if given.
+     */
+    private TopK searchLayer(float[] query, int offset, float norm, int start, float startKey, int ef, int layer,
+                             IntPredicate accept, Vectors vectors, TopK accepted) {
+        Visited visited = VISITED.get();
+        visited.reset(links.length);
+        visited.visit(start);
+        Candidates candidates = new Candidates();
+        candidates.push(start, startKey);
+        TopK nearest = new TopK(ef);
+        nearest.offer(start, startKey);
+        if (accepted != null && (accept == null || accept.test(start))) {
+            accepted.offer(start, startKey);
+        }
+        while (candidates.size() > 0) {
+            if (nearest.isFull() && candidates.peekKey() < nearest.minKey()) {
+                break;
+            }
+            int candidate = candidates.pop();
+            int[] neighbours = links[candidate][layer];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (!visited.visit(neighbour)) {
+                    continue;
+                }
+                float neighbourKey = key(query, offset, norm, neighbour, vectors);
+                if (!nearest.isFull() || neighbourKey > nearest.minKey()) {
+                    candidates.push(neighbour, neighbourKey);
+                    nearest.offer(neighbour, neighbourKey);
+                    if (accepted != null && (accept == null || accept.test(neighbour))) {
+                        accepted.offer(neighbour, neighbourKey);
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Selects up to {@code maxCount} neighbours for a slot out of candidates sorted from the nearest, skipping those
+     * that are closer to an already selected neighbour than to the slot.
+     */
+    private int[] selectNeighbours(int slot, int[] candidates, float[] keys, int maxCount, Vectors vectors) {
+        int[] selected = new int[Math.min(maxCount, candidates.length)];
+        int count = 0;
+        float[] data = vectors.data();
+        int dimension = vectors.dimension();
+        for (int i = 0; i < candidates.length && count < selected.length; i++) {
+            int candidate = candidates[i];
+            if (candidate == slot) {
+                continue;
+            }
+            int candidateOffset = candidate * dimension;
+            float candidateNorm = vectors.norms()[candidate];
+            boolean diverse = true;
+            for (int j = 0; j < count && diverse; j++) {
+                diverse = key(data, candidateOffset, candidateNorm, selected[j], vectors) <= keys[i];
+            }
+            if (diverse) {
+                selected[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Links a neighbour back to a slot, selecting the neighbours of the neighbour again when it has too many.
+     */
+    private void link(int neighbour, int slot, int layer, Vectors vectors) {
+        int[] neighbourLinks = links[neighbour][layer];
+        int count = neighbourLinks[0];
+        if (count < neighbourLinks.length - 1) {
+            neighbourLinks[count + 1] = slot;
+            neighbourLinks[0] = count + 1;
+            return;
+        }
+        float[] data = vectors.data();
+        int offset = neighbour * vectors.dimension();
+        float norm = vectors.norms()[neighbour];
+        TopK candidates = new TopK(count + 1);
+        candidates.offer(slot, key(data, offset, norm, slot, vectors));
+        for (int i = 1; i <= count; i++) {
+            candidates.offer(neighbourLinks[i], key(data, offset, norm, neighbourLinks[i], vectors));
+        }
+        float[] keys = new float[candidates.size()];
+        int[] sorted = candidates.drain(keys);
+        int[] selected = selectNeighbours(neighbour, sorted, keys, count, vectors);
+        System.arraycopy(selected, 0, neighbourLinks, 1, selected.length);
+        neighbourLinks[0] = selected.length;
+    }
+
+    /**
+     * The slots visited by a search, marked with the generation of the search so that the marks need not be cleared.
+     */
+    private static final class Visited {
+
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int size) {
+            if (marks.length < size) {
+                marks = new int[size];
+                generation = 0;
+            }
+            generation++;
+            if (generation == 0) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        boolean visit(int slot) {
+            if (marks[slot] == generation) {
+                return false;
+            }
+            marks[slot] = generation;
+            return true;
+        }
+    }
+
+    /**
+     * A max-heap of the slots waiting to be explored, keyed by their closeness to the query.
+     */
+    private static final class Candidates {
+
+        private int[] slots = new int[64];
+        private float[] keys = new float[64];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        float peekKey() {
+            return keys[0];
+        }
+
+        void push(int slot, float key) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (keys[parent] >= key) {
+                    break;
+                }
+                slots[index] = slots[parent];
+                keys[index] = keys[parent];
+                index = parent;
+            }
+            slots[index] = slot;
+            keys[index] = key;
+        }
+
+        int pop() {
+            int top = slots[0];
+            size--;
+            int slot = slots[size];
+            float key = keys[size];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] > keys[child]) {
+                    child++;
+                }
+                if (keys[child] <= key) {
+                    break;
+                }
+                slots[index] = slots[child];
+                keys[index] = keys[child];
+                index = child;
+            }
+            slots[index] = slot;
+            keys[index] = key;
+            return top;
+        }
+    }
+}
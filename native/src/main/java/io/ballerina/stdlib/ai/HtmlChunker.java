@@ -18,37 +18,35 @@
 
 package io.ballerina.stdlib.ai;
 
-import dev.langchain4j.data.segment.TextSegment;
-
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
-import static java.util.stream.IntStream.range;
-
 public class HtmlChunker {
 
+    private static final int MAX_HEADER_LEVEL = 6;
+    private static final Set<String> TAG_NAMES = Set.of("h1", "h2", "h3", "h4", "h5", "h6", "p");
+
     enum HtmlChunkStrategy {
-        HTML_HEADER, HTML_PARAGRAPH, HTML_LINE, SENTENCE, WORD, CHARACTER;
+        HTML_HEADER, HTML_PARAGRAPH, HTML_LINE, SENTENCE, WORD, CHARACTER, NLP_SENTENCE;
 
         public List<RecursiveChunker.Splitter> getSplitters() {
+            // Shared by the splitters so that the content is tokenized only once
+            HtmlTokenizer tokenizer = new HtmlTokenizer(TAG_NAMES);
             List<RecursiveChunker.Splitter> splitters = new ArrayList<>();
 
             switch (this) {
                 case HTML_HEADER:
-                    splitters.addAll(List.of(
-                            new HtmlHeaderSplitter(1),
-                            new HtmlHeaderSplitter(2),
-                            new HtmlHeaderSplitter(3),
-                            new HtmlHeaderSplitter(4),
-                            new HtmlHeaderSplitter(5),
-                            new HtmlHeaderSplitter(6)));
+                    for (int level = 1; level <= MAX_HEADER_LEVEL; level++) {
+                        splitters.add(new HtmlHeaderSplitter(level, tokenizer));
+                    }
                     // fall through
                 case HTML_PARAGRAPH:
-                    splitters.add(new HtmlParagraphSplitter());
+                    splitters.add(new HtmlParagraphSplitter(tokenizer));
                     // fall through
                 case HTML_LINE:
-                    splitters.add(new RecursiveChunker.SimpleDelimiterSplitter("<br>"));
+                    splitters.add(new LineBreakSplitter(tokenizer));
                     // fall through
                 case SENTENCE:
                     splitters.add(RecursiveChunker.Splitter.createSentenceSplitter());
@@ -58,13 +56,19 @@ public class HtmlChunker {
                     // fall through
                 case CHARACTER:
                     splitters.add(RecursiveChunker.Splitter.createCharacterSplitter());
+                    break;
+                case NLP_SENTENCE:
+                    splitters.add(RecursiveChunker.Splitter.createSentenceDetectorSplitter());
+                    splitters.add(RecursiveChunker.Splitter.createWordSplitter());
+                    splitters.add(RecursiveChunker.Splitter.createCharacterSplitter());
             }
 
             return splitters;
         }
     }
 
-    static List<TextSegment> chunk(String content, HtmlChunkStrategy strategy, int maxChunkSize, int maxOverlapSize) {
+    static List<RecursiveChunker.Chunk> split(String content, HtmlChunkStrategy strategy, int maxChunkSize,
+                                              int maxOverlapSize) {
         if (maxChunkSize <= 0) {
             throw new IllegalArgumentException("Chunk size must be greater than 0");
         }
@@ -72,20 +76,23 @@ public class HtmlChunker {
             throw new IllegalArgumentException("Max overlap size must be less than or equal to chunk size");
         }
         RecursiveChunker chunker = new RecursiveChunker(Set.of());
-        List<RecursiveChunker.Chunk> chunks =
-                chunker.chunkUsingSplitters(content, strategy.getSplitters(), maxChunkSize, maxOverlapSize);
-        return range(0, chunks.size())
-                .mapToObj(i -> chunks.get(i).toTextSegment(i))
-                .toList();
+        return chunker.chunkUsingSplitters(content, strategy.getSplitters(), maxChunkSize, maxOverlapSize);
     }
 
-    static List<TextSegment> chunk(String content, int chunkSize, int maxOverlapSize) {
-        RecursiveChunker chunker = new RecursiveChunker(Set.of());
-        List<RecursiveChunker.Chunk> chunks =
-                chunker.chunkUsingSplitters(content, HtmlChunkStrategy.HTML_HEADER.getSplitters(), chunkSize,
-                        maxOverlapSize);
-        return range(0, chunks.size())
-                .mapToObj(i -> chunks.get(i).toTextSegment(i))
-                .toList();
+    /**
+     * Splits content at line breaks, each line break being a piece of its own.
+     */
+    static class LineBreakSplitter implements RecursiveChunker.Splitter {
+
+        private final HtmlTokenizer tokenizer;
+
+        LineBreakSplitter(HtmlTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        @Override
+        public Iterator<RecursiveChunker.Chunk> split(String content, int start, int end) {
+            return new TokenList.DelimiterIterator(content, tokenizer.tokenize(content).lineBreaks, start, end);
+        }
     }
 }
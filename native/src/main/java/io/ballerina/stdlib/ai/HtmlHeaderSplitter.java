@@ -18,7 +18,7 @@
 
 package io.ballerina.stdlib.ai;
 
-import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * {@code Splitter} to split given string based on HTML headers.
@@ -39,6 +39,8 @@ import java.util.Map;
  */
 class HtmlHeaderSplitter extends AbstractTagSplitter {
 
+    private static final Pattern TAG_PATTERN = Pattern.compile("<[^>]*>");
+
     final String type;
 
     HtmlHeaderSplitter(int level) {
@@ -46,15 +48,20 @@ class HtmlHeaderSplitter extends AbstractTagSplitter {
         this.type = "header" + level;
     }
 
+    HtmlHeaderSplitter(int level, HtmlTokenizer tokenizer) {
+        super("h" + level, tokenizer);
+        this.type = "header" + level;
+    }
+
     @Override
     void onBreakdown(TagSplitterIterator iterator) {
         if (iterator.currentState != SplitterState.PREFIX) {
             return;
         }
-        String tagContent = iterator.tag;
+        String tagContent = iterator.tag();
         // Extract content by removing HTML tags
-        String cleanContent = tagContent.replaceAll("<[^>]*>", "").trim();
-        Map<String, String> attributes = Map.of(type, cleanContent, "header", cleanContent);
+        String cleanContent = TAG_PATTERN.matcher(tagContent).replaceAll("").trim();
+        ChunkMetadata attributes = ChunkMetadata.of(type, cleanContent).with("header", cleanContent);
 
         iterator.suffixAttributes = attributes;
         iterator.tagAttributes = attributes;
@@ -23,4 +23,8 @@ public class HtmlParagraphSplitter extends AbstractTagSplitter {
     HtmlParagraphSplitter() {
         super("p");
     }
+
+    HtmlParagraphSplitter(HtmlTokenizer tokenizer) {
+        super("p", tokenizer);
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the tags of an HTML document in a single linear pass, in the manner of a SAX parser.
+ * <p>
+ * The opening and closing tags of each tracked element, along with line breaks, are recorded as they are
+ * encountered. The splitters of an HTML chunking strategy share one tokenizer, so the content is scanned once for
+ * all header levels and paragraphs, and each splitter looks up the tags within the range being split.
+ * <p>
+ * Tag names are matched case-insensitively. An opening tag may have attributes ({@code <p class="x">}), a closing
+ * tag may not ({@code </p>}), and a line break may be written as {@code <br>}, {@code <br/>} or {@code <br />}.
+ */
+class HtmlTokenizer {
+
+    private static final String LINE_BREAK_TAG = "br";
+
+    private final Set<String> tagNames;
+    private String content;
+    private Tags tags;
+
+    HtmlTokenizer(Set<String> tagNames) {
+        this.tagNames = tagNames;
+    }
+
+    /**
+     * Returns the tags of the given content, reusing the tags of the previous call for the same content.
+     */
+    Tags tokenize(String content) {
+        if (this.content != content) {
+            this.tags = scan(content);
+            this.content = content;
+        }
+        return tags;
+    }
+
+    private Tags scan(String content) {
+        Tags tags = new Tags(tagNames);
+        int length = content.length();
+        // Position of the closest '>' that is not before the current tag, so that it is searched for only once
+        int nextTagEnd = -1;
+        for (int i = content.indexOf('<'); i >= 0; i = content.indexOf('<', i + 1)) {
+            boolean closing = i + 1 < length && content.charAt(i + 1) == '/';
+            int nameStart = closing ? i + 2 : i + 1;
+            int nameEnd = nameStart;
+            while (nameEnd < length && isNameCharacter(content.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd == nameStart || nameEnd == length) {
+                continue;
+            }
+            String name = content.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT);
+            boolean lineBreak = !closing && name.equals(LINE_BREAK_TAG);
+            if (!lineBreak && !tagNames.contains(name)) {
+                continue;
+            }
+
+            char next = content.charAt(nameEnd);
+            if (closing) {
+                if (next == '>') {
+                    tags.closingTags.get(name).add(i, nameEnd + 1, nameStart, nameEnd);
+                }
+                continue;
+            }
+            int tagEnd;
+            if (next == '>') {
+                tagEnd = nameEnd + 1;
+            } else if (isWhitespace(next) || (lineBreak && next == '/')) {
+                if (nextTagEnd < nameEnd) {
+                    nextTagEnd = content.indexOf('>', nameEnd);
+                    if (nextTagEnd < 0) {
+                        // No tag can be completed in the rest of the content
+                        break;
+                    }
+                }
+                tagEnd = nextTagEnd + 1;
+            } else {
+                continue;
+            }
+            if (lineBreak) {
+                tags.lineBreaks.add(i, tagEnd, i, tagEnd);
+            } else {
+                tags.openingTags.get(name).add(i, tagEnd, nameStart, nameEnd);
+            }
+        }
+        return tags;
+    }
+
+    private static boolean isNameCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * The tags of an HTML document, grouped by element name.
+     */
+    static class Tags {
+
+        private final Map<String, TokenList> openingTags = new HashMap<>();
+        private final Map<String, TokenList> closingTags = new HashMap<>();
+        final TokenList lineBreaks = new TokenList();
+
+        Tags(Set<String> tagNames) {
+            for (String tagName : tagNames) {
+                openingTags.put(tagName, new TokenList());
+                closingTags.put(tagName, new TokenList());
+            }
+        }
+
+        TokenList openingTags(String tagName) {
+            return openingTags.get(tagName);
+        }
+
+        TokenList closingTags(String tagName) {
+            return closingTags.get(tagName);
+        }
+    }
+}
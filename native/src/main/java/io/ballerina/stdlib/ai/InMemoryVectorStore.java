@@ -0,0 +1,255 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.ai.ModuleUtils.createError;
+
+/**
+ * Native implementation of the {@code ai:InMemoryVectorStore}, which keeps its entries in a {@link VectorIndex}
+ * attached to the Ballerina object.
+ */
+public final class InMemoryVectorStore {
+
+    private static final String VECTOR_INDEX = "vectorIndex";
+    private static final BString ID_FIELD = StringUtils.fromString("id");
+    private static final BString EMBEDDING_FIELD = StringUtils.fromString("embedding");
+    private static final BString CHUNK_FIELD = StringUtils.fromString("chunk");
+    private static final BString METADATA_FIELD = StringUtils.fromString("metadata");
+    private static final BString SIMILARITY_SCORE_FIELD = StringUtils.fromString("similarityScore");
+    private static final BString FILTERS_FIELD = StringUtils.fromString("filters");
+    private static final BString CONDITION_FIELD = StringUtils.fromString("condition");
+    private static final BString KEY_FIELD = StringUtils.fromString("key");
+    private static final BString OPERATOR_FIELD = StringUtils.fromString("operator");
+    private static final BString VALUE_FIELD = StringUtils.fromString("value");
+    private static final BString M_FIELD = StringUtils.fromString("m");
+    private static final BString EF_CONSTRUCTION_FIELD = StringUtils.fromString("efConstruction");
+    private static final BString EF_SEARCH_FIELD = StringUtils.fromString("efSearch");
+    private static final BString TYPE_FIELD = StringUtils.fromString("type");
+    private static final BString RERANK_FACTOR_FIELD = StringUtils.fromString("rerankFactor");
+    private static final String AND_CONDITION = "and";
+
+    private InMemoryVectorStore() {
+    }
+
+    /**
+     * A stored {@code ai:VectorEntry}. Its embedding is kept only by the index, from whose vector the embedding of a
+     * match is created.
+     */
+    record StoredEntry(BString id, Object chunk) {
+    }
+
+    @SuppressWarnings("unused")
+    public static Object initVectorIndex(BObject store, BString similarityMetric, Object hnswConfig,
+                                         Object quantization) {
+        try {
+            HnswGraph.Config graphConfig = hnswConfig == null ? null : toGraphConfig((BMap<?, ?>) hnswConfig);
+            QuantizedVectors.Config quantizationConfig =
+                    quantization == null ? null : toQuantizationConfig((BMap<?, ?>) quantization);
+            store.addNativeData(VECTOR_INDEX, new VectorIndex<StoredEntry>(
+                    SimilarityMetric.valueOf(similarityMetric.getValue()), graphConfig, quantizationConfig));
+            return null;
+        } catch (IllegalArgumentException e) {
+            return createError("Invalid vector store configuration: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds read-only {@code ai:VectorEntry} values that have ids and dense embeddings.
+     */
+    @SuppressWarnings("unused")
+    public static Object addToVectorIndex(BObject store, BArray entries) {
+        try {
+            VectorIndex<StoredEntry> index = getIndex(store);
+            List<VectorIndex.Entry<StoredEntry>> indexEntries = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                @SuppressWarnings("unchecked")
+                BMap<BString, Object> entry = (BMap<BString, Object>) entries.get(i);
+                BString id = entry.getStringValue(ID_FIELD);
+                StoredEntry storedEntry = new StoredEntry(id, entry.get(CHUNK_FIELD));
+                indexEntries.add(new VectorIndex.Entry<>(id.getValue(),
+                        toFloatArray((BArray) entry.get(EMBEDDING_FIELD)), storedEntry, metadataOf(entry)));
+            }
+            index.addAll(indexEntries);
+            return null;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return createError(e.getMessage());
+        } catch (RuntimeException e) {
+            return createError("Unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the {@code ai:VectorMatch} values of the entries nearest to the embedding, or of the first entries if
+     * there is no embedding, out of those whose chunk metadata matches the filters.
+     */
+    @SuppressWarnings("unused")
+    public static Object queryVectorIndex(BObject store, Object embedding, Object filters, long topK,
+                                          BTypedesc matchType) {
+        try {
+            // The filters are converted once, and evaluated against the metadata index of each segment
+            MetadataFilter filter = filters == null ? null : toFilter((BMap<?, ?>) filters);
+            VectorIndex<StoredEntry> index = getIndex(store);
+            int limit = (int) Math.min(topK, Integer.MAX_VALUE);
+            List<VectorIndex.Match<StoredEntry>> matches = embedding == null ? index.entries(limit, filter)
+                    : index.search(toFloatArray((BArray) embedding), limit, filter);
+            return createMatches(matches, matchType.getDescribingType());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return createError("Failed to query vector store", createError(e.getMessage()));
+        } catch (RuntimeException e) {
+            return createError("Failed to query vector store", createError("Unexpected error: " + e.getMessage()));
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static Object deleteFromVectorIndex(BObject store, BString id) {
+        if (!getIndex(store).remove(id.getValue())) {
+            return createError("Vector entry with reference id '" + id.getValue() + "' not found");
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VectorIndex<StoredEntry> getIndex(BObject store) {
+        return (VectorIndex<StoredEntry>) store.getNativeData(VECTOR_INDEX);
+    }
+
+    private static BArray createMatches(List<VectorIndex.Match<StoredEntry>> matches, Type matchType) {
+        Type impliedType = TypeUtils.getImpliedType(matchType);
+        Module module = impliedType.getPackage();
+        String typeName = impliedType.getName();
+        Object[] records = new Object[matches.size()];
+        for (int i = 0; i < records.length; i++) {
+            VectorIndex.Match<StoredEntry> match = matches.get(i);
+            StoredEntry entry = match.value();
+            BMap<BString, Object> record = ValueCreator.createRecordValue(module, typeName);
+            record.put(ID_FIELD, entry.id());
+            record.put(EMBEDDING_FIELD, toBallerinaArray(match.vector()));
+            record.put(CHUNK_FIELD, entry.chunk());
+            record.put(SIMILARITY_SCORE_FIELD, match.score());
+            records[i] = record;
+        }
+        return ValueCreator.createArrayValue(records, TypeCreator.createArrayType(matchType));
+    }
+
+    private static HnswGraph.Config toGraphConfig(BMap<?, ?> config) {
+        return new HnswGraph.Config(toInt(config.get(M_FIELD)), toInt(config.get(EF_CONSTRUCTION_FIELD)),
+                toInt(config.get(EF_SEARCH_FIELD)));
+    }
+
+    private static QuantizedVectors.Config toQuantizationConfig(BMap<?, ?> config) {
+        return new QuantizedVectors.Config(QuantizedVectors.Encoding.valueOf(config.get(TYPE_FIELD).toString()),
+                toInt(config.get(RERANK_FACTOR_FIELD)));
+    }
+
+    private static int toInt(Object value) {
+        long number = (Long) value;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(number, Integer.MAX_VALUE));
+    }
+
+    private static MetadataFilter toFilter(BMap<?, ?> node) {
+        if (node.containsKey(FILTERS_FIELD)) {
+            BArray children = (BArray) node.get(FILTERS_FIELD);
+            List<MetadataFilter> filters = new ArrayList<>(children.size());
+            for (int i = 0; i < children.size(); i++) {
+                filters.add(toFilter((BMap<?, ?>) children.get(i)));
+            }
+            return new MetadataFilter.Group(AND_CONDITION.equals(node.get(CONDITION_FIELD).toString()), filters);
+        }
+        return new MetadataFilter.Comparison(node.get(KEY_FIELD).toString(),
+                MetadataFilter.Operator.of(node.get(OPERATOR_FIELD).toString()), toJavaValue(node.get(VALUE_FIELD)));
+    }
+
+    private static Map<String, Object> metadataOf(BMap<BString, Object> entry) {
+        BMap<?, ?> chunk = (BMap<?, ?>) entry.get(CHUNK_FIELD);
+        Object metadata = chunk.get(METADATA_FIELD);
+        return metadata == null ? null : toJavaMap((BMap<?, ?>) metadata);
+    }
+
+    private static Map<String, Object> toJavaMap(BMap<?, ?> map) {
+        Map<String, Object> values = new HashMap<>();
+        for (Object key : map.getKeys()) {
+            values.put(key.toString(), toJavaValue(map.get(key)));
+        }
+        return values;
+    }
+
+    /**
+     * Converts a Ballerina value to the Java value that {@link MetadataFilter} compares.
+     */
+    private static Object toJavaValue(Object value) {
+        if (value instanceof BString string) {
+            return string.getValue();
+        }
+        if (value instanceof Integer number) {
+            return number.longValue();
+        }
+        if (value instanceof Double number) {
+            // -0.0 == 0.0 in Ballerina
+            return number == 0 ? 0.0 : number;
+        }
+        if (value instanceof BDecimal decimal) {
+            return decimal.decimalValue().stripTrailingZeros();
+        }
+        if (value instanceof BArray array) {
+            List<Object> values = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                values.add(toJavaValue(array.get(i)));
+            }
+            return values;
+        }
+        if (value instanceof BMap<?, ?> map) {
+            return toJavaMap(map);
+        }
+        return value;
+    }
+
+    private static float[] toFloatArray(BArray vector) {
+        float[] floats = new float[vector.size()];
+        for (int i = 0; i < floats.length; i++) {
+            floats[i] = (float) vector.getFloat(i);
+        }
+        return floats;
+    }
+
+    private static BArray toBallerinaArray(float[] vector) {
+        double[] doubles = new double[vector.length];
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = vector[i];
+        }
+        return ValueCreator.createArrayValue(doubles);
+    }
+}
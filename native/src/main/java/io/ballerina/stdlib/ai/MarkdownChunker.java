@@ -18,59 +18,60 @@
 
 package io.ballerina.stdlib.ai;
 
-import dev.langchain4j.data.segment.TextSegment;
-
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
 class MarkdownChunker {
 
     private static final Set<String> NON_MERGEABLE_TYPES = Set.of("code_block");
+    private static final RecursiveChunker.Splitter PARAGRAPH_SPLITTER =
+            new RecursiveChunker.SimpleDelimiterSplitter("\n\n");
+    private static final RecursiveChunker.Splitter LINE_SPLITTER = new RecursiveChunker.SimpleDelimiterSplitter("\n");
 
     enum MarkdownChunkStrategy {
-        BY_HEADER, BY_CODE_BLOCK, BY_HORIZONTAL_LINE, BY_PARAGRAPH, BY_LINE, BY_SENTENCE, BY_WORD, BY_CHARACTER;
+        BY_HEADER, BY_CODE_BLOCK, BY_HORIZONTAL_LINE, BY_PARAGRAPH, BY_LINE, BY_SENTENCE, BY_WORD, BY_CHARACTER,
+        BY_NLP_SENTENCE;
 
         public List<RecursiveChunker.Splitter> getSplitters() {
+            // Shared by the splitters so that the content is tokenized only once
+            MarkdownTokenizer tokenizer = new MarkdownTokenizer();
             List<RecursiveChunker.Splitter> splitters = new ArrayList<>();
 
             switch (this) {
                 case BY_HEADER:
-                    splitters.addAll(List.of(
-                            new HeaderSplitter(2),
-                            new HeaderSplitter(3),
-                            new HeaderSplitter(4),
-                            new HeaderSplitter(5),
-                            new HeaderSplitter(6)));
+                    for (int level = 2; level <= MarkdownTokenizer.MAX_HEADER_LEVEL; level++) {
+                        splitters.add(new HeaderSplitter(tokenizer, level));
+                    }
                 case BY_CODE_BLOCK:
-                    splitters.add(new CodeBlockSplitter());
+                    splitters.add(new CodeBlockSplitter(tokenizer));
                 case BY_HORIZONTAL_LINE:
-                    splitters.addAll(List.of(
-                            new RecursiveChunker.SimpleDelimiterSplitter("\n\\*\\*\\*+\n"),
-                            new RecursiveChunker.SimpleDelimiterSplitter("\\n---+\\n"),
-                            new RecursiveChunker.SimpleDelimiterSplitter("\n___+\n")));
+                    splitters.add(new ThematicBreakSplitter(tokenizer));
                 case BY_PARAGRAPH:
-                    splitters.add(new RecursiveChunker.SimpleDelimiterSplitter("\n\n"));
+                    splitters.add(PARAGRAPH_SPLITTER);
                 case BY_LINE:
-                    splitters.add(new RecursiveChunker.SimpleDelimiterSplitter("\n"));
+                    splitters.add(LINE_SPLITTER);
                 case BY_SENTENCE:
                     splitters.add(RecursiveChunker.Splitter.createSentenceSplitter());
                 case BY_WORD:
                     splitters.add(RecursiveChunker.Splitter.createWordSplitter());
                 case BY_CHARACTER:
                     splitters.add(RecursiveChunker.Splitter.createCharacterSplitter());
+                    break;
+                case BY_NLP_SENTENCE:
+                    splitters.add(RecursiveChunker.Splitter.createSentenceDetectorSplitter());
+                    splitters.add(RecursiveChunker.Splitter.createWordSplitter());
+                    splitters.add(RecursiveChunker.Splitter.createCharacterSplitter());
             }
 
             return splitters;
         }
     }
 
-    static List<TextSegment> chunk(String content, MarkdownChunkStrategy strategy, int maxChunkSize, int maxOverlapSize) {
+    static List<RecursiveChunker.Chunk> split(String content, MarkdownChunkStrategy strategy, int maxChunkSize,
+                                              int maxOverlapSize) {
         if (maxChunkSize <= 0) {
             throw new IllegalArgumentException("Chunk size must be greater than 0");
         }
@@ -78,194 +79,105 @@ class MarkdownChunker {
             throw new IllegalArgumentException("Max overlap size must be less than or equal to chunk size");
         }
         RecursiveChunker chunker = new RecursiveChunker(NON_MERGEABLE_TYPES);
-        List<RecursiveChunker.Chunk> chunks =
-                chunker.chunkUsingSplitters(content, strategy.getSplitters(), maxChunkSize, maxOverlapSize);
-        return IntStream.range(0, chunks.size()).mapToObj(i -> chunks.get(i).toTextSegment(i)).toList();
-    }
-
-    static List<TextSegment> chunk(String content, int chunkSize, int maxOverlapSize) {
-        RecursiveChunker chunker = new RecursiveChunker(NON_MERGEABLE_TYPES);
-        List<RecursiveChunker.Chunk> chunks =
-                chunker.chunkUsingSplitters(content, MarkdownChunkStrategy.BY_HEADER.getSplitters(), chunkSize,
-                        maxOverlapSize);
-        return IntStream.range(0, chunks.size()).mapToObj(i -> chunks.get(i).toTextSegment(i)).toList();
+        return chunker.chunkUsingSplitters(content, strategy.getSplitters(), maxChunkSize, maxOverlapSize);
     }
 
+    /**
+     * Splits content at the headers of the given level, each header being a piece of its own. Every piece is
+     * annotated with the closest header that precedes it.
+     */
     static class HeaderSplitter implements RecursiveChunker.Splitter {
 
-        private final Pattern headerPattern;
+        private final MarkdownTokenizer tokenizer;
+        private final int level;
 
-        HeaderSplitter(int level) {
-            this.headerPattern = Pattern.compile(String.format("\n#{%d} (.*)\n", level));
+        HeaderSplitter(MarkdownTokenizer tokenizer, int level) {
+            this.tokenizer = tokenizer;
+            this.level = level;
         }
 
         @Override
-        public Iterator<RecursiveChunker.Chunk> split(String content) {
-            return new Iterator<>() {
-                private final Matcher matcher = headerPattern.matcher(content);
-                private int lastIndex = 0;
-                private String nextPiece = null;
-                private Map<String, String> nextPieceMetadata = Map.of();
-                private boolean hasNextPiece = false;
-                private boolean finished = false;
-                private String lastHeader = null;
-
-                private void prepareNext() {
-                    if (finished) {
-                        return;
-                    }
-                    matcher.region(lastIndex, content.length());
-                    if (matcher.find()) {
-                        int delimiterStart = matcher.start();
-                        int delimiterEnd = matcher.end();
-                        if (delimiterStart > lastIndex) {
-                            // Next piece is the content before the delimiter
-                            nextPiece = content.substring(lastIndex, delimiterStart);
-                            lastIndex = delimiterStart;
-                            hasNextPiece = true;
-                            if (lastHeader != null) {
-                                nextPieceMetadata = Map.of("header", lastHeader);
-                            } else {
-                                nextPieceMetadata = Map.of();
-                            }
-                            return;
-                        }
-                        // Next piece is the delimiter itself
-                        nextPiece = content.substring(delimiterStart, delimiterEnd);
-                        lastHeader = matcher.group(1);
-                        nextPieceMetadata = Map.of("header", lastHeader);
-                        lastIndex = delimiterEnd;
-                        hasNextPiece = true;
-                        return;
-                    }
-                    if (lastIndex < content.length()) {
-                        nextPiece = content.substring(lastIndex);
-                        lastIndex = content.length();
-                        hasNextPiece = true;
-                        if (lastHeader != null) {
-                            nextPieceMetadata = Map.of("header", lastHeader);
-                        } else {
-                            nextPieceMetadata = Map.of();
-                        }
-                    } else {
-                        hasNextPiece = false;
-                    }
-                    finished = true;
-                }
+        public Iterator<RecursiveChunker.Chunk> split(String content, int start, int end) {
+            return new TokenList.DelimiterIterator(content, tokenizer.tokenize(content).headers[level], start, end) {
+                private ChunkMetadata headerMetadata = ChunkMetadata.EMPTY;
 
                 @Override
-                public boolean hasNext() {
-                    if (!hasNextPiece && !finished) {
-                        prepareNext();
-                    }
-                    return hasNextPiece;
+                ChunkMetadata pieceMetadata() {
+                    return headerMetadata;
                 }
 
                 @Override
-                public RecursiveChunker.Chunk next() {
-                    if (!hasNext()) {
-                        throw new java.util.NoSuchElementException();
-                    }
-                    hasNextPiece = false;
-                    return new RecursiveChunker.Chunk(nextPiece, nextPieceMetadata);
+                ChunkMetadata delimiterMetadata(int token) {
+                    headerMetadata = ChunkMetadata.of("header", delimiters.text(content, token));
+                    return headerMetadata;
                 }
             };
         }
     }
 
-    static class CodeBlockSplitter implements RecursiveChunker.Splitter {
-
-        private final Pattern codeBlockStartPattern = Pattern.compile("```(\\w+)?\\n");
-        private final Pattern codeBlockEndPattern = Pattern.compile("```\\n");
+    /**
+     * Splits content at thematic breaks, each break being a piece of its own.
+     */
+    static class ThematicBreakSplitter implements RecursiveChunker.Splitter {
 
-        @Override
-        public Iterator<RecursiveChunker.Chunk> split(String content) {
-            return new Iterator<>() {
-                private final Matcher startMatcher = codeBlockStartPattern.matcher(content);
-                private final Matcher endMatcher = codeBlockEndPattern.matcher(content);
-                private int lastIndex = 0;
-                private String nextPiece = null;
-                private Map<String, String> nextPieceMetadata = Map.of();
-                private boolean hasNextPiece = false;
-                private boolean finished = false;
+        private final MarkdownTokenizer tokenizer;
 
-                private void prepareNext() {
-                    if (finished) {
-                        return;
-                    }
+        ThematicBreakSplitter(MarkdownTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
 
-                    // Find the next code block start
-                    startMatcher.region(lastIndex, content.length());
-                    if (startMatcher.find()) {
-                        int startIndex = startMatcher.start();
-                        int startEndIndex = startMatcher.end();
+        @Override
+        public Iterator<RecursiveChunker.Chunk> split(String content, int start, int end) {
+            return new TokenList.DelimiterIterator(content, tokenizer.tokenize(content).thematicBreaks, start, end);
+        }
+    }
 
-                        // If there's content before the code block, return it first
-                        if (startIndex > lastIndex) {
-                            nextPiece = content.substring(lastIndex, startIndex);
-                            nextPieceMetadata = Map.of();
-                            lastIndex = startIndex;
-                            hasNextPiece = true;
-                            return;
-                        }
+    /**
+     * Splits content at fenced code blocks, each code block being a piece of its own annotated with its language.
+     * A code block that is not closed extends to the end of the content.
+     */
+    static class CodeBlockSplitter implements RecursiveChunker.Splitter {
 
-                        // Extract the language from the code block start
-                        String language = startMatcher.group(1);
-                        if (language == null) {
-                            language = "unknown";
-                        }
+        private static final ChunkMetadata CODE_BLOCK_METADATA = ChunkMetadata.of("type", "code_block");
 
-                        // Find the end of this code block
-                        endMatcher.region(startEndIndex, content.length());
-                        if (endMatcher.find()) {
-                            int endEndIndex = endMatcher.end();
+        private final MarkdownTokenizer tokenizer;
 
-                            // Extract the entire code block (including the start and end markers)
-                            nextPiece = content.substring(startIndex, endEndIndex);
-                            nextPieceMetadata = Map.of("language", language, "type", "code_block");
-                            lastIndex = endEndIndex;
-                            hasNextPiece = true;
-                        } else {
-                            // No end found, treat the rest as a code block
-                            nextPiece = content.substring(startIndex);
-                            nextPieceMetadata = Map.of("language", language, "type", "code_block");
-                            lastIndex = content.length();
-                            hasNextPiece = true;
-                            finished = true;
-                        }
-                        return;
-                    }
+        CodeBlockSplitter(MarkdownTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
 
-                    // No more code blocks, return remaining content
-                    if (lastIndex < content.length()) {
-                        nextPiece = content.substring(lastIndex);
-                        nextPieceMetadata = Map.of();
-                        lastIndex = content.length();
-                        hasNextPiece = true;
-                    } else {
-                        hasNextPiece = false;
-                    }
-                    finished = true;
-                }
+        @Override
+        public Iterator<RecursiveChunker.Chunk> split(String content, int start, int end) {
+            MarkdownTokenizer.Tokens tokens = tokenizer.tokenize(content);
+            return new Iterator<>() {
+                private int lastIndex = start;
 
                 @Override
                 public boolean hasNext() {
-                    if (!hasNextPiece && !finished) {
-                        prepareNext();
-                    }
-                    return hasNextPiece;
+                    return lastIndex < end;
                 }
 
                 @Override
                 public RecursiveChunker.Chunk next() {
                     if (!hasNext()) {
-                        throw new java.util.NoSuchElementException();
+                        throw new NoSuchElementException();
+                    }
+                    int pieceStart = lastIndex;
+                    int blockStart = tokens.codeBlockStarts.find(lastIndex, end);
+                    if (blockStart < 0 || tokens.codeBlockStarts.start(blockStart) > lastIndex) {
+                        // Content before the next code block, or after the last one
+                        lastIndex = blockStart < 0 ? end : tokens.codeBlockStarts.start(blockStart);
+                        return new RecursiveChunker.Chunk(content, pieceStart, lastIndex, ChunkMetadata.EMPTY);
                     }
-                    hasNextPiece = false;
-                    return new RecursiveChunker.Chunk(nextPiece, nextPieceMetadata);
+
+                    String language = tokens.codeBlockStarts.hasText(blockStart)
+                            ? tokens.codeBlockStarts.text(content, blockStart) : "unknown";
+                    int blockEnd = tokens.codeBlockEnds.find(tokens.codeBlockStarts.end(blockStart), end);
+                    lastIndex = blockEnd < 0 ? end : tokens.codeBlockEnds.end(blockEnd);
+                    return new RecursiveChunker.Chunk(content, pieceStart, lastIndex,
+                            CODE_BLOCK_METADATA.with("language", language));
                 }
             };
         }
     }
-
 }
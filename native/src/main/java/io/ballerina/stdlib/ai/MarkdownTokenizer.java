@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+/**
+ * Finds the headers, fenced code blocks and thematic breaks of a markdown document in a single linear pass.
+ * <p>
+ * The splitters of a markdown chunking strategy share one tokenizer, so the content is scanned once no matter how
+ * many header levels are tried or how deep the recursion goes. Each splitter then looks up the tokens within the
+ * range being split instead of matching the content again.
+ * <p>
+ * Tokens are recognized exactly as the splitters used to match them:
+ * <ul>
+ *     <li>header of level N: {@code \n#{N} (.*)\n}</li>
+ *     <li>code block start: {@code ```(\w+)?\n}</li>
+ *     <li>code block end: {@code ```\n}</li>
+ *     <li>thematic break: {@code \n***+\n}, {@code \n---+\n} or {@code \n___+\n}</li>
+ * </ul>
+ */
+class MarkdownTokenizer {
+
+    static final int MAX_HEADER_LEVEL = 6;
+    private static final int MIN_THEMATIC_BREAK_LENGTH = 3;
+
+    private String content;
+    private Tokens tokens;
+
+    /**
+     * Returns the tokens of the given content, reusing the tokens of the previous call for the same content.
+     */
+    Tokens tokenize(String content) {
+        if (this.content != content) {
+            this.tokens = scan(content);
+            this.content = content;
+        }
+        return tokens;
+    }
+
+    private static Tokens scan(String content) {
+        Tokens tokens = new Tokens();
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (c == '\n') {
+                scanHeader(content, i, tokens);
+                scanThematicBreak(content, i, tokens);
+            } else if (c == '`' && content.startsWith("```", i)) {
+                scanCodeFence(content, i, tokens);
+            }
+        }
+        return tokens;
+    }
+
+    private static void scanHeader(String content, int start, Tokens tokens) {
+        int length = content.length();
+        int hashEnd = start + 1;
+        while (hashEnd < length && content.charAt(hashEnd) == '#') {
+            hashEnd++;
+        }
+        int level = hashEnd - start - 1;
+        if (level == 0 || level > MAX_HEADER_LEVEL || hashEnd >= length || content.charAt(hashEnd) != ' ') {
+            return;
+        }
+        int textStart = hashEnd + 1;
+        int lineEnd = textStart;
+        while (lineEnd < length && !isLineTerminator(content.charAt(lineEnd))) {
+            lineEnd++;
+        }
+        // Only a line feed may terminate the header, as any other line terminator fails the match
+        if (lineEnd < length && content.charAt(lineEnd) == '\n') {
+            tokens.headers[level].add(start, lineEnd + 1, textStart, lineEnd);
+        }
+    }
+
+    private static void scanThematicBreak(String content, int start, Tokens tokens) {
+        int length = content.length();
+        if (start + 1 >= length) {
+            return;
+        }
+        char marker = content.charAt(start + 1);
+        if (marker != '*' && marker != '-' && marker != '_') {
+            return;
+        }
+        int markerEnd = start + 1;
+        while (markerEnd < length && content.charAt(markerEnd) == marker) {
+            markerEnd++;
+        }
+        if (markerEnd - start - 1 >= MIN_THEMATIC_BREAK_LENGTH && markerEnd < length
+                && content.charAt(markerEnd) == '\n') {
+            tokens.thematicBreaks.add(start, markerEnd + 1, start + 1, markerEnd);
+        }
+    }
+
+    private static void scanCodeFence(String content, int start, Tokens tokens) {
+        int length = content.length();
+        int languageStart = start + 3;
+        int languageEnd = languageStart;
+        while (languageEnd < length && isWordCharacter(content.charAt(languageEnd))) {
+            languageEnd++;
+        }
+        if (languageEnd < length && content.charAt(languageEnd) == '\n') {
+            tokens.codeBlockStarts.add(start, languageEnd + 1, languageStart, languageEnd);
+            if (languageEnd == languageStart) {
+                tokens.codeBlockEnds.add(start, languageEnd + 1, languageStart, languageEnd);
+            }
+        }
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * The tokens of a markdown document, grouped by kind.
+     */
+    static class Tokens {
+
+        // Indexed by header level, index 0 is unused
+        final TokenList[] headers = new TokenList[MAX_HEADER_LEVEL + 1];
+        final TokenList codeBlockStarts = new TokenList();
+        final TokenList codeBlockEnds = new TokenList();
+        final TokenList thematicBreaks = new TokenList();
+
+        Tokens() {
+            for (int level = 1; level <= MAX_HEADER_LEVEL; level++) {
+                headers[level] = new TokenList();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A condition on the metadata of a chunk, matching the {@code ai:MetadataFilters} and {@code ai:MetadataFilter}
+ * records.
+ * <p>
+ * Metadata and filter values are plain Java values: strings, {@code Long} for integers, {@code Double} for floats,
+ * {@code BigDecimal} without trailing zeros for decimals, booleans, {@code null}, lists and maps. Equal values are
+ * therefore equal Java objects, as with the {@code ==} operator of Ballerina.
+ */
+sealed interface MetadataFilter permits MetadataFilter.Comparison, MetadataFilter.Group {
+
+    /**
+     * Returns whether the given metadata matches the condition.
+     *
+     * @throws IllegalArgumentException if a value that is not a number is compared with an ordering operator
+     */
+    boolean matches(Map<String, Object> metadata);
+
+    /**
+     * The operators of {@code ai:MetadataFilterOperator}.
+     */
+    enum Operator {
+        EQUAL("=="),
+        NOT_EQUAL("!="),
+        GREATER_THAN(">"),
+        LESS_THAN("<"),
+        GREATER_THAN_OR_EQUAL(">="),
+        LESS_THAN_OR_EQUAL("<="),
+        IN("in"),
+        NOT_IN("nin");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported operator: " + symbol);
+        }
+
+        boolean isOrdering() {
+            return this == GREATER_THAN || this == LESS_THAN || this == GREATER_THAN_OR_EQUAL
+                    || this == LESS_THAN_OR_EQUAL;
+        }
+    }
+
+    /**
+     * Compares the value of a metadata key with the given value. Metadata without the key never matches.
+     */
+    record Comparison(String key, Operator operator, Object value) implements MetadataFilter {
+
+        @Override
+        public boolean matches(Map<String, Object> metadata) {
+            return metadata.containsKey(key) && test(metadata.get(key));
+        }
+
+        boolean test(Object actual) {
+            return switch (operator) {
+                case EQUAL -> Objects.equals(actual, value);
+                case NOT_EQUAL -> !Objects.equals(actual, value);
+                case IN -> value instanceof List<?> values && values.contains(actual);
+                case NOT_IN -> value instanceof List<?> values && !values.contains(actual);
+                case GREATER_THAN -> compare(actual) > 0;
+                case LESS_THAN -> compare(actual) < 0;
+                case GREATER_THAN_OR_EQUAL -> compare(actual) >= 0;
+                case LESS_THAN_OR_EQUAL -> compare(actual) <= 0;
+            };
+        }
+
+        private int compare(Object actual) {
+            return toDecimal(actual).compareTo(toDecimal(value));
+        }
+
+        static BigDecimal toDecimal(Object value) {
+            if (value instanceof BigDecimal decimal) {
+                return decimal;
+            }
+            if (value instanceof Long number) {
+                return BigDecimal.valueOf(number);
+            }
+            if (value instanceof Double number && Double.isFinite(number)) {
+                return BigDecimal.valueOf(number);
+            }
+            throw new IllegalArgumentException("Cannot compare '" + value + "' as a number");
+        }
+    }
+
+    /**
+     * Combines filters with {@code AND} or {@code OR}. A group without filters matches all metadata with
+     * {@code AND} and none with {@code OR}.
+     * <p>
+     * Every filter of the group is evaluated, even once the result is decided, so a comparison that fails for the
+     * metadata fails the query whatever the other filters of the group match.
+     */
+    record Group(boolean and, List<MetadataFilter> filters) implements MetadataFilter {
+
+        @Override
+        public boolean matches(Map<String, Object> metadata) {
+            boolean matches = and;
+            for (MetadataFilter filter : filters) {
+                if (filter.matches(metadata) != and) {
+                    matches = !and;
+                }
+            }
+            return matches;
+        }
+    }
+}
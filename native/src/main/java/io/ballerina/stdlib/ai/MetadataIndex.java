@@ -0,0 +1,296 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * An index of the metadata of the entries of a {@link VectorSegment}, which selects the slots whose metadata matches
+ * a {@link MetadataFilter} without evaluating the filter for every slot.
+ * <p>
+ * For each metadata key, the index keeps the slots that have the key, the slots of each distinct value, used for
+ * equality and membership, and the numeric values sorted with their slots, used for ordering comparisons. A filter is
+ * evaluated a set of slots at a time: each comparison is evaluated for all the slots with metadata, as
+ * {@link MetadataFilter#matches} evaluates every filter of a group for a single entry. The error raised is that of
+ * the first slot that fails a comparison, so the slots selected and the errors raised are the same as when each entry
+ * is matched in turn.
+ */
+final class MetadataIndex {
+
+    private final List<Map<String, Object>> metadata;
+    // The slots that have metadata, which are the only slots a filter can match
+    private final BitSet described = new BitSet();
+    private final Map<String, KeyIndex> keys = new HashMap<>();
+
+    /**
+     * The slots of the values of a metadata key.
+     *
+     * @param present     the slots that have the key
+     * @param postings    the slots that have each value, in ascending order
+     * @param numbers     the numeric values, in ascending order
+     * @param numberSlots the slots of the numeric values
+     * @param notNumbers  the slots whose value is not a number
+     */
+    private record KeyIndex(BitSet present, Map<Object, int[]> postings, BigDecimal[] numbers, int[] numberSlots,
+                            BitSet notNumbers) {
+    }
+
+    /**
+     * Creates the index of the metadata of the slots in order, which is {@code null} for slots without metadata.
+     */
+    MetadataIndex(List<Map<String, Object>> metadata) {
+        this.metadata = Collections.unmodifiableList(new ArrayList<>(metadata));
+        Map<String, Map<Object, List<Integer>>> slotsByValue = new HashMap<>();
+        for (int slot = 0; slot < metadata.size(); slot++) {
+            Map<String, Object> values = metadata.get(slot);
+            if (values == null) {
+                continue;
+            }
+            described.set(slot);
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                slotsByValue.computeIfAbsent(value.getKey(), key -> new HashMap<>())
+                        .computeIfAbsent(value.getValue(), key -> new ArrayList<>()).add(slot);
+            }
+        }
+        slotsByValue.forEach((key, postings) -> keys.put(key, index(postings)));
+    }
+
+    private static KeyIndex index(Map<Object, List<Integer>> slotsByValue) {
+        BitSet present = new BitSet();
+        BitSet notNumbers = new BitSet();
+        Map<Object, int[]> postings = new HashMap<>();
+        List<BigDecimal> numbers = new ArrayList<>();
+        List<Integer> numberSlots = new ArrayList<>();
+        slotsByValue.forEach((value, slots) -> {
+            int[] posting = slots.stream().mapToInt(Integer::intValue).toArray();
+            postings.put(value, posting);
+            BigDecimal number = toNumber(value);
+            for (int slot : posting) {
+                present.set(slot);
+                if (number == null) {
+                    notNumbers.set(slot);
+                } else {
+                    numbers.add(number);
+                    numberSlots.add(slot);
+                }
+            }
+        });
+        Integer[] order = new Integer[numbers.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing((Integer i) -> numbers.get(i)).thenComparing(numberSlots::get));
+        BigDecimal[] sortedNumbers = new BigDecimal[order.length];
+        int[] sortedSlots = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedNumbers[i] = numbers.get(order[i]);
+            sortedSlots[i] = numberSlots.get(order[i]);
+        }
+        return new KeyIndex(present, postings, sortedNumbers, sortedSlots, notNumbers);
+    }
+
+    private static BigDecimal toNumber(Object value) {
+        try {
+            return MetadataFilter.Comparison.toDecimal(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the metadata of a slot, or {@code null} if it has none.
+     */
+    Map<String, Object> metadata(int slot) {
+        return metadata.get(slot);
+    }
+
+    /**
+     * Returns the slots whose metadata matches the filter, out of which the caller uses only the visible slots. The
+     * returned set must not be modified.
+     *
+     * @param visible the slots whose metadata is compared, and for which errors are raised
+     * @throws IllegalArgumentException if the value of a visible slot that is not a number is compared with an
+     *                                  ordering operator
+     */
+    BitSet select(MetadataFilter filter, IntPredicate visible) {
+        Failure failure = new Failure();
+        BitSet selected = select(filter, visible, failure);
+        if (failure.comparison != null) {
+            // Raises the same error as matching each entry in turn would
+            failure.comparison.test(metadata(failure.slot).get(failure.comparison.key()));
+        }
+        return selected;
+    }
+
+    /**
+     * The first slot that fails a comparison, and the first comparison it fails, in the order they are evaluated.
+     */
+    private static final class Failure {
+
+        private int slot = Integer.MAX_VALUE;
+        private MetadataFilter.Comparison comparison;
+
+        void add(int slot, MetadataFilter.Comparison comparison) {
+            if (slot < this.slot) {
+                this.slot = slot;
+                this.comparison = comparison;
+            }
+        }
+    }
+
+    private BitSet select(MetadataFilter filter, IntPredicate visible, Failure failure) {
+        if (filter instanceof MetadataFilter.Comparison comparison) {
+            return compare(comparison, visible, failure);
+        }
+        MetadataFilter.Group group = (MetadataFilter.Group) filter;
+        BitSet selected = group.and() ? described : new BitSet();
+        for (MetadataFilter child : group.filters()) {
+            BitSet matched = select(child, visible, failure);
+            selected = group.and() ? intersection(selected, matched) : union(selected, matched);
+        }
+        return selected;
+    }
+
+    private BitSet compare(MetadataFilter.Comparison comparison, IntPredicate visible, Failure failure) {
+        KeyIndex key = keys.get(comparison.key());
+        if (key == null) {
+            return new BitSet();
+        }
+        Object value = comparison.value();
+        return switch (comparison.operator()) {
+            case EQUAL -> slotsOf(key, value);
+            case NOT_EQUAL -> difference(key.present(), slotsOf(key, value));
+            case IN -> value instanceof List<?> values ? slotsOf(key, values) : new BitSet();
+            case NOT_IN -> value instanceof List<?> values
+                    ? difference(key.present(), slotsOf(key, values)) : new BitSet();
+            case GREATER_THAN, LESS_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN_OR_EQUAL ->
+                    compareNumbers(comparison, key, visible, failure);
+        };
+    }
+
+    private BitSet compareNumbers(MetadataFilter.Comparison comparison, KeyIndex key, IntPredicate visible,
+                                  Failure failure) {
+        BigDecimal bound = toNumber(comparison.value());
+        int failed = nextVisible(bound == null ? key.present() : key.notNumbers(), 0, visible);
+        if (failed != -1) {
+            failure.add(failed, comparison);
+        }
+        if (bound == null) {
+            return new BitSet();
+        }
+
+        int from = 0;
+        int to = key.numbers().length;
+        switch (comparison.operator()) {
+            case GREATER_THAN -> from = upperBound(key.numbers(), bound);
+            case GREATER_THAN_OR_EQUAL -> from = lowerBound(key.numbers(), bound);
+            case LESS_THAN -> to = lowerBound(key.numbers(), bound);
+            default -> to = upperBound(key.numbers(), bound);
+        }
+        BitSet selected = new BitSet();
+        for (int i = from; i < to; i++) {
+            selected.set(key.numberSlots()[i]);
+        }
+        return selected;
+    }
+
+    private static BitSet slotsOf(KeyIndex key, Object value) {
+        BitSet slots = new BitSet();
+        for (int slot : key.postings().getOrDefault(value, new int[0])) {
+            slots.set(slot);
+        }
+        return slots;
+    }
+
+    private static BitSet slotsOf(KeyIndex key, List<?> values) {
+        BitSet slots = new BitSet();
+        for (Object value : values) {
+            slots.or(slotsOf(key, value));
+        }
+        return slots;
+    }
+
+    private static BitSet intersection(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    private static BitSet union(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.or(b);
+        return result;
+    }
+
+    private static BitSet difference(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.andNot(b);
+        return result;
+    }
+
+    private static int nextVisible(BitSet slots, int from, IntPredicate visible) {
+        for (int slot = slots.nextSetBit(from); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            if (visible.test(slot)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first number that is not less than the bound.
+     */
+    private static int lowerBound(BigDecimal[] numbers, BigDecimal bound) {
+        int low = 0;
+        int high = numbers.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (numbers[middle].compareTo(bound) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first number that is greater than the bound.
+     */
+    private static int upperBound(BigDecimal[] numbers, BigDecimal bound) {
+        int low = 0;
+        int high = numbers.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (numbers[middle].compareTo(bound) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -50,7 +50,11 @@ public final class ModuleUtils {
     }
 
     public static BError createError(String errorMessage, BError error) {
-        return ErrorCreator.createError(ModuleUtils.getModule(), ERROR_TYPE_NAME, StringUtils.fromString(errorMessage),
+        return createError(ERROR_TYPE_NAME, errorMessage, error);
+    }
+
+    public static BError createError(String errorTypeName, String errorMessage, BError error) {
+        return ErrorCreator.createError(ModuleUtils.getModule(), errorTypeName, StringUtils.fromString(errorMessage),
                 error, null);
     }
 
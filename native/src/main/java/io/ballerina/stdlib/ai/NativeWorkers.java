@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A bounded pool of threads for the blocking, CPU-heavy native work of the module, such as parsing documents and
+ * chunking content.
+ * <p>
+ * Native functions yield their strand with {@code Environment#yieldAndRun} and wait for their work to complete on
+ * this pool, so the threads that run Ballerina strands stay free to serve other requests, such as chat messages
+ * arriving on the same listener, while a large document is being processed. The pool uses platform threads, since
+ * CPU-bound work on virtual threads would hold on to the carrier threads the strands share. Its size is set with the
+ * {@code nativeWorkerCount} configurable and defaults to the number of available processors.
+ */
+public final class NativeWorkers {
+
+    private static volatile int workerCount = Runtime.getRuntime().availableProcessors();
+    private static volatile ExecutorService executor;
+
+    private NativeWorkers() {
+    }
+
+    /**
+     * Sets the number of worker threads. Values less than one keep the default, and the size of a pool that is
+     * already running is not changed.
+     */
+    @SuppressWarnings("unused")
+    public static void configure(long count) {
+        if (count > 0) {
+            workerCount = (int) Math.min(count, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Runs the given work on the pool and waits for its result. An exception thrown by the work is rethrown as is.
+     */
+    static <T> T run(Callable<T> work) throws Exception {
+        return await(executor().submit(work));
+    }
+
+    /**
+     * Runs all the given work on the pool and waits for their results, which are returned in the order of the work.
+     */
+    static <T> List<T> runAll(List<? extends Callable<T>> work) throws Exception {
+        List<Future<T>> futures = executor().invokeAll(work);
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    /**
+     * Returns a completion service that runs its work on the pool, for results that are used as they complete.
+     */
+    static <T> CompletionService<T> completionService() {
+        return new ExecutorCompletionService<>(executor());
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService result = executor;
+        if (result == null) {
+            synchronized (NativeWorkers.class) {
+                result = executor;
+                if (result == null) {
+                    result = Executors.newFixedThreadPool(workerCount,
+                            Thread.ofPlatform().name("ballerina-ai-worker-", 0).daemon().factory());
+                    executor = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Full-precision vectors kept in direct buffers outside the Java heap, for a {@link VectorSegment} whose scans read
+ * {@link QuantizedVectors} codes and only rank the shortlisted entries with their vectors.
+ * <p>
+ * A direct buffer holds at most {@link Integer#MAX_VALUE} bytes, so the vectors are split into pages of whole vectors.
+ * The memory of the pages is released when the segment is no longer reachable.
+ */
+final class OffHeapVectors {
+
+    private static final int MAX_PAGE_FLOATS = Integer.MAX_VALUE / Float.BYTES;
+
+    private final int dimension;
+    private final int vectorsPerPage;
+    private final FloatBuffer[] pages;
+
+    /**
+     * Allocates the vectors of the given number of slots, each of which is set once.
+     */
+    OffHeapVectors(int dimension, int slots) {
+        this.dimension = dimension;
+        this.vectorsPerPage = MAX_PAGE_FLOATS / Math.max(dimension, 1);
+        this.pages = new FloatBuffer[(slots + vectorsPerPage - 1) / vectorsPerPage];
+        for (int page = 0; page < pages.length; page++) {
+            int vectors = Math.min(vectorsPerPage, slots - page * vectorsPerPage);
+            pages[page] = ByteBuffer.allocateDirect(vectors * dimension * Float.BYTES)
+                    .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        }
+    }
+
+    void set(int slot, float[] vector) {
+        pages[slot / vectorsPerPage].put((slot % vectorsPerPage) * dimension, vector, 0, dimension);
+    }
+
+    /**
+     * Copies the vector of a slot to the start of {@code target}.
+     */
+    void get(int slot, float[] target) {
+        pages[slot / vectorsPerPage].get((slot % vectorsPerPage) * dimension, target, 0, dimension);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.apache.tika.metadata.Metadata;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads the text of a PDF file a few pages at a time.
+ * <p>
+ * The file is parsed on a thread of its own, with a content handler that hands over the text collected so far each
+ * time the given number of pages has been read. At most a couple of page groups wait to be read, so the memory used
+ * for extraction is bounded by the size of the pages rather than the size of the file, and the first pages can be
+ * processed while the rest of the file is still being parsed. Parsing waits while the reader is not read from, so a
+ * reader that is not read to the end must be closed to release its thread.
+ * <p>
+ * The parsing thread is not taken from {@link NativeWorkers}, since a reader that is read slowly would otherwise hold
+ * on to a worker that chunking needs.
+ * <p>
+ * The file is parsed within the extraction limits in effect when the reader is created. The timeout only counts the
+ * time spent parsing, not the time spent waiting for the pages to be read.
+ */
+final class PdfPageReader implements AutoCloseable {
+
+    private static final int QUEUED_PAGE_GROUPS = 2;
+    private static final Object END = new Object();
+
+    private final String path;
+    private final int pagesPerDocument;
+    private final ExtractionLimits limits = ExtractionLimits.current();
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUED_PAGE_GROUPS);
+    private final Thread parser;
+    private volatile boolean closed;
+    private boolean finished;
+
+    /**
+     * A group of consecutive pages, along with the number of its first page and the metadata of the file.
+     */
+    record PageGroup(int firstPage, String content, Map<String, String> metadata) {
+    }
+
+    PdfPageReader(String path, int pagesPerDocument) {
+        if (pagesPerDocument <= 0) {
+            throw new IllegalArgumentException("Pages per document must be greater than 0");
+        }
+        this.path = path;
+        this.pagesPerDocument = pagesPerDocument;
+        this.parser = Thread.ofPlatform().name("ballerina-ai-pdf-reader").daemon().start(this::parse);
+    }
+
+    /**
+     * Returns the next group of pages, waiting for it to be parsed, or {@code null} once all the pages have been read
+     * or the reader is closed. An error that ends parsing is thrown by the call that reaches it.
+     */
+    PageGroup next() throws Exception {
+        if (finished || closed) {
+            return null;
+        }
+        Object item = queue.take();
+        if (item instanceof PageGroup pageGroup) {
+            return pageGroup;
+        }
+        finished = true;
+        if (item instanceof Exception e) {
+            throw e;
+        }
+        if (item instanceof Error e) {
+            throw e;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        parser.interrupt();
+        queue.clear();
+    }
+
+    private void parse() {
+        Object last = END;
+        ExtractionLimits.Watchdog watchdog = limits.startWatchdog();
+        try (InputStream inputStream = Files.newInputStream(Path.of(path))) {
+            limits.checkInputSize(path);
+            Metadata metadata = new Metadata();
+            DocumentParsers.parsePdf(inputStream, limits.guard(new PageHandler(metadata, watchdog)), metadata);
+        } catch (Throwable e) {
+            last = limits.reported(e, watchdog);
+        } finally {
+            watchdog.close();
+        }
+        if (closed) {
+            return;
+        }
+        try {
+            queue.put(last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Collects the text of the pages of the document and hands it over at page boundaries. Tika wraps the content of
+     * each PDF page in a {@code <div class="page">} element. Content outside the pages, such as the outline of the
+     * document, is left out.
+     */
+    private final class PageHandler extends DefaultHandler {
+
+        private final Metadata metadata;
+        private final ExtractionLimits.Watchdog watchdog;
+        private final StringBuilder text = new StringBuilder();
+        private Map<String, String> documentMetadata;
+        // Depth of the current element within the body, and of the page being read, or zero if there is none
+        private int bodyDepth;
+        private int pageDepth;
+        private int pagesRead;
+        private int pagesInGroup;
+
+        PageHandler(Metadata metadata, ExtractionLimits.Watchdog watchdog) {
+            this.metadata = metadata;
+            this.watchdog = watchdog;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (bodyDepth == 0 && !"body".equals(localName)) {
+                return;
+            }
+            bodyDepth++;
+            if (pageDepth == 0 && "div".equals(localName) && "page".equals(attributes.getValue("class"))) {
+                pageDepth = bodyDepth;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (bodyDepth == 0) {
+                return;
+            }
+            if (bodyDepth == pageDepth) {
+                pageDepth = 0;
+                pagesRead++;
+                pagesInGroup++;
+                if (pagesInGroup == pagesPerDocument) {
+                    flush();
+                }
+            }
+            bodyDepth--;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (pageDepth > 0) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) {
+            characters(ch, start, length);
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            if (pagesInGroup > 0) {
+                flush();
+            }
+        }
+
+        private void flush() throws SAXException {
+            if (documentMetadata == null) {
+                // The document information of a PDF is read before its pages
+                documentMetadata = TextDataLoader.extractMetadata(metadata);
+            }
+            watchdog.pause();
+            try {
+                queue.put(new PageGroup(pagesRead - pagesInGroup + 1, text.toString(), documentMetadata));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SAXException("Reading the PDF file was interrupted", e);
+            } finally {
+                watchdog.resume();
+            }
+            text.setLength(0);
+            pagesInGroup = 0;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.Arrays;
+
+/**
+ * Compact codes of the vectors of a {@link VectorIndex}, scanned to shortlist the entries nearest to a query before
+ * they are ranked again with their full-precision vectors.
+ * <p>
+ * {@link Int8} codes keep each element as a signed byte scaled by the largest magnitude in its vector, and estimate
+ * the dot product with integer arithmetic, from which every metric is derived using the exact norms. {@link Binary}
+ * codes keep only the sign of each element, one bit each, and rank vectors by the number of signs they share with the
+ * query.
+ */
+abstract sealed class QuantizedVectors permits QuantizedVectors.Int8, QuantizedVectors.Binary {
+
+    /**
+     * The encodings of the vectors.
+     */
+    enum Encoding {
+        INT8,
+        BINARY
+    }
+
+    /**
+     * The encoding of the vectors, and the number of entries shortlisted by their codes for each entry returned.
+     */
+    record Config(Encoding encoding, int rerankFactor) {
+
+        Config {
+            if (rerankFactor < 1) {
+                throw new IllegalArgumentException("Quantization 'rerankFactor' must be greater than 0");
+            }
+        }
+    }
+
+    /**
+     * Scores the codes of the slots against a query, with a larger score for a closer slot.
+     */
+    @FunctionalInterface
+    interface Scorer {
+        float score(int slot);
+    }
+
+    protected final int dimension;
+
+    QuantizedVectors(int dimension) {
+        this.dimension = dimension;
+    }
+
+    /**
+     * Creates the codes of the given number of slots, each of which is set once.
+     */
+    static QuantizedVectors create(Encoding encoding, int dimension, int slots) {
+        return encoding == Encoding.INT8 ? new Int8(dimension, slots) : new Binary(dimension, slots);
+    }
+
+    /**
+     * Encodes the vector of a slot.
+     */
+    abstract void set(int slot, float[] vector);
+
+    /**
+     * Returns a scorer of the slots against the given query.
+     *
+     * @param norms the Euclidean norms of the full-precision vectors of the slots
+     */
+    abstract Scorer scorer(SimilarityMetric metric, float[] query, float queryNorm, float[] norms);
+
+    /**
+     * Signed bytes scaled per vector, a quarter of the size of {@code float} vectors.
+     */
+    static final class Int8 extends QuantizedVectors {
+
+        private static final float MAX_CODE = 127;
+
+        private final byte[] codes;
+        private final float[] scales;
+
+        Int8(int dimension, int slots) {
+            super(dimension);
+            this.codes = new byte[slots * dimension];
+            this.scales = new float[slots];
+        }
+
+        @Override
+        void set(int slot, float[] vector) {
+            scales[slot] = encode(vector, codes, slot * dimension);
+        }
+
+        @Override
+        Scorer scorer(SimilarityMetric metric, float[] query, float queryNorm, float[] norms) {
+            byte[] queryCodes = new byte[dimension];
+            float queryScale = encode(query, queryCodes, 0);
+            return slot -> {
+                float dot = dot(queryCodes, codes, slot * dimension, dimension) * queryScale * scales[slot];
+                return switch (metric) {
+                    case COSINE -> {
+                        float denominator = queryNorm * norms[slot];
+                        yield denominator == 0 ? 0 : dot / denominator;
+                    }
+                    case EUCLIDEAN -> 2 * dot - queryNorm * queryNorm - norms[slot] * norms[slot];
+                    case DOT_PRODUCT -> dot;
+                };
+            };
+        }
+
+        /**
+         * Writes the codes of a vector at the given offset, returning the scale that converts them back.
+         */
+        private static float encode(float[] vector, byte[] target, int offset) {
+            float maxMagnitude = 0;
+            for (float value : vector) {
+                maxMagnitude = Math.max(maxMagnitude, Math.abs(value));
+            }
+            if (maxMagnitude == 0) {
+                Arrays.fill(target, offset, offset + vector.length, (byte) 0);
+                return 0;
+            }
+            float scale = maxMagnitude / MAX_CODE;
+            for (int i = 0; i < vector.length; i++) {
+                target[offset + i] = (byte) Math.round(vector[i] / scale);
+            }
+            return scale;
+        }
+
+        private static int dot(byte[] a, byte[] b, int offset, int length) {
+            int sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += a[i] * b[offset + i];
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * One sign bit per element packed into {@code long}s, a thirty-second of the size of {@code float} vectors.
+     */
+    static final class Binary extends QuantizedVectors {
+
+        private final int words;
+        private final long[] bits;
+
+        Binary(int dimension, int slots) {
+            super(dimension);
+            this.words = (dimension + Long.SIZE - 1) / Long.SIZE;
+            this.bits = new long[slots * words];
+        }
+
+        @Override
+        void set(int slot, float[] vector) {
+            encode(vector, bits, slot * words);
+        }
+
+        @Override
+        Scorer scorer(SimilarityMetric metric, float[] query, float queryNorm, float[] norms) {
+            long[] queryBits = new long[words];
+            encode(query, queryBits, 0);
+            return slot -> {
+                int offset = slot * words;
+                int distance = 0;
+                for (int i = 0; i < words; i++) {
+                    distance += Long.bitCount(queryBits[i] ^ bits[offset + i]);
+                }
+                return -distance;
+            };
+        }
+
+        private void encode(float[] vector, long[] target, int offset) {
+            Arrays.fill(target, offset, offset + words, 0);
+            for (int i = 0; i < vector.length; i++) {
+                if (vector[i] > 0) {
+                    target[offset + i / Long.SIZE] |= 1L << (i % Long.SIZE);
+                }
+            }
+        }
+    }
+}
@@ -18,17 +18,11 @@
 
 package io.ballerina.stdlib.ai;
 
-import dev.langchain4j.data.document.Metadata;
-import dev.langchain4j.data.segment.TextSegment;
-
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,49 +36,65 @@ class RecursiveChunker {
     }
 
     List<Chunk> chunkUsingSplitters(String content, List<Splitter> splitters, int maxChunkSize, int maxOverlapSize) {
-        return chunkUsingSplittersInner(content, splitters, maxChunkSize, maxOverlapSize, Collections.emptyMap());
-    }
-
-    private List<Chunk> chunkUsingSplittersInner(String content, List<Splitter> splitters,
-                                                 int maxChunkSize, int maxOverlapSize,
-                                                 Map<String, String> parentMetadata) {
-        return this.mergeChunksWithOverlap(splitters,
-                chunkWithNoMerge(content, splitters, maxChunkSize, parentMetadata), maxChunkSize,
-                maxOverlapSize);
+        List<Chunk> pieces = new ArrayList<>();
+        chunkWithNoMerge(content, 0, content.length(), splitters, 0, maxChunkSize, ChunkMetadata.EMPTY, pieces);
+        return this.mergeChunksWithOverlap(splitters, pieces, maxChunkSize, maxOverlapSize);
     }
 
-    private List<Chunk> chunkWithNoMerge(String content, List<Splitter> delimiters,
-                                         int maxChunkSize, Map<String, String> parentMetadata) {
-        List<Chunk> chunks = new ArrayList<>();
-        List<Splitter> rest = delimiters.subList(1, delimiters.size());
-        Iterator<Chunk> pieces = delimiters.getFirst().split(content);
+    /**
+     * Splits {@code [start, end)} with the splitter at the given level, recursing into the following splitters for
+     * pieces that are too large, and adds the resulting pieces to {@code out} with the metadata of their parents.
+     */
+    private void chunkWithNoMerge(String content, int start, int end, List<Splitter> splitters, int level,
+                                  int maxChunkSize, ChunkMetadata parentMetadata, List<Chunk> out) {
+        Iterator<Chunk> pieces = splitters.get(level).split(content, start, end, maxChunkSize);
         while (pieces.hasNext()) {
             Chunk piece = pieces.next();
             if (isNonMergeable(piece)) {
                 // Add non-mergeable piece directly
                 if (piece.length() > maxChunkSize) {
-                    chunks.addAll(breakUpChunk(piece, maxChunkSize));
+                    for (Chunk part : breakUpChunk(piece, maxChunkSize)) {
+                        out.add(part.withMetadata(parentMetadata.withAll(part.metadata)));
+                    }
                 } else {
-                    chunks.add(piece);
+                    out.add(piece.withMetadata(parentMetadata.withAll(piece.metadata)));
                 }
                 continue;
             }
             if (piece.length() <= maxChunkSize) {
-                chunks.add(piece);
+                out.add(piece.withMetadata(parentMetadata.withAll(piece.metadata)));
             } else {
                 // Recursively split chunk
-                chunks.addAll(chunkWithNoMerge(piece.piece, rest, maxChunkSize, piece.metadata));
+                chunkWithNoMerge(content, piece.start(), piece.end(), splitters, level + 1, maxChunkSize,
+                        parentMetadata.withAll(piece.metadata), out);
             }
-
         }
-        if (parentMetadata.isEmpty()) {
-            return chunks;
+    }
+
+    /**
+     * Returns the last piece that chunking the given piece with a maximum size of {@code maxOverlapSize} would
+     * produce. Only the last piece of each splitter is split further, since the pieces before it can never end up
+     * in the overlap, so nothing but the tail of the piece is chunked again.
+     */
+    private Chunk overlapOf(Chunk piece, List<Splitter> splitters, int maxOverlapSize) {
+        ChunkMetadata parentMetadata = piece.metadata;
+        Chunk tail = piece;
+        for (Splitter splitter : splitters) {
+            Iterator<Chunk> pieces = splitter.split(tail.content(), tail.start(), tail.end(), maxOverlapSize);
+            Chunk last = pieces.next();
+            while (pieces.hasNext()) {
+                last = pieces.next();
+            }
+            if (isNonMergeable(last) && last.length() > maxOverlapSize) {
+                last = breakUpChunk(last, maxOverlapSize).getLast();
+            }
+            if (last.length() <= maxOverlapSize) {
+                return last.withMetadata(parentMetadata.withAll(last.metadata));
+            }
+            parentMetadata = parentMetadata.withAll(last.metadata);
+            tail = last;
         }
-        return chunks.stream().map(chunk -> {
-            HashMap<String, String> metadata = new HashMap<>(parentMetadata);
-            metadata.putAll(chunk.metadata);
-            return new Chunk(chunk.piece(), Collections.unmodifiableMap(metadata));
-        }).toList();
+        return breakUpChunk(tail, maxOverlapSize).getLast();
     }
 
     private boolean isNonMergeable(Chunk chunk) {
@@ -97,37 +107,34 @@ class RecursiveChunker {
 
     static List<Chunk> breakUpChunk(Chunk chunk, int maxChunkSize) {
         List<Chunk> chunks = new ArrayList<>();
-        Chunk remainder = chunk;
         Chunk previousChunk = null;
+        int start = chunk.start();
 
-        while (remainder.length() > maxChunkSize) {
-            // Create metadata with link to previous chunk
-            Map<String, String> chunkMetadata = new HashMap<>(remainder.metadata);
-            if (previousChunk != null) {
-                chunkMetadata.put("prev", String.valueOf(previousChunk.id()));
-            }
-
-            Chunk part = new Chunk(remainder.piece().substring(0, maxChunkSize), chunkMetadata);
+        while (chunk.end() - start > maxChunkSize) {
+            // Link to the previous chunk
+            long prev = previousChunk == null ? chunk.prev : previousChunk.id();
+            Chunk part = new Chunk(chunk.content(), start, start + maxChunkSize, chunk.metadata, prev);
             chunks.add(part);
             previousChunk = part;
-
-            remainder = new Chunk(remainder.piece().substring(maxChunkSize, remainder.length()), remainder.metadata);
+            start += maxChunkSize;
         }
 
-        if (!remainder.isEmpty()) {
-            // Add metadata with link to previous chunk for the remainder
-            Map<String, String> remainderMetadata = new HashMap<>(remainder.metadata);
-            if (previousChunk != null) {
-                remainderMetadata.put("prev", String.valueOf(previousChunk.id()));
-            }
-            chunks.add(new Chunk(remainder.piece(), remainderMetadata));
+        if (start < chunk.end()) {
+            // Link the remainder to the previous chunk
+            long prev = previousChunk == null ? chunk.prev : previousChunk.id();
+            chunks.add(new Chunk(chunk.content(), start, chunk.end(), chunk.metadata, prev));
         }
 
         return chunks;
     }
 
-    private List<Chunk> mergeChunksWithOverlap(List<Splitter> splitters, List<Chunk> pieces, int maxChunkSize,
-                                               int maxOverlapSize) {
+    /**
+     * Merges consecutive pieces into chunks of at most {@code maxChunkSize} characters, starting each chunk with the
+     * tail of the previous one. A mergeable piece larger than the maximum is broken up, and every part but the last
+     * is emitted as a chunk of its own.
+     */
+    List<Chunk> mergeChunksWithOverlap(List<Splitter> splitters, List<Chunk> pieces, int maxChunkSize,
+                                       int maxOverlapSize) {
         List<Chunk> chunks = new ArrayList<>();
         List<Chunk> mergeBuffer = new ArrayList<>();
         int mergeBufferSize = 0;
@@ -139,7 +146,9 @@ class RecursiveChunker {
             if (isNonMergeable(piece)) {
                 assert piece.length() <= maxChunkSize;
                 // First flush the merge buffer
-                mergeBuffer.stream().reduce(Chunk::merge).ifPresent(chunks::add);
+                if (!mergeBuffer.isEmpty()) {
+                    chunks.add(Chunk.merge(mergeBuffer));
+                }
                 mergeBuffer.clear();
                 mergeBufferSize = 0;
 
@@ -152,7 +161,7 @@ class RecursiveChunker {
             if (piece.length() > maxChunkSize) {
                 List<Chunk> p = breakUpChunk(piece, maxChunkSize);
                 assert p.size() > 1;
-                chunks.addAll(p.subList(0, p.size() - 2));
+                chunks.addAll(p.subList(0, p.size() - 1));
                 piece = p.getLast();
             }
             if (mergeBuffer.isEmpty()) {
@@ -166,15 +175,12 @@ class RecursiveChunker {
                 mergeBufferSize += piece.length();
             } else {
                 // First flush the merge buffer
-                mergeBuffer.stream().reduce(Chunk::merge).ifPresent(chunks::add);
+                chunks.add(Chunk.merge(mergeBuffer));
                 Chunk lastPiece;
                 if (maxOverlapSize > 0) {
                     lastPiece = mergeBuffer.getLast();
                     if (lastPiece.length() > maxOverlapSize) {
-                        List<Chunk> p = chunkWithNoMerge(lastPiece.piece(), splitters, maxOverlapSize,
-                                lastPiece.metadata);
-                        assert p.size() > 1;
-                        lastPiece = p.getLast();
+                        lastPiece = overlapOf(lastPiece, splitters, maxOverlapSize);
                     }
                 } else {
                     lastPiece = Chunk.EMPTY;
@@ -183,83 +189,237 @@ class RecursiveChunker {
 
                 if (lastPiece.length() + piece.length() <= maxChunkSize) {
                     // Merge with the last piece
-                    var pieceMetadata = piece.metadata;
-                    piece = Chunk.merge(lastPiece, piece);
+                    Chunk merged = Chunk.merge(lastPiece, piece);
                     // Metadata should not be affected by overlap
-                    piece = piece.appendMetadata(piece, pieceMetadata);
+                    piece = new Chunk(merged.content, merged.start, merged.end,
+                            merged.metadata.withAll(piece.metadata), piece.prev);
                 }
                 assert piece.length() <= maxChunkSize;
                 mergeBuffer.add(piece);
                 mergeBufferSize = piece.length();
             }
         }
-        mergeBuffer.stream().reduce(Chunk::merge).ifPresent(chunks::add);
+        if (!mergeBuffer.isEmpty()) {
+            chunks.add(Chunk.merge(mergeBuffer));
+        }
         return chunks;
     }
 
     @FunctionalInterface
     interface Splitter {
 
-        Iterator<Chunk> split(String content);
+        /**
+         * Splits the {@code [start, end)} region of the given content. Returned chunks are views over the same
+         * content and must cover the region contiguously and in order.
+         */
+        Iterator<Chunk> split(String content, int start, int end);
+
+        /**
+         * Splits the {@code [start, end)} region of the given content into pieces meant for chunks of at most
+         * {@code maxChunkSize} characters. Splitters that can size their pieces directly override this.
+         */
+        default Iterator<Chunk> split(String content, int start, int end, int maxChunkSize) {
+            return split(content, start, end);
+        }
+
+        default Iterator<Chunk> split(String content) {
+            return split(content, 0, content.length());
+        }
 
         static Splitter createSentenceSplitter() {
             return new SimpleDelimiterSplitter("\\.");
         }
 
+        /**
+         * Returns a splitter that detects sentences with the OpenNLP model of the default language.
+         */
+        static Splitter createSentenceDetectorSplitter() {
+            return SentenceDetectorSplitter.forLanguage(SentenceDetectorSplitter.DEFAULT_LANGUAGE);
+        }
+
         static Splitter createWordSplitter() {
             return new SimpleDelimiterSplitter(" ");
         }
 
         static Splitter createCharacterSplitter() {
-            return new SimpleDelimiterSplitter("");
+            return HardCutSplitter.INSTANCE;
         }
     }
 
-    record Chunk(long id, String piece, Map<String, String> metadata) {
+    /**
+     * The last resort of every strategy, which cuts content that no other splitter could break down into windows of
+     * the maximum chunk size by offset.
+     * <p>
+     * Content without any delimiter, such as minified JSON, base64 data or CJK text, is sliced in a single pass
+     * instead of being split into one piece per character and merged back. A cut is moved back by one character
+     * when it would separate the two halves of a surrogate pair.
+     */
+    static final class HardCutSplitter implements Splitter {
+
+        static final HardCutSplitter INSTANCE = new HardCutSplitter();
+
+        private HardCutSplitter() {
+        }
+
+        @Override
+        public Iterator<Chunk> split(String content, int start, int end) {
+            return split(content, start, end, end - start);
+        }
+
+        @Override
+        public Iterator<Chunk> split(String content, int start, int end, int maxChunkSize) {
+            return new Iterator<>() {
+                private int position = start;
+
+                @Override
+                public boolean hasNext() {
+                    return position < end;
+                }
+
+                @Override
+                public Chunk next() {
+                    if (!hasNext()) {
+                        throw new java.util.NoSuchElementException();
+                    }
+                    int pieceStart = position;
+                    position = cutPosition(content, pieceStart, end, maxChunkSize);
+                    return new Chunk(content, pieceStart, position, ChunkMetadata.EMPTY);
+                }
+            };
+        }
+
+        private static int cutPosition(String content, int start, int end, int maxChunkSize) {
+            if (end - start <= maxChunkSize) {
+                return end;
+            }
+            int cut = start + Math.max(maxChunkSize, 1);
+            if (cut - 1 > start && Character.isHighSurrogate(content.charAt(cut - 1))
+                    && Character.isLowSurrogate(content.charAt(cut))) {
+                cut--;
+            }
+            return cut;
+        }
+    }
+
+    /**
+     * A piece of the original content identified by its {@code [start, end)} offsets. The text is only
+     * materialized when it is needed, so splitting and merging never copy the underlying content.
+     * <p>
+     * The id of a chunk is a hash of its text, so chunking the same content again yields the same ids. Equal chunks
+     * share an id, which {@link ChunkIds} tells apart by their occurrence when the chunks of a document are emitted.
+     * A part of a chunk that was broken up links to the part before it with {@code prev}, which is the id of that
+     * part, or {@link #NO_PREV} for a chunk without such a link.
+     */
+    record Chunk(String content, int start, int end, ChunkMetadata metadata, long prev) {
+
+        static final long NO_PREV = 0;
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
 
         Chunk {
-            assert piece != null;
+            assert content != null;
             assert metadata != null;
+            assert 0 <= start && start <= end && end <= content.length();
         }
 
-        private static final AtomicLong nextId = new AtomicLong(0);
+        Chunk(String content, int start, int end, ChunkMetadata metadata) {
+            this(content, start, end, metadata, NO_PREV);
+        }
+
+        Chunk(String content, int start, int end, Map<String, String> metadata) {
+            this(content, start, end, ChunkMetadata.of(metadata));
+        }
 
         Chunk(String piece, Map<String, String> metadata) {
-            this(nextId.getAndIncrement(), piece, metadata);
+            this(piece, 0, piece.length(), ChunkMetadata.of(metadata));
         }
 
-        public static final Chunk EMPTY = new Chunk("", Collections.emptyMap());
+        public static final Chunk EMPTY = new Chunk("", ChunkMetadata.EMPTY);
+
+        public String piece() {
+            return content.substring(start, end);
+        }
 
         public int length() {
-            return piece.length();
+            return end - start;
         }
 
         public boolean isEmpty() {
-            return piece.isEmpty();
+            return start == end;
         }
 
         public static Chunk merge(Chunk first, Chunk second) {
-            String mergedPiece = first.piece + second.piece;
-            Map<String, String> mergedMetadata = new HashMap<>();
-            for (String key : first.metadata().keySet()) {
-                if (second.metadata.containsKey(key) && second.metadata.get(key).equals(first.metadata.get(key))) {
-                    mergedMetadata.put(key, first.metadata.get(key));
+            if (first.isEmpty()) {
+                return new Chunk(second.content, second.start, second.end, ChunkMetadata.EMPTY);
+            }
+            assert first.content == second.content && first.end == second.start;
+            List<Chunk> pieces = List.of(first, second);
+            return new Chunk(first.content, first.start, second.end, commonMetadata(pieces), commonPrev(pieces));
+        }
+
+        /**
+         * Merges consecutive pieces into a single chunk spanning all of them. A single piece is returned as is.
+         */
+        public static Chunk merge(List<Chunk> pieces) {
+            if (pieces.size() == 1) {
+                return pieces.getFirst();
+            }
+            Chunk first = pieces.getFirst();
+            Chunk last = pieces.getLast();
+            return new Chunk(first.content, first.start, last.end, commonMetadata(pieces), commonPrev(pieces));
+        }
+
+        private static ChunkMetadata commonMetadata(List<Chunk> pieces) {
+            return ChunkMetadata.common(pieces.stream().map(Chunk::metadata).toList());
+        }
+
+        private static long commonPrev(List<Chunk> pieces) {
+            long prev = pieces.getFirst().prev;
+            for (Chunk piece : pieces) {
+                if (piece.prev != prev) {
+                    return NO_PREV;
                 }
             }
-            return new Chunk(mergedPiece, Collections.unmodifiableMap(mergedMetadata));
+            return prev;
+        }
+
+        public long id() {
+            return contentHash(content, start, end);
+        }
+
+        /**
+         * Returns a 64-bit hash of the {@code [start, end)} region of the given text. FNV-1a is applied to the
+         * characters and its result is mixed with the finalizer of SplitMix64 to spread nearby values.
+         */
+        static long contentHash(CharSequence text, int start, int end) {
+            long hash = FNV_OFFSET_BASIS;
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+            }
+            return mix(hash);
+        }
+
+        static long contentHash(CharSequence text) {
+            return contentHash(text, 0, text.length());
         }
 
-        public TextSegment toTextSegment(int index) {
-            Map<String, Object> metadata = new HashMap<>(this.metadata);
-            metadata.put("id", id);
-            metadata.put("index", index);
-            return new TextSegment(piece, new Metadata(metadata));
+        /**
+         * Combines the hash of a document with the id of one of its chunks and the number of earlier chunks of the
+         * document with the same id, so that equal chunks of a document, or of different documents, get different
+         * ids.
+         */
+        static long scopedId(long documentHash, long id, int occurrence) {
+            return mix(mix(documentHash ^ id) + occurrence);
         }
 
-        public Chunk appendMetadata(Chunk base, Map<String, String> metadata) {
-            Map<String, String> newMetadata = new HashMap<>(base.metadata);
-            newMetadata.putAll(metadata);
-            return new Chunk(base.piece, Collections.unmodifiableMap(newMetadata));
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+            value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+            return value ^ (value >>> 31);
+        }
+
+        public Chunk withMetadata(ChunkMetadata metadata) {
+            return new Chunk(content, start, end, metadata, prev);
         }
     }
 
@@ -268,15 +428,20 @@ class RecursiveChunker {
         private final Pattern pattern;
 
         SimpleDelimiterSplitter(String delimiter) {
-            pattern = Pattern.compile(Pattern.quote(delimiter));
+            this(Pattern.compile(Pattern.quote(delimiter)));
+        }
+
+        SimpleDelimiterSplitter(Pattern pattern) {
+            this.pattern = pattern;
         }
 
         @Override
-        public Iterator<Chunk> split(String content) {
+        public Iterator<Chunk> split(String content, int start, int end) {
             return new Iterator<>() {
-                private final Matcher matcher = pattern.matcher(content);
-                private int lastIndex = 0;
-                private String nextPiece = null;
+                private final Matcher matcher = pattern.matcher(content).region(start, end);
+                private int lastIndex = start;
+                private int nextPieceStart;
+                private int nextPieceEnd;
                 private boolean hasNextPiece = false;
                 private boolean finished = false;
 
@@ -291,23 +456,26 @@ class RecursiveChunker {
 
                         if (delimiterStart > lastIndex) {
                             // Next piece is the content before the delimiter
-                            nextPiece = content.substring(lastIndex, delimiterStart);
+                            nextPieceStart = lastIndex;
+                            nextPieceEnd = delimiterStart;
                             lastIndex = delimiterStart;
                             hasNextPiece = true;
                             return;
                         }
 
                         // Next piece is the delimiter itself
-                        nextPiece = content.substring(delimiterStart, delimiterEnd);
+                        nextPieceStart = delimiterStart;
+                        nextPieceEnd = delimiterEnd;
                         lastIndex = delimiterEnd;
                         hasNextPiece = true;
                         return;
                     }
 
-                    if (lastIndex < content.length()) {
+                    if (lastIndex < end) {
                         // Remaining content after last delimiter
-                        nextPiece = content.substring(lastIndex);
-                        lastIndex = content.length();
+                        nextPieceStart = lastIndex;
+                        nextPieceEnd = end;
+                        lastIndex = end;
                         hasNextPiece = true;
                     } else {
                         hasNextPiece = false;
@@ -330,7 +498,7 @@ class RecursiveChunker {
                     }
                     hasNextPiece = false;
 
-                    return new Chunk(nextPiece, Map.of());
+                    return new Chunk(content, nextPieceStart, nextPieceEnd, ChunkMetadata.EMPTY);
                 }
             };
         }
@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import opennlp.tools.sentdetect.SentenceDetectorME;
+import opennlp.tools.sentdetect.SentenceModel;
+import opennlp.tools.util.Span;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Splits content into sentences detected by an OpenNLP sentence model. Each piece is a sentence along with the
+ * whitespace that follows it, so the pieces cover the content contiguously.
+ * <p>
+ * A model is loaded once per JVM and language, and the splitter of a language is shared by every chunker. Detectors
+ * keep state while detecting and cannot be shared between threads, so each split borrows an idle detector from a
+ * lock-free pool and returns it afterwards. The pool grows to the peak number of concurrent splits, after which
+ * chunking documents in parallel creates no further detectors.
+ */
+final class SentenceDetectorSplitter implements RecursiveChunker.Splitter {
+
+    static final String DEFAULT_LANGUAGE = "en";
+
+    // Sentence models available on the class path, by language code
+    private static final Map<String, String> MODEL_RESOURCES = Map.of(
+            "en", "/opennlp/opennlp-en-ud-ewt-sentence-1.0-1.9.3.bin");
+    private static final Map<String, SentenceDetectorSplitter> SPLITTERS = new ConcurrentHashMap<>();
+
+    private final SentenceModel model;
+    private final Queue<SentenceDetectorME> detectors = new ConcurrentLinkedQueue<>();
+
+    private SentenceDetectorSplitter(SentenceModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns the splitter of the given language, loading its model on first use.
+     */
+    static SentenceDetectorSplitter forLanguage(String language) {
+        return SPLITTERS.computeIfAbsent(language, SentenceDetectorSplitter::load);
+    }
+
+    private static SentenceDetectorSplitter load(String language) {
+        String resource = MODEL_RESOURCES.get(language);
+        if (resource == null) {
+            throw new IllegalArgumentException("No sentence detection model available for language " + language);
+        }
+        try (InputStream stream = SentenceDetectorSplitter.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalStateException("Sentence detection model not found: " + resource);
+            }
+            return new SentenceDetectorSplitter(new SentenceModel(stream));
+        } catch (IOException e) {
+            throw new IllegalStateException("Error loading sentence detection model: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Iterator<RecursiveChunker.Chunk> split(String content, int start, int end) {
+        Span[] sentences = detect(content.substring(start, end));
+        List<RecursiveChunker.Chunk> pieces = new ArrayList<>(sentences.length + 1);
+        int pieceStart = start;
+        for (Span sentence : sentences) {
+            int sentenceStart = start + sentence.getStart();
+            if (sentenceStart > pieceStart) {
+                pieces.add(new RecursiveChunker.Chunk(content, pieceStart, sentenceStart, ChunkMetadata.EMPTY));
+                pieceStart = sentenceStart;
+            }
+        }
+        pieces.add(new RecursiveChunker.Chunk(content, pieceStart, end, ChunkMetadata.EMPTY));
+        return pieces.iterator();
+    }
+
+    private Span[] detect(String text) {
+        SentenceDetectorME detector = detectors.poll();
+        if (detector == null) {
+            detector = new SentenceDetectorME(model);
+        }
+        try {
+            return detector.sentPosDetect(text);
+        } finally {
+            detectors.offer(detector);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+/**
+ * The metrics used to compare vectors, matching the {@code ai:SimilarityMetric} enum.
+ * <p>
+ * Vectors are ranked by a key that is larger the closer a vector is to the query, so that every metric can share the
+ * same top-K selection. The key is converted to the reported score only for the vectors that are returned.
+ */
+enum SimilarityMetric {
+    COSINE,
+    EUCLIDEAN,
+    DOT_PRODUCT;
+
+    /**
+     * Returns the rank key of the vector of the given dimension starting at {@code offset} in {@code vectors}.
+     *
+     * @param queryNorm the Euclidean norm of the query
+     * @param norm      the Euclidean norm of the stored vector
+     */
+    float rankKey(float[] query, float queryNorm, float[] vectors, int offset, int dimension, float norm) {
+        return rankKey(query, 0, queryNorm, vectors, offset, norm, dimension);
+    }
+
+    /**
+     * Returns the rank key of the vector starting at {@code bOffset} in {@code b} relative to the vector starting at
+     * {@code aOffset} in {@code a}, both of the given dimension and with the given Euclidean norms.
+     */
+    float rankKey(float[] a, int aOffset, float aNorm, float[] b, int bOffset, float bNorm, int dimension) {
+        return switch (this) {
+            case COSINE -> {
+                float denominator = aNorm * bNorm;
+                yield denominator == 0 ? 0 : VectorMath.dot(a, aOffset, b, bOffset, dimension) / denominator;
+            }
+            // The square root is monotonic, so it is only taken for the returned vectors
+            case EUCLIDEAN -> -VectorMath.squaredDistance(a, aOffset, b, bOffset, dimension);
+            case DOT_PRODUCT -> VectorMath.dot(a, aOffset, b, bOffset, dimension);
+        };
+    }
+
+    /**
+     * Returns the score reported for a vector with the given rank key, which is the Euclidean distance for
+     * {@code EUCLIDEAN} and the similarity for the other metrics.
+     */
+    double score(float rankKey) {
+        return this == EUCLIDEAN ? Math.sqrt(-rankKey) : rankKey;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Chunks content that arrives incrementally without holding the whole document in memory.
+ * <p>
+ * Content is accumulated in a window of a few chunk sizes. Once the window is full it is chunked, every chunk except
+ * the last one is emitted, and the window is advanced to the start of the last chunk, which may still grow with the
+ * content that follows. Memory is therefore bounded by the window rather than by the size of the document.
+ * <p>
+ * Since each window is chunked independently, splitter state that spans windows (such as the enclosing markdown
+ * header) is not carried across window boundaries.
+ */
+class StreamingChunker {
+
+    private static final int CHUNKS_PER_WINDOW = 4;
+
+    private final Function<String, List<RecursiveChunker.Chunk>> chunker;
+    private final int windowSize;
+    private final StringBuilder window = new StringBuilder();
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // Bytes of a multi-byte character split across two blocks
+    private ByteBuffer undecoded = ByteBuffer.allocate(0);
+    private int emitted = 0;
+    private boolean finished = false;
+
+    StreamingChunker(Function<String, List<RecursiveChunker.Chunk>> chunker, int maxChunkSize, int maxOverlapSize) {
+        this.chunker = chunker;
+        this.windowSize = CHUNKS_PER_WINDOW * maxChunkSize + maxOverlapSize;
+    }
+
+    static StreamingChunker forMarkdown(MarkdownChunker.MarkdownChunkStrategy strategy, int maxChunkSize,
+                                        int maxOverlapSize) {
+        return new StreamingChunker(content -> MarkdownChunker.split(content, strategy, maxChunkSize, maxOverlapSize),
+                maxChunkSize, maxOverlapSize);
+    }
+
+    static StreamingChunker forText(TextChunker.TextChunkStrategy strategy, int maxChunkSize, int maxOverlapSize) {
+        return new StreamingChunker(content -> TextChunker.split(content, strategy, maxChunkSize, maxOverlapSize),
+                maxChunkSize, maxOverlapSize);
+    }
+
+    static StreamingChunker forHtml(HtmlChunker.HtmlChunkStrategy strategy, int maxChunkSize, int maxOverlapSize) {
+        return new StreamingChunker(content -> HtmlChunker.split(content, strategy, maxChunkSize, maxOverlapSize),
+                maxChunkSize, maxOverlapSize);
+    }
+
+    /**
+     * Returns the number of chunks emitted so far, which is the index of the next chunk to be emitted.
+     */
+    int emitted() {
+        return emitted;
+    }
+
+    /**
+     * Appends UTF-8 encoded bytes and returns the chunks that can no longer change.
+     */
+    List<RecursiveChunker.Chunk> feed(byte[] bytes) {
+        ByteBuffer input = ByteBuffer.allocate(undecoded.remaining() + bytes.length);
+        input.put(undecoded).put(bytes).flip();
+        CharBuffer output = CharBuffer.allocate(input.remaining());
+        decoder.decode(input, output, false);
+        undecoded = ByteBuffer.allocate(input.remaining()).put(input).flip();
+        output.flip();
+        return feed(output);
+    }
+
+    /**
+     * Appends text and returns the chunks that can no longer change.
+     */
+    List<RecursiveChunker.Chunk> feed(CharSequence text) {
+        if (finished) {
+            throw new IllegalStateException("Chunker has already been finished");
+        }
+        window.append(text);
+        List<RecursiveChunker.Chunk> ready = new ArrayList<>();
+        while (window.length() >= windowSize) {
+            advance(ready);
+        }
+        return ready;
+    }
+
+    /**
+     * Signals the end of the content and returns the remaining chunks.
+     */
+    List<RecursiveChunker.Chunk> finish() {
+        if (finished) {
+            return List.of();
+        }
+        CharBuffer output = CharBuffer.allocate(undecoded.remaining() + 1);
+        decoder.decode(undecoded, output, true);
+        decoder.flush(output);
+        output.flip();
+        window.append(output);
+        finished = true;
+
+        List<RecursiveChunker.Chunk> ready = new ArrayList<>();
+        if (!window.isEmpty()) {
+            ready.addAll(chunker.apply(window.toString()));
+            window.setLength(0);
+        }
+        emitted += ready.size();
+        return ready;
+    }
+
+    private void advance(List<RecursiveChunker.Chunk> ready) {
+        List<RecursiveChunker.Chunk> chunks = chunker.apply(window.toString());
+        RecursiveChunker.Chunk last = chunks.isEmpty() ? null : chunks.getLast();
+        if (last == null || last.start() == 0) {
+            // Nothing to hold back, the whole window is final
+            ready.addAll(chunks);
+            emitted += chunks.size();
+            window.setLength(0);
+            return;
+        }
+        List<RecursiveChunker.Chunk> done = chunks.subList(0, chunks.size() - 1);
+        ready.addAll(done);
+        emitted += done.size();
+        window.delete(0, last.start());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Chunks plain text by paragraphs, lines, sentences, words or characters.
+ * <p>
+ * Each strategy is a list of splitters for {@link RecursiveChunker}: the text is split at the delimiters of the
+ * strategy, and a part that does not fit in a chunk is split with the finer strategies the strategy falls back to,
+ * down to the {@link RecursiveChunker.HardCutSplitter}. Chunks are therefore views over the text, from which the
+ * whitespace around each chunk is trimmed. Sentences are found with the shared sentence detector of
+ * {@link SentenceDetectorSplitter}, so the model is never loaded per call.
+ */
+class TextChunker {
+
+    private static final RecursiveChunker.Splitter PARAGRAPH_SPLITTER =
+            new RecursiveChunker.SimpleDelimiterSplitter(Pattern.compile("\\s*(?>\\R)\\s*(?>\\R)\\s*"));
+    private static final RecursiveChunker.Splitter LINE_SPLITTER =
+            new RecursiveChunker.SimpleDelimiterSplitter(Pattern.compile("\\s*(?>\\R)\\s*"));
+    private static final RecursiveChunker.Splitter WORD_SPLITTER =
+            new RecursiveChunker.SimpleDelimiterSplitter(Pattern.compile("\\s+"));
+
+    enum TextChunkStrategy {
+        CHARACTER,
+        WORD,
+        SENTENCE,
+        LINE,
+        PARAGRAPH;
+
+        List<RecursiveChunker.Splitter> getSplitters() {
+            RecursiveChunker.Splitter sentences = RecursiveChunker.Splitter.createSentenceDetectorSplitter();
+            RecursiveChunker.Splitter characters = RecursiveChunker.Splitter.createCharacterSplitter();
+            return switch (this) {
+                case PARAGRAPH -> List.of(PARAGRAPH_SPLITTER, sentences, WORD_SPLITTER, characters);
+                case LINE -> List.of(LINE_SPLITTER, sentences, WORD_SPLITTER, characters);
+                case SENTENCE -> List.of(sentences, WORD_SPLITTER, characters);
+                case WORD -> List.of(WORD_SPLITTER, characters);
+                case CHARACTER -> List.of(characters);
+            };
+        }
+    }
+
+    private TextChunker() {
+    }
+
+    static List<RecursiveChunker.Chunk> split(String content, TextChunkStrategy strategy, int maxChunkSize,
+                                              int maxOverlapSize) {
+        if (maxChunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than 0");
+        }
+        if (maxOverlapSize > maxChunkSize) {
+            throw new IllegalArgumentException("Max overlap size must be less than or equal to chunk size");
+        }
+        RecursiveChunker chunker = new RecursiveChunker(Set.of());
+        return trim(chunker.chunkUsingSplitters(content, strategy.getSplitters(), maxChunkSize, maxOverlapSize));
+    }
+
+    /**
+     * Trims the whitespace around each chunk and drops the chunks that are blank. A part of a broken up chunk is
+     * linked to the trimmed chunk before it.
+     */
+    private static List<RecursiveChunker.Chunk> trim(List<RecursiveChunker.Chunk> chunks) {
+        List<RecursiveChunker.Chunk> trimmed = new ArrayList<>(chunks.size());
+        for (RecursiveChunker.Chunk chunk : chunks) {
+            String content = chunk.content();
+            int start = chunk.start();
+            int end = chunk.end();
+            while (start < end && Character.isWhitespace(content.charAt(start))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(content.charAt(end - 1))) {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+            long prev = chunk.prev() == RecursiveChunker.Chunk.NO_PREV || trimmed.isEmpty()
+                    ? RecursiveChunker.Chunk.NO_PREV : trimmed.getLast().id();
+            trimmed.add(new RecursiveChunker.Chunk(content, start, end, chunk.metadata(), prev));
+        }
+        return trimmed;
+    }
+}
@@ -18,29 +18,36 @@
 
 package io.ballerina.stdlib.ai;
 
+import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.TupleType;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
-import org.apache.tika.parser.ParseContext;
-import org.apache.tika.parser.Parser;
-import org.apache.tika.parser.microsoft.ooxml.OOXMLParser;
-import org.apache.tika.parser.pdf.PDFParser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.xml.sax.SAXException;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 import static io.ballerina.stdlib.ai.ModuleUtils.createError;
 
@@ -51,11 +58,21 @@ public class TextDataLoader {
     private static final String CONTENT_FIELD = "content";
     private static final String MIME_TYPE_FIELD = "mimeType";
     private static final String FILE_NAME_FIELD = "fileName";
+    private static final String PATH_FIELD = "path";
+    private static final String FILE_SIZE_FIELD = "fileSize";
+    private static final String MODIFIED_AT_FIELD = "modifiedAt";
+    private static final String PAGE_FIELD = "page";
+    private static final String PDF_PAGE_READER = "pdfPageReader";
+    private static final String DIRECTORY_LOADER = "directoryLoader";
+    private static final String DOCUMENT_LIMIT_EXCEEDED_ERROR = "DocumentLimitExceededError";
     private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
     private static final String TEXT_DOCUMENT_TYPE = "text";
     private static final String TEXT_DOCUMENT_RECORD = "TextDocument";
     private static final String X_TIKA_PREFIX = "x-tika";
     private static final int UNLIMITED_CONTENT_SIZE = -1; // No limit on content size for BodyContentHandler
+    // The type of time:Utc, which is the number of seconds since the epoch and the fraction of the second
+    private static final TupleType UTC_TYPE =
+            TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_DECIMAL));
 
     // MIME type constants
     private static final String MIME_TYPE_PDF = "application/pdf";
@@ -72,6 +89,7 @@ public class TextDataLoader {
     private static final String EXTENSION_PPTX = "pptx";
     private static final String EXTENSION_DOC = "doc";
     private static final String EXTENSION_PPT = "ppt";
+    private static final Set<String> MARKUP_EXTENSIONS = Set.of("md", "html", "htm");
 
     enum FileType {
         DOCX,
@@ -97,7 +115,21 @@ public class TextDataLoader {
             return new TextDocumentInfo(MIME_TYPE_PPTX, fileName, metadata, content);
         }
 
+        static TextDocumentInfo fromPdfPages(PdfPageReader.PageGroup pageGroup, String fileName) {
+            return new TextDocumentInfo(MIME_TYPE_PDF, fileName, pageGroup.metadata(), pageGroup.content());
+        }
+
         BMap<BString, Object> toBallerinaTextDocument() {
+            return toBallerinaTextDocument(createMetadataMap());
+        }
+
+        BMap<BString, Object> toBallerinaPageDocument(int firstPage) {
+            BMap<BString, Object> metadataMap = createMetadataMap();
+            metadataMap.put(StringUtils.fromString(PAGE_FIELD), (long) firstPage);
+            return toBallerinaTextDocument(metadataMap);
+        }
+
+        private BMap<BString, Object> toBallerinaTextDocument(BMap<BString, Object> metadataMap) {
             RecordType resultRecordType =
                     TypeCreator.createRecordType(TEXT_DOCUMENT_RECORD, ModuleUtils.getModule(), 0, false, 0);
             BMap<BString, Object> textDocument = ValueCreator.createRecordValue(resultRecordType);
@@ -107,7 +139,12 @@ public class TextDataLoader {
             
             // Set the content field
             textDocument.put(StringUtils.fromString(CONTENT_FIELD), StringUtils.fromString(content()));
+            textDocument.put(StringUtils.fromString(METADATA_FIELD), metadataMap);
+
+            return textDocument;
+        }
 
+        private BMap<BString, Object> createMetadataMap() {
             // Create metadata map with mimeType, fileName and other metadata
             BMap<BString, Object> metadataMap = ValueCreator.createMapValue();
             metadataMap.put(StringUtils.fromString(MIME_TYPE_FIELD),
@@ -118,72 +155,285 @@ public class TextDataLoader {
             for (Map.Entry<String, String> entry : metadata().entrySet()) {
                 metadataMap.put(StringUtils.fromString(entry.getKey()), StringUtils.fromString(entry.getValue()));
             }
-            
-            textDocument.put(StringUtils.fromString(METADATA_FIELD), metadataMap);
+            return metadataMap;
+        }
+    }
 
-            return textDocument;
+    /**
+     * A file loaded from a directory, identified by its path relative to the directory. Markdown and HTML files are
+     * read as is, so they carry the attributes of the file in place of extracted metadata.
+     */
+    record DirectoryFile(String path, TextDocumentInfo document, BasicFileAttributes markupAttributes) {
+
+        BMap<BString, Object> toBallerinaTextDocument() {
+            BMap<BString, Object> metadataMap;
+            if (markupAttributes == null) {
+                metadataMap = document.createMetadataMap();
+            } else {
+                metadataMap = ValueCreator.createMapValue();
+                metadataMap.put(StringUtils.fromString(FILE_NAME_FIELD), StringUtils.fromString(document.fileName()));
+                metadataMap.put(StringUtils.fromString(MODIFIED_AT_FIELD),
+                        toUtc(markupAttributes.lastModifiedTime().toInstant()));
+                metadataMap.put(StringUtils.fromString(FILE_SIZE_FIELD),
+                        ValueCreator.createDecimalValue(BigDecimal.valueOf(markupAttributes.size())));
+            }
+            metadataMap.put(StringUtils.fromString(PATH_FIELD), StringUtils.fromString(path));
+            return document.toBallerinaTextDocument(metadataMap);
+        }
+
+        private static BArray toUtc(Instant instant) {
+            BArray utc = ValueCreator.createTupleValue(UTC_TYPE);
+            utc.add(0, instant.getEpochSecond());
+            utc.add(1, ValueCreator.createDecimalValue(BigDecimal.valueOf(instant.getNano(), 9)));
+            utc.freezeDirect();
+            return utc;
         }
     }
 
-    public static Object readPdf(BString filePath) {
+    public static Object readPdf(Environment env, BString filePath) {
         String path = filePath.getValue();
-        TextDocumentInfo docInfo;
-        try {
-            docInfo = parsePDF(path);
-            return docInfo.toBallerinaTextDocument();
-        } catch (IOException | TikaException | SAXException e) {
-            return createError("Error reading document: " + e.getMessage());
-        } catch (RuntimeException e) {
-            return createError("Unexpected error: " + e.getMessage());
-        }
+        return readDocument(env, path, TextDataLoader::parsePDF);
     }
 
-    public static Object readDocx(BString filePath) {
+    public static Object readDocx(Environment env, BString filePath) {
         String path = filePath.getValue();
-        TextDocumentInfo docInfo;
-        try {
-            docInfo = parseOfficeX(path, FileType.DOCX);
-            return docInfo.toBallerinaTextDocument();
-        } catch (IOException | TikaException | SAXException e) {
-            return createError("Error reading document: " + e.getMessage());
-        } catch (RuntimeException e) {
-            return createError("Unexpected error: " + e.getMessage());
-        }
+        return readDocument(env, path, (file, limits) -> parseOfficeX(file, FileType.DOCX, limits));
     }
 
-    public static Object readPptx(BString filePath) {
+    public static Object readPptx(Environment env, BString filePath) {
         String path = filePath.getValue();
-        TextDocumentInfo docInfo;
+        return readDocument(env, path, (file, limits) -> parseOfficeX(file, FileType.PPTX, limits));
+    }
+
+    /**
+     * Parses a document on the native worker pool while the calling strand yields, unless the text extracted from the
+     * file is found in the extraction cache. The document is parsed within the configured extraction limits.
+     */
+    private static Object readDocument(Environment env, String path, DocumentParser parser) {
+        return env.yieldAndRun(() -> {
+            try {
+                TextDocumentInfo docInfo = NativeWorkers.run(() -> extract(path, parser));
+                return docInfo.toBallerinaTextDocument();
+            } catch (ExtractionLimits.LimitExceededException e) {
+                return createError(DOCUMENT_LIMIT_EXCEEDED_ERROR, "Error reading document: " + e.getMessage(), null);
+            } catch (IOException | TikaException | SAXException e) {
+                return createError("Error reading document: " + e.getMessage());
+            } catch (Exception e) {
+                return createError("Unexpected error: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Starts reading the PDF file at the given path in groups of pages, which are returned by {@link #readPdfPages}.
+     */
+    public static Object openPdfPageReader(BObject documentStream, BString filePath, int pagesPerDocument) {
         try {
-            docInfo = parseOfficeX(path, FileType.PPTX);
-            return docInfo.toBallerinaTextDocument();
-        } catch (IOException | TikaException | SAXException e) {
-            return createError("Error reading document: " + e.getMessage());
+            closePdfPageReader(documentStream);
+            documentStream.addNativeData(PDF_PAGE_READER, new PdfPageReader(filePath.getValue(), pagesPerDocument));
+            return null;
         } catch (RuntimeException e) {
             return createError("Unexpected error: " + e.getMessage());
         }
     }
 
-    static TextDocumentInfo parsePDF(String path) throws IOException, TikaException, SAXException {
-        try (InputStream inputStream = new FileInputStream(path)) {
-            Parser parser = new PDFParser();
+    /**
+     * Returns a {@code TextDocument} for the next group of pages of the PDF file being read, with the number of the
+     * first page in the {@code page} metadata field, or nil once all the pages have been read.
+     */
+    public static Object readPdfPages(Environment env, BObject documentStream, BString filePath) {
+        PdfPageReader reader = (PdfPageReader) documentStream.getNativeData(PDF_PAGE_READER);
+        if (reader == null) {
+            return null;
+        }
+        String fileName = getFileName(filePath.getValue());
+        return env.yieldAndRun(() -> {
+            try {
+                PdfPageReader.PageGroup pageGroup = reader.next();
+                if (pageGroup == null) {
+                    closePdfPageReader(documentStream);
+                    return null;
+                }
+                return TextDocumentInfo.fromPdfPages(pageGroup, fileName)
+                        .toBallerinaPageDocument(pageGroup.firstPage());
+            } catch (ExtractionLimits.LimitExceededException e) {
+                closePdfPageReader(documentStream);
+                return createError(DOCUMENT_LIMIT_EXCEEDED_ERROR, "Error reading document: " + e.getMessage(), null);
+            } catch (IOException | TikaException | SAXException e) {
+                closePdfPageReader(documentStream);
+                return createError("Error reading document: " + e.getMessage());
+            } catch (Exception e) {
+                closePdfPageReader(documentStream);
+                return createError("Unexpected error: " + e.getMessage());
+            }
+        });
+    }
+
+    public static void closePdfPageReader(BObject documentStream) {
+        PdfPageReader reader = (PdfPageReader) documentStream.getNativeData(PDF_PAGE_READER);
+        if (reader != null) {
+            reader.close();
+            documentStream.addNativeData(PDF_PAGE_READER, null);
+        }
+    }
+
+    /**
+     * Starts loading the supported files under the given directory that match the given globs, at most
+     * {@code maxConcurrency} at a time. The loaded files are returned by {@link #readDirectoryDocument}.
+     */
+    public static Object openDirectoryLoader(Environment env, BObject documentStream, BString directory,
+                                             BArray include, BArray exclude, int maxConcurrency) {
+        List<String> includeGlobs = List.of(include.getStringArray());
+        List<String> excludeGlobs = List.of(exclude.getStringArray());
+        return env.yieldAndRun(() -> {
+            try {
+                Path directoryPath = Path.of(directory.getValue());
+                // Walking a large tree blocks, so it runs on the worker pool like the loading of the files
+                List<Path> supportedFiles = NativeWorkers.run(() -> DirectoryLoader.listFiles(directoryPath,
+                        includeGlobs, excludeGlobs).stream().filter(file -> getFileType(file) != null).toList());
+                closeDirectoryLoader(documentStream);
+                documentStream.addNativeData(DIRECTORY_LOADER, new DirectoryLoader<>(supportedFiles, maxConcurrency,
+                        file -> loadFile(directoryPath, file)));
+                return null;
+            } catch (IOException e) {
+                return createError("Error reading directory: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return createError("Reading the directory was interrupted");
+            } catch (Exception e) {
+                return createError("Unexpected error: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Returns the {@code TextDocument} of the next file to be loaded, an error if the file could not be loaded, or nil
+     * once all the files have been returned.
+     */
+    public static Object readDirectoryDocument(Environment env, BObject documentStream) {
+        @SuppressWarnings("unchecked")
+        DirectoryLoader<DirectoryFile> loader =
+                (DirectoryLoader<DirectoryFile>) documentStream.getNativeData(DIRECTORY_LOADER);
+        if (loader == null) {
+            return null;
+        }
+        return env.yieldAndRun(() -> {
+            try {
+                DirectoryLoader.Result<DirectoryFile> result = loader.next();
+                if (result == null) {
+                    closeDirectoryLoader(documentStream);
+                    return null;
+                }
+                String path = result.file().toString();
+                Exception error = result.error();
+                if (error instanceof ExtractionLimits.LimitExceededException) {
+                    return createError(DOCUMENT_LIMIT_EXCEEDED_ERROR,
+                            "Error reading document '" + path + "': " + error.getMessage(), null);
+                }
+                if (error instanceof IOException || error instanceof TikaException || error instanceof SAXException) {
+                    return createError("Error reading document '" + path + "': " + error.getMessage());
+                }
+                if (error != null) {
+                    return createError("Unexpected error reading document '" + path + "': " + error.getMessage());
+                }
+                return result.value().toBallerinaTextDocument();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closeDirectoryLoader(documentStream);
+                return createError("Loading the directory was interrupted");
+            }
+        });
+    }
+
+    public static void closeDirectoryLoader(BObject documentStream) {
+        DirectoryLoader<?> loader = (DirectoryLoader<?>) documentStream.getNativeData(DIRECTORY_LOADER);
+        if (loader != null) {
+            loader.close();
+            documentStream.addNativeData(DIRECTORY_LOADER, null);
+        }
+    }
+
+    private static DirectoryFile loadFile(Path directory, Path file) throws IOException, TikaException, SAXException {
+        String path = file.toString();
+        // Separated by slashes on every platform, so that it identifies the same document wherever it is loaded
+        String relativePath = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+        return switch (getFileType(file)) {
+            case EXTENSION_PDF -> new DirectoryFile(relativePath, extract(path, TextDataLoader::parsePDF), null);
+            case EXTENSION_DOCX -> new DirectoryFile(relativePath,
+                    extract(path, (source, limits) -> parseOfficeX(source, FileType.DOCX, limits)), null);
+            case EXTENSION_PPTX -> new DirectoryFile(relativePath,
+                    extract(path, (source, limits) -> parseOfficeX(source, FileType.PPTX, limits)), null);
+            default -> readMarkupFile(relativePath, file);
+        };
+    }
+
+    /**
+     * Reads a markdown or HTML file as is, with the same metadata as {@code readMarkupDocument}.
+     */
+    private static DirectoryFile readMarkupFile(String relativePath, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        TextDocumentInfo document = new TextDocumentInfo(null, getFileName(file.toString()), Map.of(), content);
+        return new DirectoryFile(relativePath, document, attributes);
+    }
+
+    /**
+     * Returns the lower case extension of the given file if it is a supported file type, or {@code null} otherwise.
+     */
+    private static String getFileType(Path file) {
+        String fileName = file.getFileName().toString();
+        int dotIndex = fileName.lastIndexOf('.');
+        if (dotIndex < 0) {
+            return null;
+        }
+        String extension = fileName.substring(dotIndex + 1).toLowerCase(Locale.ENGLISH);
+        return switch (extension) {
+            case EXTENSION_PDF, EXTENSION_DOCX, EXTENSION_PPTX -> extension;
+            default -> MARKUP_EXTENSIONS.contains(extension) ? extension : null;
+        };
+    }
+
+    private static TextDocumentInfo extract(String path, DocumentParser parser)
+            throws IOException, TikaException, SAXException {
+        ExtractionLimits limits = ExtractionLimits.current();
+        // A cached document may have been extracted under other limits, so it is checked against the current ones
+        limits.checkInputSize(path);
+        TextDocumentInfo document =
+                ExtractionCache.load(path, () -> limits.extract(path, () -> parser.parse(path, limits)));
+        limits.checkCharacters(document.content());
+        return document;
+    }
+
+    /**
+     * Parses the document at a path within the limits captured when its load started.
+     */
+    @FunctionalInterface
+    interface DocumentParser {
+        TextDocumentInfo parse(String path, ExtractionLimits limits) throws IOException, TikaException, SAXException;
+    }
+
+    @FunctionalInterface
+    interface TextExtractor {
+        TextDocumentInfo extract() throws IOException, TikaException, SAXException;
+    }
+
+    static TextDocumentInfo parsePDF(String path, ExtractionLimits limits)
+            throws IOException, TikaException, SAXException {
+        try (InputStream inputStream = Files.newInputStream(Path.of(path))) {
             BodyContentHandler handler = new BodyContentHandler(UNLIMITED_CONTENT_SIZE);
             Metadata metadata = new Metadata();
-            ParseContext context = new ParseContext();
-            parser.parse(inputStream, handler, metadata, context);
+            DocumentParsers.parsePdf(inputStream, limits.guard(handler), metadata);
             String content = handler.toString();
             return TextDocumentInfo.fromPdf(content, extractMetadata(metadata), getFileName(path));
         }
     }
 
-    static TextDocumentInfo parseOfficeX(String path, FileType fileType)
+    static TextDocumentInfo parseOfficeX(String path, FileType fileType, ExtractionLimits limits)
             throws IOException, TikaException, SAXException {
-        try (InputStream inputStream = new FileInputStream(path)) {
-            Parser parser = new OOXMLParser();
+        try (InputStream inputStream = Files.newInputStream(Path.of(path))) {
             BodyContentHandler handler = new BodyContentHandler(UNLIMITED_CONTENT_SIZE);
             Metadata metadata = new Metadata();
-            ParseContext context = new ParseContext();
-            parser.parse(inputStream, handler, metadata, context);
+            DocumentParsers.parseOfficeX(inputStream, limits.guard(handler), metadata);
             String content = handler.toString();
             return switch (fileType) {
                 case DOCX -> TextDocumentInfo.fromDocx(content, extractMetadata(metadata), getFileName(path));
@@ -206,12 +456,10 @@ public class TextDataLoader {
     }
 
     static String parseOfficeX(String path) {
-        try (InputStream inputStream = new FileInputStream(path)) {
-            Parser parser = new OOXMLParser();
+        try (InputStream inputStream = Files.newInputStream(Path.of(path))) {
             BodyContentHandler handler = new BodyContentHandler(UNLIMITED_CONTENT_SIZE);
             Metadata metadata = new Metadata();
-            ParseContext context = new ParseContext();
-            parser.parse(inputStream, handler, metadata, context);
+            DocumentParsers.parseOfficeX(inputStream, handler, metadata);
             return handler.toString();
         } catch (IOException | TikaException | SAXException e) {
             throw new RuntimeException(e);
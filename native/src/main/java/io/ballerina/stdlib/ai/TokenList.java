@@ -0,0 +1,137 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Tokens of a single kind in the order they appear in the content. Each token spans {@code [start, end)} and
+ * captures the text within {@code [textStart, textEnd)}, such as the title of a header or the language of a code
+ * block.
+ */
+class TokenList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int[] textStarts = new int[INITIAL_CAPACITY];
+    private int[] textEnds = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    void add(int start, int end, int textStart, int textEnd) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            textStarts = Arrays.copyOf(textStarts, capacity);
+            textEnds = Arrays.copyOf(textEnds, capacity);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        textStarts[size] = textStart;
+        textEnds[size] = textEnd;
+        size++;
+    }
+
+    /**
+     * Returns the first token that starts at or after {@code from} and ends at or before {@code to}, or -1 if
+     * there is none. This is the token a regex search over the region {@code [from, to)} would find, as tokens
+     * of a kind that start later never end earlier.
+     */
+    int find(int from, int to) {
+        int index = Arrays.binarySearch(starts, 0, size, from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < size && ends[index] <= to ? index : -1;
+    }
+
+    int start(int index) {
+        return starts[index];
+    }
+
+    int end(int index) {
+        return ends[index];
+    }
+
+    String text(String content, int index) {
+        return content.substring(textStarts[index], textEnds[index]);
+    }
+
+    boolean hasText(int index) {
+        return textEnds[index] > textStarts[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Iterates over the pieces of {@code [start, end)} separated by the tokens of a list, emitting each token as a
+     * piece of its own.
+     */
+    static class DelimiterIterator implements Iterator<RecursiveChunker.Chunk> {
+
+        final String content;
+        final TokenList delimiters;
+        private final int end;
+        private int lastIndex;
+
+        DelimiterIterator(String content, TokenList delimiters, int start, int end) {
+            this.content = content;
+            this.delimiters = delimiters;
+            this.end = end;
+            this.lastIndex = start;
+        }
+
+        ChunkMetadata pieceMetadata() {
+            return ChunkMetadata.EMPTY;
+        }
+
+        ChunkMetadata delimiterMetadata(int token) {
+            return ChunkMetadata.EMPTY;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return lastIndex < end;
+        }
+
+        @Override
+        public RecursiveChunker.Chunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int pieceStart = lastIndex;
+            int token = delimiters.find(lastIndex, end);
+            ChunkMetadata metadata;
+            if (token >= 0 && delimiters.start(token) == lastIndex) {
+                lastIndex = delimiters.end(token);
+                metadata = delimiterMetadata(token);
+            } else {
+                lastIndex = token >= 0 ? delimiters.start(token) : end;
+                metadata = pieceMetadata();
+            }
+            return new RecursiveChunker.Chunk(content, pieceStart, lastIndex, metadata);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+/**
+ * Selects the slots with the largest keys out of a stream of slots, keeping at most the given number of them in a
+ * binary min-heap of primitive arrays.
+ * <p>
+ * Slots with equal keys are ordered by slot, the lower slot first, so that the selection does not depend on the order
+ * in which slots are offered.
+ */
+final class TopK {
+
+    private final int[] slots;
+    private final float[] keys;
+    private int size;
+
+    TopK(int capacity) {
+        this.slots = new int[capacity];
+        this.keys = new float[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == slots.length;
+    }
+
+    /**
+     * Returns the smallest key kept, which a slot must exceed to be kept once the selection is full.
+     */
+    float minKey() {
+        return keys[0];
+    }
+
+    /**
+     * Offers a slot, returning whether it is kept.
+     */
+    boolean offer(int slot, float key) {
+        if (slots.length == 0) {
+            return false;
+        }
+        if (size < slots.length) {
+            slots[size] = slot;
+            keys[size] = key;
+            siftUp(size++);
+            return true;
+        }
+        if (!isBelow(slots[0], keys[0], slot, key)) {
+            return false;
+        }
+        slots[0] = slot;
+        keys[0] = key;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Empties the selection, returning the slots kept from the largest key to the smallest. The keys of the slots are
+     * written to the start of {@code sortedKeys}, if it is given.
+     */
+    int[] drain(float[] sortedKeys) {
+        int[] sortedSlots = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sortedSlots[i] = slots[0];
+            if (sortedKeys != null) {
+                sortedKeys[i] = keys[0];
+            }
+            size--;
+            if (size > 0) {
+                slots[0] = slots[size];
+                keys[0] = keys[size];
+                siftDown(0);
+            }
+        }
+        return sortedSlots;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBelow(slots[index], keys[index], slots[parent], keys[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && isBelow(slots[left], keys[left], slots[smallest], keys[smallest])) {
+                smallest = left;
+            }
+            if (right < size && isBelow(slots[right], keys[right], slots[smallest], keys[smallest])) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static boolean isBelow(int slot, float key, int otherSlot, float otherKey) {
+        return key < otherKey || (key == otherKey && slot > otherSlot);
+    }
+
+    private void swap(int i, int j) {
+        int slot = slots[i];
+        slots[i] = slots[j];
+        slots[j] = slot;
+        float key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A dense vector index that finds the entries nearest to a query by scanning their vectors.
+ * <p>
+ * The entries are kept in immutable {@link VectorSegment}s, each holding a batch of entries with their vectors stored
+ * contiguously. A query reads the latest published snapshot of the segments without taking a lock, so queries run
+ * concurrently with each other and with writers. The nearest entries of all segments are selected with a heap bounded
+ * by the number requested, rather than by sorting every entry. A metadata filter is evaluated against the
+ * {@link MetadataIndex} of each segment before its vectors are compared, so only the selected entries are scored, and a
+ * query without a vector reads only the selected entries.
+ * <p>
+ * Optionally, an {@link HnswGraph} over each segment answers queries for a limited number of entries approximately,
+ * exploring only part of the segment. A segment is scanned instead when its graph yields fewer entries than requested,
+ * which happens when a filter rejects most of the entries near the query. Optionally, the vectors are also kept as
+ * {@link QuantizedVectors} codes, and a scan for a limited number of entries reads only the codes to shortlist a
+ * multiple of the entries requested, which are then ranked with their full precision vectors. The codes are several
+ * times smaller than the vectors, so the scan reads less memory. The values of the entries need not keep their vectors,
+ * since the matches returned carry a copy of them.
+ * <p>
+ * Writers are serialized by a lock. Adding entries appends a segment, and replacing an entry moves it to the new
+ * segment, so entries are kept in the order they were added. Deleting or replacing an entry marks it as deleted from
+ * the next version of the index, which queries reading earlier snapshots ignore. Adjacent segments are merged in the
+ * background, so that the number of segments grows logarithmically with the number of entries, and a segment with
+ * more deleted entries than remaining ones is rewritten without them.
+ *
+ * @param <T> the type of the value stored with each vector
+ */
+final class VectorIndex<T> {
+
+    private static final Executor MERGER = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("ballerina-ai-vector-store-merger").daemon().factory());
+
+    private final SimilarityMetric metric;
+    private final HnswGraph.Config hnswConfig;
+    private final QuantizedVectors.Config quantization;
+    private final Executor mergeExecutor;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // The segment and slot of each entry, which only writers use
+    private final Map<String, Location<T>> locations = new HashMap<>();
+    private final AtomicBoolean mergeScheduled = new AtomicBoolean();
+    private volatile Snapshot<T> snapshot = Snapshot.of(0, 0, List.of(), new int[0]);
+
+    /**
+     * An entry to add to the index, with the metadata that filters compare, or {@code null} if it has none.
+     */
+    record Entry<T>(String id, float[] vector, T value, Map<String, Object> metadata) {
+
+        Entry(String id, float[] vector, T value) {
+            this(id, vector, value, null);
+        }
+    }
+
+    /**
+     * An entry returned by a query, with the score of its vector, or {@code 0} if the query has no vector, and a copy
+     * of the vector of the entry.
+     */
+    record Match<T>(String id, T value, double score, float[] vector) {
+    }
+
+    private record Location<T>(VectorSegment<T> segment, int slot) {
+    }
+
+    /**
+     * The segments visible at a version of the index, with the number of entries of each visible at that version.
+     * The slots of the segments are numbered consecutively from the first segment, starting at their {@code bases}.
+     * The dimension is taken from the first vector added to an empty index.
+     */
+    private record Snapshot<T>(long version, int dimension, List<VectorSegment<T>> segments, int[] visible,
+                               int[] bases, int size) {
+
+        static <T> Snapshot<T> of(long version, int dimension, List<VectorSegment<T>> segments, int[] visible) {
+            int[] bases = new int[segments.size()];
+            int size = 0;
+            for (int i = 0, base = 0; i < bases.length; base += segments.get(i).size(), i++) {
+                bases[i] = base;
+                size += visible[i];
+            }
+            return new Snapshot<>(version, dimension, List.copyOf(segments), visible, bases, size);
+        }
+
+        int segmentOf(int slot) {
+            int index = Arrays.binarySearch(bases, slot);
+            return index >= 0 ? index : -index - 2;
+        }
+    }
+
+    VectorIndex(SimilarityMetric metric) {
+        this(metric, null, null);
+    }
+
+    /**
+     * Creates an index that answers queries with HNSW graphs built with the given configuration, or by scanning
+     * every vector if it is {@code null}, and that scans quantized codes of the vectors if a quantization is given.
+     */
+    VectorIndex(SimilarityMetric metric, HnswGraph.Config hnswConfig, QuantizedVectors.Config quantization) {
+        this(metric, hnswConfig, quantization, MERGER);
+    }
+
+    /**
+     * Creates an index that merges its segments with the given executor.
+     */
+    VectorIndex(SimilarityMetric metric, HnswGraph.Config hnswConfig, QuantizedVectors.Config quantization,
+                Executor mergeExecutor) {
+        this.metric = metric;
+        this.hnswConfig = hnswConfig;
+        this.quantization = quantization;
+        this.mergeExecutor = mergeExecutor;
+    }
+
+    int size() {
+        return snapshot.size();
+    }
+
+    int segmentCount() {
+        return snapshot.segments().size();
+    }
+
+    /**
+     * Adds the given entries, replacing the entries that have the same ids. Either all entries are added or, if any
+     * vector has a different dimension from the others, none are.
+     */
+    void addAll(List<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Snapshot<T> current = snapshot;
+            boolean empty = current.size() == 0;
+            int dimension = empty ? entries.get(0).vector().length : current.dimension();
+            for (Entry<T> entry : entries) {
+                if (entry.vector().length != dimension) {
+                    throw new IllegalArgumentException(String.format(
+                            "Vector of dimension %d does not match the dimension %d of the vector store",
+                            entry.vector().length, dimension));
+                }
+            }
+            VectorSegment<T> segment = new VectorSegment<>(entries, dimension, metric, hnswConfig, quantization);
+            // The segments of an empty index hold only deleted entries
+            List<VectorSegment<T>> segments = new ArrayList<>(empty ? List.of() : current.segments());
+            int[] visible = Arrays.copyOf(empty ? new int[0] : current.visible(), segments.size() + 1);
+            segments.add(segment);
+            visible[segments.size() - 1] = segment.size();
+            long version = current.version() + 1;
+            for (int slot = 0; slot < segment.size(); slot++) {
+                Location<T> replaced = locations.put(segment.id(slot), new Location<>(segment, slot));
+                if (replaced != null) {
+                    replaced.segment().delete(replaced.slot(), version);
+                    visible[indexOf(segments, replaced.segment())]--;
+                }
+            }
+            snapshot = Snapshot.of(version, dimension, segments, visible);
+        } finally {
+            writeLock.unlock();
+        }
+        scheduleMerge();
+    }
+
+    /**
+     * Deletes the entry with the given id, returning whether it was found.
+     */
+    boolean remove(String id) {
+        writeLock.lock();
+        try {
+            Location<T> location = locations.remove(id);
+            if (location == null) {
+                return false;
+            }
+            Snapshot<T> current = snapshot;
+            long version = current.version() + 1;
+            location.segment().delete(location.slot(), version);
+            if (locations.isEmpty()) {
+                snapshot = Snapshot.of(version, current.dimension(), List.of(), new int[0]);
+                return true;
+            }
+            int[] visible = current.visible().clone();
+            visible[indexOf(current.segments(), location.segment())]--;
+            snapshot = Snapshot.of(version, current.dimension(), current.segments(), visible);
+        } finally {
+            writeLock.unlock();
+        }
+        scheduleMerge();
+        return true;
+    }
+
+    /**
+     * Returns the entries nearest to the query, closest first, out of those whose metadata matches the filter.
+     *
+     * @param query  the query vector
+     * @param topK   the maximum number of entries returned, or zero or a negative value for all matching entries
+     * @param filter the condition that the metadata of the returned entries meets, or {@code null} for all entries
+     * @throws IllegalArgumentException if the query has a different dimension from the vectors, or if a value that is
+     *                                  not a number is compared with an ordering operator
+     */
+    List<Match<T>> search(float[] query, int topK, MetadataFilter filter) {
+        Snapshot<T> current = snapshot;
+        if (current.size() == 0) {
+            return List.of();
+        }
+        if (query.length != current.dimension()) {
+            throw new IllegalArgumentException(String.format(
+                    "Query vector of dimension %d does not match the dimension %d of the vector store",
+                    query.length, current.dimension()));
+        }
+        float queryNorm = VectorMath.norm(query);
+        int count = topK > 0 ? Math.min(topK, current.size()) : current.size();
+        TopK nearest = new TopK(count);
+        for (int i = 0; i < current.segments().size(); i++) {
+            if (current.visible()[i] == 0) {
+                continue;
+            }
+            VectorSegment<T> segment = current.segments().get(i);
+            BitSet selected = filter == null ? null : segment.select(filter, current.version());
+            segment.search(query, queryNorm, count, topK > 0, current.version(), selected, current.visible()[i],
+                    nearest, current.bases()[i]);
+        }
+        float[] keys = new float[count];
+        int[] slots = nearest.drain(keys);
+        List<Match<T>> matches = new ArrayList<>(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            int index = current.segmentOf(slots[i]);
+            matches.add(match(current.segments().get(index), slots[i] - current.bases()[index],
+                    metric.score(keys[i])));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the entries whose metadata matches the filter, in the order they were first added.
+     *
+     * @param limit  the maximum number of entries returned, or zero or a negative value for all matching entries
+     * @param filter the condition that the metadata of the returned entries meets, or {@code null} for all entries
+     * @throws IllegalArgumentException if a value that is not a number is compared with an ordering operator
+     */
+    List<Match<T>> entries(int limit, MetadataFilter filter) {
+        Snapshot<T> current = snapshot;
+        long version = current.version();
+        List<Match<T>> matches = new ArrayList<>();
+        for (int i = 0; i < current.segments().size() && (limit <= 0 || matches.size() < limit); i++) {
+            if (current.visible()[i] == 0) {
+                continue;
+            }
+            VectorSegment<T> segment = current.segments().get(i);
+            BitSet selected = filter == null ? null : segment.select(filter, version);
+            for (int slot = segment.next(0, version, selected); slot >= 0 && (limit <= 0 || matches.size() < limit);
+                 slot = segment.next(slot + 1, version, selected)) {
+                matches.add(match(segment, slot, 0));
+            }
+        }
+        return matches;
+    }
+
+    private Match<T> match(VectorSegment<T> segment, int slot, double score) {
+        return new Match<>(segment.id(slot), segment.value(slot), score, segment.vector(slot));
+    }
+
+    private static int indexOf(List<?> segments, Object segment) {
+        for (int i = 0; i < segments.size(); i++) {
+            if (segments.get(i) == segment) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void scheduleMerge() {
+        if (mergeScheduled.compareAndSet(false, true)) {
+            mergeExecutor.execute(this::mergeSegments);
+        }
+    }
+
+    private void mergeSegments() {
+        try {
+            for (Snapshot<T> current = snapshot; ; current = snapshot) {
+                int[] range = selectMerge(current);
+                if (range == null) {
+                    break;
+                }
+                merge(current, range[0], range[1]);
+            }
+        } finally {
+            mergeScheduled.set(false);
+        }
+        // A write published after the last selection did not schedule a merge, as this one was still running
+        if (selectMerge(snapshot) != null) {
+            scheduleMerge();
+        }
+    }
+
+    /**
+     * Returns the range of adjacent segments to merge next, or {@code null} if there is none. A segment is rewritten
+     * when less than half of its entries are visible, and two segments are merged when the visible entries of the later
+     * one are at least half as many as those of the earlier one.
+     */
+    private static int[] selectMerge(Snapshot<?> snapshot) {
+        int[] visible = snapshot.visible();
+        for (int i = 0; i < visible.length; i++) {
+            if (2L * visible[i] < snapshot.segments().get(i).size()) {
+                return new int[]{i, i + 1};
+            }
+        }
+        for (int i = visible.length - 1; i > 0; i--) {
+            if (2L * visible[i] >= visible[i - 1]) {
+                return new int[]{i - 1, i + 1};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces the segments in the given range of a snapshot with a segment of their visible entries, unless the
+     * segments were dropped in the meantime. Entries deleted while the segment is built are deleted from it too.
+     */
+    private void merge(Snapshot<T> source, int from, int to) {
+        List<VectorSegment<T>> merged = source.segments().subList(from, to);
+        List<Entry<T>> entries = new ArrayList<>();
+        List<Location<T>> origins = new ArrayList<>();
+        for (VectorSegment<T> segment : merged) {
+            for (int slot = 0; slot < segment.size(); slot++) {
+                if (segment.isVisible(slot, source.version())) {
+                    entries.add(segment.entry(slot));
+                    origins.add(new Location<>(segment, slot));
+                }
+            }
+        }
+        VectorSegment<T> segment = entries.isEmpty() ? null
+                : new VectorSegment<>(entries, source.dimension(), metric, hnswConfig, quantization);
+
+        writeLock.lock();
+        try {
+            Snapshot<T> current = snapshot;
+            int start = indexOf(current.segments(), merged.get(0));
+            if (start == -1) {
+                return;
+            }
+            List<VectorSegment<T>> segments = new ArrayList<>(current.segments().subList(0, start));
+            List<Integer> visible = new ArrayList<>();
+            for (int i = 0; i < start; i++) {
+                visible.add(current.visible()[i]);
+            }
+            if (segment != null) {
+                int count = 0;
+                for (int slot = 0; slot < segment.size(); slot++) {
+                    Location<T> origin = origins.get(slot);
+                    if (origin.segment().isDeleted(origin.slot())) {
+                        segment.delete(slot, 0);
+                    } else {
+                        locations.put(segment.id(slot), new Location<>(segment, slot));
+                        count++;
+                    }
+                }
+                segments.add(segment);
+                visible.add(count);
+            }
+            for (int i = start + merged.size(); i < current.segments().size(); i++) {
+                segments.add(current.segments().get(i));
+                visible.add(current.visible()[i]);
+            }
+            snapshot = Snapshot.of(current.version() + 1, current.dimension(), segments,
+                    visible.stream().mapToInt(Integer::intValue).toArray());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * An immutable batch of the entries of a {@link VectorIndex}, in the order they were added.
+ * <p>
+ * The vectors of the entries are stored one after another in a single {@code float[]}, so a scan reads memory
+ * sequentially instead of following a reference per entry, and their norms are computed once. The metadata of the
+ * entries is indexed by a {@link MetadataIndex}, and the quantized codes and the HNSW graph of the index, if any, are
+ * built over the entries of each segment before it is published. A segment with quantized codes and no graph keeps
+ * its vectors in {@link OffHeapVectors} instead, since its scans read only the codes, so that the codes are all that
+ * the entries hold on the heap.
+ * <p>
+ * The only state that changes afterwards is the version of the index in which each entry was deleted. An entry is
+ * visible to a query reading an earlier version, so deleting an entry neither copies the segment nor affects running
+ * queries.
+ *
+ * @param <T> the type of the value stored with each vector
+ */
+final class VectorSegment<T> {
+
+    private static final long NOT_DELETED = Long.MAX_VALUE;
+
+    private final SimilarityMetric metric;
+    private final int dimension;
+    // The vectors are either on the heap or, for quantized segments without a graph, off the heap
+    private final float[] vectors;
+    private final OffHeapVectors offHeapVectors;
+    private final float[] norms;
+    private final String[] ids;
+    private final Object[] values;
+    private final long[] deletedIn;
+    private final MetadataIndex metadata;
+    private final QuantizedVectors codes;
+    private final int rerankFactor;
+    private final HnswGraph graph;
+
+    /**
+     * Creates a segment of the given entries, whose vectors have the given dimension.
+     */
+    VectorSegment(List<VectorIndex.Entry<T>> entries, int dimension, SimilarityMetric metric,
+                  HnswGraph.Config hnswConfig, QuantizedVectors.Config quantization) {
+        int size = entries.size();
+        if ((long) size * dimension > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Vector store cannot add more than "
+                    + (Integer.MAX_VALUE - 8) / Math.max(dimension, 1) + " vectors of dimension " + dimension
+                    + " at once");
+        }
+        this.metric = metric;
+        this.dimension = dimension;
+        boolean offHeap = quantization != null && hnswConfig == null;
+        this.vectors = offHeap ? null : new float[size * dimension];
+        this.offHeapVectors = offHeap ? new OffHeapVectors(dimension, size) : null;
+        this.norms = new float[size];
+        this.ids = new String[size];
+        this.values = new Object[size];
+        this.deletedIn = new long[size];
+        Arrays.fill(deletedIn, NOT_DELETED);
+        List<Map<String, Object>> entryMetadata = new ArrayList<>(size);
+        this.codes = quantization == null ? null : QuantizedVectors.create(quantization.encoding(), dimension, size);
+        this.rerankFactor = quantization == null ? 1 : quantization.rerankFactor();
+        for (int slot = 0; slot < size; slot++) {
+            VectorIndex.Entry<T> entry = entries.get(slot);
+            ids[slot] = entry.id();
+            values[slot] = entry.value();
+            if (offHeap) {
+                offHeapVectors.set(slot, entry.vector());
+            } else {
+                System.arraycopy(entry.vector(), 0, vectors, slot * dimension, dimension);
+            }
+            norms[slot] = VectorMath.norm(entry.vector());
+            entryMetadata.add(entry.metadata());
+            if (codes != null) {
+                codes.set(slot, entry.vector());
+            }
+        }
+        this.metadata = new MetadataIndex(entryMetadata);
+        this.graph = hnswConfig == null ? null : new HnswGraph(metric, hnswConfig);
+        if (graph != null) {
+            HnswGraph.Vectors graphVectors = new HnswGraph.Vectors(vectors, norms, dimension);
+            for (int slot = 0; slot < size; slot++) {
+                graph.insert(slot, graphVectors);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries of the segment, including deleted entries.
+     */
+    int size() {
+        return ids.length;
+    }
+
+    String id(int slot) {
+        return ids[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    T value(int slot) {
+        return (T) values[slot];
+    }
+
+    /**
+     * Returns a copy of the vector of an entry.
+     */
+    float[] vector(int slot) {
+        if (vectors != null) {
+            return Arrays.copyOfRange(vectors, slot * dimension, (slot + 1) * dimension);
+        }
+        float[] vector = new float[dimension];
+        offHeapVectors.get(slot, vector);
+        return vector;
+    }
+
+    VectorIndex.Entry<T> entry(int slot) {
+        return new VectorIndex.Entry<>(ids[slot], vector(slot), value(slot), metadata.metadata(slot));
+    }
+
+    /**
+     * Returns whether an entry is visible to queries reading the given version of the index.
+     */
+    boolean isVisible(int slot, long version) {
+        return deletedIn[slot] > version;
+    }
+
+    /**
+     * Returns whether an entry was deleted in any version of the index.
+     */
+    boolean isDeleted(int slot) {
+        return deletedIn[slot] != NOT_DELETED;
+    }
+
+    /**
+     * Deletes an entry from the given version of the index onwards.
+     */
+    void delete(int slot, long version) {
+        deletedIn[slot] = version;
+    }
+
+    /**
+     * Returns the slots whose metadata matches the filter, out of which only the slots visible to queries reading the
+     * given version of the index are used.
+     *
+     * @throws IllegalArgumentException if the value of a visible entry that is not a number is compared with an
+     *                                  ordering operator
+     */
+    BitSet select(MetadataFilter filter, long version) {
+        return metadata.select(filter, slot -> isVisible(slot, version));
+    }
+
+    /**
+     * Returns the first slot from {@code from} onwards that is visible to queries reading the given version of the
+     * index and that is selected by a filter, or {@code -1} if there is none.
+     *
+     * @param selected the slots selected by a filter, or {@code null} to select every slot
+     */
+    int next(int from, long version, BitSet selected) {
+        int slot = selected == null ? from : selected.nextSetBit(from);
+        while (slot >= 0 && slot < ids.length && !isVisible(slot, version)) {
+            slot = selected == null ? slot + 1 : selected.nextSetBit(slot + 1);
+        }
+        return slot >= 0 && slot < ids.length ? slot : -1;
+    }
+
+    /**
+     * Offers the entries nearest to the query to {@code nearest}, with their slots offset by {@code base}.
+     *
+     * @param count    the number of entries selected by the query
+     * @param limited  whether the query is for a limited number of entries, which the graph and the quantized codes
+     *                 are used to answer
+     * @param version  the version of the index that the query reads
+     * @param selected the slots selected by the filter of the query, or {@code null} if it has no filter
+     * @param visible  the number of entries visible to the query
+     */
+    void search(float[] query, float queryNorm, int count, boolean limited, long version, BitSet selected,
+                int visible, TopK nearest, int base) {
+        int candidates = selected == null ? visible : count(version, selected);
+        if (candidates == 0) {
+            return;
+        }
+        if (limited && graph != null) {
+            int expected = Math.min(count, candidates);
+            float[] keys = new float[expected];
+            IntPredicate accept = slot -> (selected == null || selected.get(slot)) && isVisible(slot, version);
+            int[] slots = graph.search(query, queryNorm, expected, accept,
+                    new HnswGraph.Vectors(vectors, norms, dimension), keys);
+            // Too few selected entries near the query are found when a filter rejects most of them
+            if (slots.length == expected) {
+                for (int i = 0; i < slots.length; i++) {
+                    nearest.offer(base + slots[i], keys[i]);
+                }
+                return;
+            }
+        }
+        // An off-heap vector is copied here to be compared with the query
+        float[] scratch = vectors == null ? new float[dimension] : null;
+        if (limited && codes != null) {
+            int size = (int) Math.min(candidates, (long) count * rerankFactor);
+            for (int slot : shortlist(query, queryNorm, size, version, selected)) {
+                nearest.offer(base + slot, rankKey(query, queryNorm, slot, scratch));
+            }
+            return;
+        }
+        for (int slot = next(0, version, selected); slot >= 0; slot = next(slot + 1, version, selected)) {
+            nearest.offer(base + slot, rankKey(query, queryNorm, slot, scratch));
+        }
+    }
+
+    private int count(long version, BitSet selected) {
+        int count = 0;
+        for (int slot = next(0, version, selected); slot >= 0; slot = next(slot + 1, version, selected)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the slots of the given number of entries nearest to the query by their quantized codes.
+     */
+    private int[] shortlist(float[] query, float queryNorm, int size, long version, BitSet selected) {
+        TopK candidates = new TopK(size);
+        QuantizedVectors.Scorer scorer = codes.scorer(metric, query, queryNorm, norms);
+        for (int slot = next(0, version, selected); slot >= 0; slot = next(slot + 1, version, selected)) {
+            candidates.offer(slot, scorer.score(slot));
+        }
+        return candidates.drain(new float[size]);
+    }
+
+    private float rankKey(float[] query, float queryNorm, int slot, float[] scratch) {
+        if (vectors != null) {
+            return metric.rankKey(query, queryNorm, vectors, slot * dimension, dimension, norms[slot]);
+        }
+        offHeapVectors.get(slot, scratch);
+        return metric.rankKey(query, queryNorm, scratch, 0, dimension, norms[slot]);
+    }
+}
@@ -20,8 +20,6 @@ module io.ballerina.stdlib.ai {
     requires io.ballerina.runtime;
     requires io.ballerina.lang;
     requires io.ballerina.lang.value;
-    requires langchain4j;
-    requires langchain4j.core;
     requires org.apache.tika.core;
     requires org.apache.tika.parser.pdf;
     requires java.xml;
@@ -172,12 +172,30 @@ public class AbstractTagSplitterTest {
         Assert.assertFalse(iterator.hasNext());
     }
 
-    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    @Test
     public void testUnclosedTag() {
         TestTagSplitter splitter = new TestTagSplitter("h1");
         Iterator<Chunk> iterator = splitter.split("Before<h1>Unclosed content");
-        while (iterator.hasNext()) {
-            iterator.next();
-        }
+
+        // An unclosed tag extends to the end of the content
+        Assert.assertEquals(iterator.next().piece(), "Before");
+        Assert.assertEquals(iterator.next().piece(), "<h1>Unclosed content");
+        Assert.assertEquals(iterator.next().piece(), "");
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testUnclosedTagFollowedByAnotherTag() {
+        TestTagSplitter splitter = new TestTagSplitter("p");
+        Iterator<Chunk> iterator = splitter.split("<p>First<P class=\"x\">Second</p>End");
+
+        // An unclosed tag extends up to the next opening tag
+        Assert.assertEquals(iterator.next().piece(), "");
+        Assert.assertEquals(iterator.next().piece(), "<p>First");
+        Assert.assertEquals(iterator.next().piece(), "");
+        Assert.assertEquals(iterator.next().piece(), "");
+        Assert.assertEquals(iterator.next().piece(), "<P class=\"x\">Second</p>");
+        Assert.assertEquals(iterator.next().piece(), "End");
+        Assert.assertFalse(iterator.hasNext());
     }
 }
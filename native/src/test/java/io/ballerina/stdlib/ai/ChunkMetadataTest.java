@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class ChunkMetadataTest {
+
+    @Test
+    public void testLaterEntriesShadowEarlierOnes() {
+        ChunkMetadata parent = ChunkMetadata.of("header", "Intro").with("type", "text");
+        ChunkMetadata child = parent.with("header", "Details");
+
+        Assert.assertEquals(child.get("header"), "Details");
+        Assert.assertEquals(child.get("type"), "text");
+        Assert.assertEquals(child, Map.of("header", "Details", "type", "text"));
+        Assert.assertEquals(child.size(), 2);
+        Assert.assertEquals(parent, Map.of("header", "Intro", "type", "text"));
+    }
+
+    @Test
+    public void testUnchangedMetadataIsShared() {
+        ChunkMetadata metadata = ChunkMetadata.of("header", "Intro");
+
+        Assert.assertSame(metadata.with("header", "Intro"), metadata);
+        Assert.assertSame(metadata.withAll(ChunkMetadata.EMPTY), metadata);
+        Assert.assertSame(ChunkMetadata.EMPTY.withAll(metadata), metadata);
+        Assert.assertSame(ChunkMetadata.of(metadata), metadata);
+        Assert.assertSame(ChunkMetadata.common(List.of(metadata, metadata)), metadata);
+    }
+
+    @Test
+    public void testCommonKeepsEqualEntries() {
+        ChunkMetadata first = ChunkMetadata.of(Map.of("header", "A", "type", "x"));
+        ChunkMetadata second = ChunkMetadata.of("header", "A").with("type", "y");
+
+        Assert.assertEquals(ChunkMetadata.common(List.of(first, second)), Map.of("header", "A"));
+        Assert.assertTrue(ChunkMetadata.common(List.of(first, ChunkMetadata.EMPTY)).isEmpty());
+    }
+
+    @Test
+    public void testLongChainsAreFlattened() {
+        ChunkMetadata metadata = ChunkMetadata.EMPTY;
+        for (int i = 0; i < 100; i++) {
+            metadata = metadata.with("header", "Header " + i).with("level", String.valueOf(i % 3));
+        }
+
+        Assert.assertEquals(metadata, Map.of("header", "Header 99", "level", "0"));
+        Assert.assertFalse(metadata.containsKey("missing"));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DirectoryLoaderTest {
+
+    private static Path createTree() throws IOException {
+        Path directory = Files.createTempDirectory("directory-loader");
+        Files.createDirectories(directory.resolve("docs/archive"));
+        for (String file : List.of("a.pdf", "b.md", "docs/c.pdf", "docs/d.txt", "docs/archive/e.pdf")) {
+            Files.writeString(directory.resolve(file), file);
+        }
+        return directory;
+    }
+
+    private static List<String> relativePaths(Path directory, List<Path> files) {
+        return files.stream().map(file -> directory.relativize(file).toString().replace('\\', '/')).toList();
+    }
+
+    @Test
+    public void testFilesAreFilteredWithGlobs() throws IOException {
+        Path directory = createTree();
+        Assert.assertEquals(relativePaths(directory, DirectoryLoader.listFiles(directory, List.of("**"), List.of())),
+                List.of("a.pdf", "b.md", "docs/archive/e.pdf", "docs/c.pdf", "docs/d.txt"));
+        Assert.assertEquals(relativePaths(directory,
+                        DirectoryLoader.listFiles(directory, List.of("**/*.pdf"), List.of("docs/archive/**"))),
+                List.of("a.pdf", "docs/c.pdf"));
+        Assert.assertEquals(relativePaths(directory,
+                        DirectoryLoader.listFiles(directory, List.of("*.pdf", "*.md"), List.of())),
+                List.of("a.pdf", "b.md"));
+    }
+
+    @Test
+    public void testFilesAreLoadedWithBoundedConcurrency() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            files.add(Path.of("file" + i));
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        DirectoryLoader.FileLoader<String> loader = file -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                if (file.toString().equals("file7")) {
+                    throw new IOException("Corrupt file");
+                }
+                return file.toString().toUpperCase();
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+
+        List<String> loaded = new ArrayList<>();
+        List<Path> failed = new ArrayList<>();
+        try (DirectoryLoader<String> directoryLoader = new DirectoryLoader<>(files, 3, loader)) {
+            for (var result = directoryLoader.next(); result != null; result = directoryLoader.next()) {
+                if (result.error() != null) {
+                    Assert.assertEquals(result.error().getMessage(), "Corrupt file");
+                    failed.add(result.file());
+                } else {
+                    loaded.add(result.value());
+                }
+            }
+        }
+
+        Assert.assertEquals(loaded.size(), 19);
+        Assert.assertEquals(failed, List.of(Path.of("file7")));
+        Assert.assertTrue(maxRunning.get() <= 3, "At most three files should be loaded at a time");
+    }
+
+    @Test
+    public void testClosedLoaderReturnsNoMoreResults() throws Exception {
+        List<Path> files = List.of(Path.of("a"), Path.of("b"), Path.of("c"));
+        AtomicInteger loads = new AtomicInteger();
+        DirectoryLoader<Path> directoryLoader = new DirectoryLoader<>(files, 1, file -> {
+            loads.incrementAndGet();
+            return file;
+        });
+        Assert.assertNotNull(directoryLoader.next());
+        directoryLoader.close();
+        Assert.assertNull(directoryLoader.next());
+        Assert.assertTrue(loads.get() <= 2, "Files should not be submitted after the loader is closed");
+    }
+
+    @Test
+    public void testClosingWhileWaitingReturnsNoResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        DirectoryLoader<Path> directoryLoader = new DirectoryLoader<>(List.of(Path.of("a")), 1, file -> {
+            loading.countDown();
+            Thread.sleep(10_000);
+            return file;
+        });
+        CompletableFuture<DirectoryLoader.Result<Path>> next = CompletableFuture.supplyAsync(() -> {
+            try {
+                return directoryLoader.next();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+        directoryLoader.close();
+        Assert.assertNull(next.get(5, TimeUnit.SECONDS));
+    }
+}
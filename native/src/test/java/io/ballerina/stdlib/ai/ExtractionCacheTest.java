@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class ExtractionCacheTest {
+
+    private static TextDataLoader.TextExtractor extractor(Path file, AtomicInteger extractions) {
+        return () -> {
+            extractions.incrementAndGet();
+            return new TextDataLoader.TextDocumentInfo("application/pdf", file.getFileName().toString(),
+                    Map.of("Author", "Ballerina"), Files.readString(file));
+        };
+    }
+
+    @Test
+    public void testUnchangedFilesAreNotExtractedAgain() throws Exception {
+        Path directory = Files.createTempDirectory("extraction-cache");
+        Path file = Files.writeString(directory.resolve("doc.pdf"), "First version");
+        AtomicInteger extractions = new AtomicInteger();
+        ExtractionCache cache = new ExtractionCache(directory.resolve("cache"), 1024 * 1024);
+
+        TextDataLoader.TextDocumentInfo extracted = cache.getOrExtract(file.toString(), extractor(file, extractions));
+        TextDataLoader.TextDocumentInfo cached = cache.getOrExtract(file.toString(), extractor(file, extractions));
+        Assert.assertEquals(extractions.get(), 1);
+        Assert.assertEquals(cached, extracted);
+
+        // An entry written by another cache sharing the directory is used as well
+        ExtractionCache reopened = new ExtractionCache(directory.resolve("cache"), 1024 * 1024);
+        Assert.assertEquals(reopened.getOrExtract(file.toString(), extractor(file, extractions)), extracted);
+        Assert.assertEquals(extractions.get(), 1);
+
+        Files.writeString(file, "Second, longer version");
+        TextDataLoader.TextDocumentInfo changed = cache.getOrExtract(file.toString(), extractor(file, extractions));
+        Assert.assertEquals(extractions.get(), 2);
+        Assert.assertEquals(changed.content(), "Second, longer version");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        Path directory = Files.createTempDirectory("extraction-cache");
+        Path cacheDirectory = directory.resolve("cache");
+        AtomicInteger extractions = new AtomicInteger();
+        ExtractionCache cache = new ExtractionCache(cacheDirectory, 600);
+
+        for (int i = 0; i < 10; i++) {
+            Path file = Files.writeString(directory.resolve("doc" + i + ".pdf"), "x".repeat(100));
+            cache.getOrExtract(file.toString(), extractor(file, extractions));
+            // Entries are ordered by their modification times
+            Thread.sleep(10);
+        }
+
+        long size;
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            size = entries.mapToLong(entry -> entry.toFile().length()).sum();
+        }
+        Assert.assertTrue(size <= 600, "Cached entries should fit within the maximum size");
+        Path lastFile = directory.resolve("doc9.pdf");
+        cache.getOrExtract(lastFile.toString(), extractor(lastFile, extractions));
+        Assert.assertEquals(extractions.get(), 10, "The most recently used entry should be kept");
+        Path firstFile = directory.resolve("doc0.pdf");
+        cache.getOrExtract(firstFile.toString(), extractor(firstFile, extractions));
+        Assert.assertEquals(extractions.get(), 11, "The least recently used entry should be evicted");
+    }
+
+    @Test
+    public void testCorruptEntriesAreExtractedAgain() throws Exception {
+        Path directory = Files.createTempDirectory("extraction-cache");
+        Path cacheDirectory = directory.resolve("cache");
+        Path file = Files.writeString(directory.resolve("doc.pdf"), "Content");
+        AtomicInteger extractions = new AtomicInteger();
+        ExtractionCache cache = new ExtractionCache(cacheDirectory, 1024 * 1024);
+        cache.getOrExtract(file.toString(), extractor(file, extractions));
+
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            for (Path entry : entries.toList()) {
+                Files.write(entry, new byte[]{1, 2, 3});
+            }
+        }
+        Assert.assertEquals(cache.getOrExtract(file.toString(), extractor(file, extractions)).content(), "Content");
+        Assert.assertEquals(extractions.get(), 2);
+    }
+
+    @Test
+    public void testEntriesWithInvalidLengthsAreExtractedAgain() throws Exception {
+        Path directory = Files.createTempDirectory("extraction-cache");
+        Path cacheDirectory = directory.resolve("cache");
+        Path file = Files.writeString(directory.resolve("doc.pdf"), "Content");
+        AtomicInteger extractions = new AtomicInteger();
+        ExtractionCache cache = new ExtractionCache(cacheDirectory, 1024 * 1024);
+        cache.getOrExtract(file.toString(), extractor(file, extractions));
+
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            for (Path entry : entries.toList()) {
+                // A MIME type claiming to be Integer.MAX_VALUE bytes long
+                Files.write(entry, new byte[]{1, 0x7f, -1, -1, -1});
+            }
+        }
+        Assert.assertEquals(cache.getOrExtract(file.toString(), extractor(file, extractions)).content(), "Content");
+        Assert.assertEquals(extractions.get(), 2);
+    }
+
+    @Test
+    public void testStaleTempFilesAreDeleted() throws Exception {
+        Path cacheDirectory = Files.createTempDirectory("extraction-cache");
+        Path stale = Files.createTempFile(cacheDirectory, "extraction", ".tmp");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        Path recent = Files.createTempFile(cacheDirectory, "extraction", ".tmp");
+
+        new ExtractionCache(cacheDirectory, 1024 * 1024);
+        Assert.assertFalse(Files.exists(stale), "Temp files abandoned by earlier writers should be deleted");
+        Assert.assertTrue(Files.exists(recent), "Temp files that may still be written should be kept");
+    }
+}
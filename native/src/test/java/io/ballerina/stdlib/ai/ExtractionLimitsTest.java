@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class ExtractionLimitsTest {
+
+    private static TextDataLoader.TextDocumentInfo document(String content) {
+        return new TextDataLoader.TextDocumentInfo("application/pdf", "doc.pdf", Map.of(), content);
+    }
+
+    @Test
+    public void testFilesLargerThanTheLimitAreNotExtracted() throws Exception {
+        Path file = Files.writeString(Files.createTempFile("extraction-limits", ".pdf"), "x".repeat(100));
+        ExtractionLimits limits = new ExtractionLimits(-1, 50, -1);
+        try {
+            limits.extract(file.toString(), () -> {
+                Assert.fail("A file larger than the limit should not be extracted");
+                return null;
+            });
+            Assert.fail("Expected the size limit to be exceeded");
+        } catch (ExtractionLimits.LimitExceededException e) {
+            Assert.assertEquals(e.getMessage(), "Document size of 100 bytes exceeds the limit of 50 bytes");
+        }
+        Assert.assertEquals(new ExtractionLimits(-1, 100, -1).extract(file.toString(),
+                () -> document("content")).content(), "content");
+    }
+
+    @Test
+    public void testExtractionStopsAtTheCharacterLimit() throws Exception {
+        Path file = Files.createTempFile("extraction-limits", ".pdf");
+        ExtractionLimits limits = new ExtractionLimits(10, -1, -1);
+        char[] text = "0123456".toCharArray();
+        try {
+            limits.extract(file.toString(), () -> {
+                ContentHandler handler = limits.guard(new DefaultHandler());
+                handler.characters(text, 0, text.length);
+                handler.characters(text, 0, text.length);
+                Assert.fail("The second chunk of text should exceed the limit");
+                return null;
+            });
+            Assert.fail("Expected the character limit to be exceeded");
+        } catch (ExtractionLimits.LimitExceededException e) {
+            Assert.assertEquals(e.getMessage(), "Document text exceeds the limit of 10 characters");
+        }
+    }
+
+    @Test
+    public void testLimitExceededInsideAWrappedExceptionIsReported() throws Exception {
+        Path file = Files.createTempFile("extraction-limits", ".pdf");
+        ExtractionLimits limits = new ExtractionLimits(0, -1, -1);
+        try {
+            limits.extract(file.toString(), () -> {
+                try {
+                    limits.guard(new DefaultHandler()).characters(new char[]{'a'}, 0, 1);
+                    return null;
+                } catch (ExtractionLimits.LimitExceededException e) {
+                    throw new IOException("Parser failure", e);
+                }
+            });
+            Assert.fail("Expected the character limit to be exceeded");
+        } catch (ExtractionLimits.LimitExceededException e) {
+            Assert.assertEquals(e.getMessage(), "Document text exceeds the limit of 0 characters");
+        }
+    }
+
+    @Test
+    public void testWatchdogInterruptsSlowExtraction() throws Exception {
+        Path file = Files.createTempFile("extraction-limits", ".pdf");
+        ExtractionLimits limits = new ExtractionLimits(-1, -1, 100);
+        long start = System.nanoTime();
+        try {
+            limits.extract(file.toString(), () -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException("Interrupted");
+                }
+                return document("content");
+            });
+            Assert.fail("Expected the timeout to be exceeded");
+        } catch (ExtractionLimits.LimitExceededException e) {
+            Assert.assertEquals(e.getMessage(), "Document extraction exceeded the timeout of 100 milliseconds");
+        }
+        Assert.assertTrue(System.nanoTime() - start < 5_000_000_000L, "Extraction should stop at the timeout");
+        Assert.assertFalse(Thread.currentThread().isInterrupted(), "The interrupt should not be left behind");
+
+        // Extraction that completes within the timeout is not affected
+        Assert.assertEquals(limits.extract(file.toString(), () -> document("content")).content(), "content");
+        Thread.sleep(200);
+        Assert.assertFalse(Thread.currentThread().isInterrupted(), "The cancelled watchdog should not interrupt");
+    }
+
+    @Test
+    public void testCachedTextIsCheckedAgainstTheCharacterLimit() throws Exception {
+        ExtractionLimits limits = new ExtractionLimits(5, -1, -1);
+        limits.checkCharacters("01234");
+        try {
+            limits.checkCharacters("012345");
+            Assert.fail("Expected the character limit to be exceeded");
+        } catch (ExtractionLimits.LimitExceededException e) {
+            Assert.assertEquals(e.getMessage(), "Document text exceeds the limit of 5 characters");
+        }
+    }
+
+    @Test
+    public void testPausedWatchdogDoesNotCountTime() throws Exception {
+        ExtractionLimits limits = new ExtractionLimits(-1, -1, 200);
+        ExtractionLimits.Watchdog watchdog = limits.startWatchdog();
+        try {
+            watchdog.pause();
+            Thread.sleep(400);
+            watchdog.resume();
+            Assert.assertFalse(watchdog.timedOut(), "Time spent while paused should not count");
+            Assert.assertFalse(Thread.currentThread().isInterrupted());
+            try {
+                Thread.sleep(10_000);
+                Assert.fail("Expected the watchdog to interrupt the thread");
+            } catch (InterruptedException e) {
+                Assert.assertTrue(watchdog.timedOut());
+            }
+        } finally {
+            watchdog.close();
+        }
+        Assert.assertFalse(Thread.currentThread().isInterrupted(), "The interrupt should not be left behind");
+    }
+}
@@ -20,7 +20,6 @@ package io.ballerina.stdlib.ai;
 
 import dev.langchain4j.data.segment.TextSegment;
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -32,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static io.ballerina.stdlib.ai.TestUtil.chunkHtml;
 import static io.ballerina.stdlib.ai.TestUtil.formatChunksOutput;
 
 public class HtmlChunkerIntegrationTest {
@@ -41,11 +41,6 @@ public class HtmlChunkerIntegrationTest {
     private static final String INPUT_DIR = "html-chunker-test/input";
     private static final String EXPECTED_DIR = "html-chunker-test/expected";
 
-    @BeforeMethod
-    public void setUp() throws Exception {
-        TestUtil.resetChunkIdCounter();
-    }
-
     static String normalizeNewLines(String content) {
         return content.replaceAll("\\r\\n", "\n").replaceAll("\\r", "\n");
     }
@@ -73,7 +68,7 @@ public class HtmlChunkerIntegrationTest {
         String inputContent = normalizeNewLines(loadFileContent(INPUT_DIR + "/" + fileName));
 
         // Chunk the content using HtmlChunker
-        List<TextSegment> chunks = HtmlChunker.chunk(inputContent, CHUNK_SIZE, MAX_OVERLAP_SIZE);
+        List<TextSegment> chunks = chunkHtml(inputContent, CHUNK_SIZE, MAX_OVERLAP_SIZE);
 
         // Sanity checks
         validateTextSegmentIndices(chunks);
@@ -98,7 +93,7 @@ public class HtmlChunkerIntegrationTest {
         String inputContent = normalizeNewLines(loadFileContent(INPUT_DIR + "/" + fileName));
 
         // Chunk the content using HtmlChunker
-        List<TextSegment> chunks = HtmlChunker.chunk(inputContent, CHUNK_SIZE, 0);
+        List<TextSegment> chunks = chunkHtml(inputContent, CHUNK_SIZE, 0);
 
         // Sanity checks
         validateTextSegmentIndices(chunks);
@@ -132,7 +127,7 @@ public class HtmlChunkerIntegrationTest {
                 <p>Content under header 3.</p>
                 """;
 
-        List<TextSegment> chunks = HtmlChunker.chunk(htmlWithHeaders, 200, 20);
+        List<TextSegment> chunks = chunkHtml(htmlWithHeaders, 200, 20);
 
         Assert.assertFalse(chunks.isEmpty(), "HTML header chunking should produce chunks");
 
@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.stdlib.ai.RecursiveChunker.Chunk;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class HtmlTokenizerTest {
+
+    private static final String[] FRAGMENTS = {"<p>", "</p>", "<P class=\"a\">", "<h1>", "</H1>", "<h2 id=x>",
+            "</h2>", "<pre>", "</pre>", "<p", ">", "<", "</p >", "text", " ", "\n", "<br>", "<br/>", "<span>"};
+
+    @Test
+    public void testTagsMatchRegexSearch() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 500; iteration++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 40; i++) {
+                builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String content = builder.toString();
+            int start = random.nextInt(content.length());
+            int end = start + random.nextInt(content.length() - start + 1);
+            HtmlTokenizer.Tags tags = new HtmlTokenizer(Set.of("p", "h1", "h2")).tokenize(content);
+
+            for (String tagName : List.of("p", "h1", "h2")) {
+                Pattern openPattern = Pattern.compile("<" + tagName + "(?:\\s[^>]*)?>", Pattern.CASE_INSENSITIVE);
+                Pattern closePattern = Pattern.compile("</" + tagName + ">", Pattern.CASE_INSENSITIVE);
+                Assert.assertEquals(find(tags.openingTags(tagName), start, end),
+                        regexFind(openPattern, content, start, end), content);
+                Assert.assertEquals(find(tags.closingTags(tagName), start, end),
+                        regexFind(closePattern, content, start, end), content);
+            }
+        }
+    }
+
+    @Test
+    public void testLineBreakSplitter() {
+        String content = "One<br>Two<BR/>Three<br class=\"x\" />Four<bra>";
+        Iterator<Chunk> pieces = new HtmlChunker.LineBreakSplitter(new HtmlTokenizer(Set.of())).split(content);
+
+        List<String> actual = new ArrayList<>();
+        pieces.forEachRemaining(piece -> actual.add(piece.piece()));
+        Assert.assertEquals(actual, List.of("One", "<br>", "Two", "<BR/>", "Three", "<br class=\"x\" />", "Four<bra>"));
+    }
+
+    @Test
+    public void testSplittersShareTokens() {
+        HtmlTokenizer tokenizer = new HtmlTokenizer(Set.of("h1", "p"));
+        String content = "<h1>Title</h1><p>Body</p>";
+        HtmlTokenizer.Tags tags = tokenizer.tokenize(content);
+
+        new HtmlHeaderSplitter(1, tokenizer).split(content).forEachRemaining(piece -> { });
+        new HtmlParagraphSplitter(tokenizer).split(content).forEachRemaining(piece -> { });
+        Assert.assertSame(tokenizer.tokenize(content), tags);
+    }
+
+    private static List<Integer> find(TokenList tokens, int start, int end) {
+        List<Integer> matches = new ArrayList<>();
+        int token = tokens.find(start, end);
+        while (token >= 0) {
+            matches.add(tokens.start(token));
+            matches.add(tokens.end(token));
+            token = tokens.find(tokens.end(token), end);
+        }
+        return matches;
+    }
+
+    private static List<Integer> regexFind(Pattern pattern, String content, int start, int end) {
+        List<Integer> matches = new ArrayList<>();
+        Matcher matcher = pattern.matcher(content).region(start, end);
+        while (matcher.find()) {
+            matches.add(matcher.start());
+            matches.add(matcher.end());
+        }
+        return matches;
+    }
+}
@@ -20,7 +20,6 @@ package io.ballerina.stdlib.ai;
 
 import dev.langchain4j.data.segment.TextSegment;
 import org.testng.Assert;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -39,11 +38,6 @@ public class MarkdownChunkerIntegrationTest {
     private static final String INPUT_DIR = "markdown-chunker-test/input";
     private static final String EXPECTED_DIR = "markdown-chunker-test/expected";
 
-    @BeforeMethod
-    public void setUp() throws Exception {
-        TestUtil.resetChunkIdCounter();
-    }
-
     static String normalizeNewLines(String content) {
         return content.replaceAll("\r\n", "\n").replaceAll("\r", "\n");
     }
@@ -71,7 +65,7 @@ public class MarkdownChunkerIntegrationTest {
         String inputContent = normalizeNewLines(loadFileContent(INPUT_DIR + "/" + fileName));
 
         // Chunk the content using MarkdownChunker
-        List<TextSegment> chunks = MarkdownChunker.chunk(inputContent, CHUNK_SIZE, MAX_OVERLAP_SIZE);
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(inputContent, CHUNK_SIZE, MAX_OVERLAP_SIZE);
 
         // Sanity checks
         validateTextSegmentIndices(chunks);
@@ -96,7 +90,7 @@ public class MarkdownChunkerIntegrationTest {
         String inputContent = normalizeNewLines(loadFileContent(INPUT_DIR + "/" + fileName));
 
         // Chunk the content using MarkdownChunker
-        List<TextSegment> chunks = MarkdownChunker.chunk(inputContent, CHUNK_SIZE, 0);
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(inputContent, CHUNK_SIZE, 0);
 
         // Sanity checks
         validateTextSegmentIndices(chunks);
@@ -155,7 +149,7 @@ public class MarkdownChunkerIntegrationTest {
                 Content under header 3.
                 """;
 
-                List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithHeaders,
+                List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithHeaders,
                 MarkdownChunker.MarkdownChunkStrategy.BY_HEADER, 200, 20);
 
         // BY_HEADER strategy uses fallthrough, so it will split by multiple criteria
@@ -188,7 +182,7 @@ public class MarkdownChunkerIntegrationTest {
                 Final text.
                 """;
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithCode,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithCode,
                 MarkdownChunker.MarkdownChunkStrategy.BY_CODE_BLOCK, 200, 20);
 
         Assert.assertTrue(chunks.size() >= 3, "BY_CODE_BLOCK should separate code blocks");
@@ -222,7 +216,7 @@ public class MarkdownChunkerIntegrationTest {
                 Section 4 content.
                 """;
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithHorizontalLines,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithHorizontalLines,
                 MarkdownChunker.MarkdownChunkStrategy.BY_HORIZONTAL_LINE, 200, 20);
 
         // BY_HORIZONTAL_LINE strategy includes fallthrough behavior
@@ -239,7 +233,7 @@ public class MarkdownChunkerIntegrationTest {
                 Third paragraph here.
                 """;
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithParagraphs,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithParagraphs,
                 MarkdownChunker.MarkdownChunkStrategy.BY_PARAGRAPH, 100, 10);
 
         // BY_PARAGRAPH strategy includes fallthrough to line, sentence, word, character splitters
@@ -255,7 +249,7 @@ public class MarkdownChunkerIntegrationTest {
                 Line 4
                 """;
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithLines,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithLines,
                 MarkdownChunker.MarkdownChunkStrategy.BY_LINE, 20, 5);
 
         Assert.assertTrue(chunks.size() >= 2, "BY_LINE should split at line breaks");
@@ -265,7 +259,7 @@ public class MarkdownChunkerIntegrationTest {
     public void testBySentenceStrategy() {
         String markdownWithSentences = "First sentence. Second sentence. Third sentence. Fourth sentence.";
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithSentences,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithSentences,
                 MarkdownChunker.MarkdownChunkStrategy.BY_SENTENCE, 30, 5);
 
         Assert.assertTrue(chunks.size() >= 2, "BY_SENTENCE should split at sentence boundaries");
@@ -275,7 +269,7 @@ public class MarkdownChunkerIntegrationTest {
     public void testByWordStrategy() {
         String markdownWithWords = "word1 word2 word3 word4 word5 word6 word7 word8";
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(markdownWithWords,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(markdownWithWords,
                 MarkdownChunker.MarkdownChunkStrategy.BY_WORD, 15, 3);
 
         Assert.assertTrue(chunks.size() >= 3, "BY_WORD should split at word boundaries");
@@ -285,7 +279,7 @@ public class MarkdownChunkerIntegrationTest {
     public void testByCharacterStrategy() {
         String shortText = "abcdefghijklmnopqrstuvwxyz";
 
-        List<TextSegment> chunks = MarkdownChunker.chunk(shortText,
+        List<TextSegment> chunks = TestUtil.chunkMarkdown(shortText,
                 MarkdownChunker.MarkdownChunkStrategy.BY_CHARACTER, 5, 1);
 
         Assert.assertTrue(chunks.size() >= 5, "BY_CHARACTER should split at character boundaries");
@@ -301,8 +295,8 @@ public class MarkdownChunkerIntegrationTest {
         String inputContent = loadFileContent(INPUT_DIR + "/sample7.md");
 
         // Test that each strategy produces consistent results
-        List<TextSegment> chunks1 = MarkdownChunker.chunk(inputContent, strategy, CHUNK_SIZE, MAX_OVERLAP_SIZE);
-        List<TextSegment> chunks2 = MarkdownChunker.chunk(inputContent, strategy, CHUNK_SIZE, MAX_OVERLAP_SIZE);
+        List<TextSegment> chunks1 = TestUtil.chunkMarkdown(inputContent, strategy, CHUNK_SIZE, MAX_OVERLAP_SIZE);
+        List<TextSegment> chunks2 = TestUtil.chunkMarkdown(inputContent, strategy, CHUNK_SIZE, MAX_OVERLAP_SIZE);
 
                 Assert.assertEquals(chunks1.size(), chunks2.size(),
                 "Strategy " + strategy + " should be deterministic");
@@ -321,7 +315,7 @@ public class MarkdownChunkerIntegrationTest {
         int[] chunkSizes = {100, 500, 1000};
 
         for (int chunkSize : chunkSizes) {
-            List<TextSegment> chunks = MarkdownChunker.chunk(inputContent, strategy, chunkSize, 20);
+            List<TextSegment> chunks = TestUtil.chunkMarkdown(inputContent, strategy, chunkSize, 20);
 
                     Assert.assertTrue(chunks.size() > 0,
                     "Strategy " + strategy + " with chunk size " + chunkSize + " should produce chunks");
@@ -340,7 +334,7 @@ public class MarkdownChunkerIntegrationTest {
 
         // Test that all strategies can handle minimal content
         for (MarkdownChunker.MarkdownChunkStrategy strategy : MarkdownChunker.MarkdownChunkStrategy.values()) {
-            List<TextSegment> chunks = MarkdownChunker.chunk(singleWord, strategy, 100, 10);
+            List<TextSegment> chunks = TestUtil.chunkMarkdown(singleWord, strategy, 100, 10);
 
                     Assert.assertEquals(chunks.size(), 1,
                     "Strategy " + strategy + " should produce one chunk for single word");
@@ -400,7 +394,7 @@ public class MarkdownChunkerIntegrationTest {
 
         // Verify the first chunk doesn't have a prev link (it's the first)
         RecursiveChunker.Chunk firstChunk = brokenChunks.get(0);
-        Assert.assertFalse(firstChunk.metadata().containsKey("prev"),
+        Assert.assertEquals(firstChunk.prev(), RecursiveChunker.Chunk.NO_PREV,
                 "First chunk should not have a prev link");
 
         // Verify subsequent chunks have prev links to the previous chunk
@@ -408,11 +402,9 @@ public class MarkdownChunkerIntegrationTest {
             RecursiveChunker.Chunk currentChunk = brokenChunks.get(i);
             RecursiveChunker.Chunk previousChunk = brokenChunks.get(i - 1);
 
-            Assert.assertTrue(currentChunk.metadata().containsKey("prev"),
+            Assert.assertNotEquals(currentChunk.prev(), RecursiveChunker.Chunk.NO_PREV,
                     "Chunk " + i + " should have a prev link");
-
-            String prevId = currentChunk.metadata().get("prev");
-            Assert.assertEquals(prevId, String.valueOf(previousChunk.id()),
+            Assert.assertEquals(currentChunk.prev(), previousChunk.id(),
                     "Chunk " + i + " should link to previous chunk's ID");
         }
 
@@ -442,7 +434,7 @@ public class MarkdownChunkerIntegrationTest {
 
         Assert.assertEquals(result.size(), 1, "Should return single chunk when content is smaller than max size");
         Assert.assertEquals(result.get(0).piece(), "Small", "Should preserve original content");
-        Assert.assertFalse(result.get(0).metadata().containsKey("prev"),
+        Assert.assertEquals(result.get(0).prev(), RecursiveChunker.Chunk.NO_PREV,
                 "Single chunk should not have prev link");
 
         // Test with empty chunk
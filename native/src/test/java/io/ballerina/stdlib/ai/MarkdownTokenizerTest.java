@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.stdlib.ai.RecursiveChunker.Chunk;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class MarkdownTokenizerTest {
+
+    private static final String[] FRAGMENTS = {"\n", "# ", "## ", "### ", "#### ", "####### ", "```", "```java\n",
+            "```\n", "***", "---", "___", "text", " ", "\r", "\u2028", "`", "#"};
+
+    @Test
+    public void testHeaderSplitterPieces() {
+        String content = "Intro\n## First\nBody\n### Nested\n## Second\n## Third\nEnd";
+        MarkdownTokenizer tokenizer = new MarkdownTokenizer();
+        Iterator<Chunk> pieces = new MarkdownChunker.HeaderSplitter(tokenizer, 2).split(content);
+
+        assertPiece(pieces.next(), "Intro", Map.of());
+        assertPiece(pieces.next(), "\n## First\n", Map.of("header", "First"));
+        assertPiece(pieces.next(), "Body\n### Nested", Map.of("header", "First"));
+        assertPiece(pieces.next(), "\n## Second\n", Map.of("header", "Second"));
+        // The line feed ending the previous header cannot start the next one
+        assertPiece(pieces.next(), "## Third\nEnd", Map.of("header", "Second"));
+        Assert.assertFalse(pieces.hasNext());
+    }
+
+    @Test
+    public void testCodeBlockSplitterPieces() {
+        String content = "Before\n```java\nint x;\n```\nAfter\n```\nunclosed";
+        Iterator<Chunk> pieces = new MarkdownChunker.CodeBlockSplitter(new MarkdownTokenizer()).split(content);
+
+        assertPiece(pieces.next(), "Before\n", Map.of());
+        assertPiece(pieces.next(), "```java\nint x;\n```\n", Map.of("language", "java", "type", "code_block"));
+        assertPiece(pieces.next(), "After\n", Map.of());
+        assertPiece(pieces.next(), "```\nunclosed", Map.of("language", "unknown", "type", "code_block"));
+        Assert.assertFalse(pieces.hasNext());
+    }
+
+    @Test
+    public void testThematicBreakSplitterPieces() {
+        String content = "One\n***\nTwo\n-----\nThree\n__\nFour";
+        Iterator<Chunk> pieces = new MarkdownChunker.ThematicBreakSplitter(new MarkdownTokenizer()).split(content);
+
+        assertPiece(pieces.next(), "One", Map.of());
+        assertPiece(pieces.next(), "\n***\n", Map.of());
+        assertPiece(pieces.next(), "Two", Map.of());
+        assertPiece(pieces.next(), "\n-----\n", Map.of());
+        assertPiece(pieces.next(), "Three\n__\nFour", Map.of());
+        Assert.assertFalse(pieces.hasNext());
+    }
+
+    @Test
+    public void testTokensMatchRegexSearch() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 500; iteration++) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 40; i++) {
+                builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String content = builder.toString();
+            int start = random.nextInt(content.length());
+            int end = start + random.nextInt(content.length() - start + 1);
+            MarkdownTokenizer.Tokens tokens = new MarkdownTokenizer().tokenize(content);
+
+            for (int level = 1; level <= MarkdownTokenizer.MAX_HEADER_LEVEL; level++) {
+                Pattern pattern = Pattern.compile(String.format("\n#{%d} (.*)\n", level));
+                Assert.assertEquals(find(tokens.headers[level], start, end),
+                        regexFind(pattern, content, start, end), content);
+            }
+            Assert.assertEquals(find(tokens.codeBlockStarts, start, end),
+                    regexFind(Pattern.compile("```(\\w+)?\n"), content, start, end), content);
+            Assert.assertEquals(find(tokens.codeBlockEnds, start, end),
+                    regexFind(Pattern.compile("```\n"), content, start, end), content);
+        }
+    }
+
+    private static List<Integer> find(TokenList tokens, int start, int end) {
+        List<Integer> matches = new ArrayList<>();
+        int token = tokens.find(start, end);
+        while (token >= 0) {
+            matches.add(tokens.start(token));
+            matches.add(tokens.end(token));
+            token = tokens.find(tokens.end(token), end);
+        }
+        return matches;
+    }
+
+    private static List<Integer> regexFind(Pattern pattern, String content, int start, int end) {
+        List<Integer> matches = new ArrayList<>();
+        Matcher matcher = pattern.matcher(content).region(start, end);
+        while (matcher.find()) {
+            matches.add(matcher.start());
+            matches.add(matcher.end());
+        }
+        return matches;
+    }
+
+    private static void assertPiece(Chunk chunk, String piece, Map<String, String> metadata) {
+        Assert.assertEquals(chunk.piece(), piece);
+        Assert.assertEquals(chunk.metadata(), metadata);
+    }
+}
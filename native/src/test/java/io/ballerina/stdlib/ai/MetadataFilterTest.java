@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.EQUAL;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.GREATER_THAN;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.GREATER_THAN_OR_EQUAL;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.IN;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.LESS_THAN;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.LESS_THAN_OR_EQUAL;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.NOT_EQUAL;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.NOT_IN;
+
+public class MetadataFilterTest {
+
+    private static final Map<String, Object> METADATA = Map.of(
+            "fileName", "guide.md",
+            "index", 4L,
+            "fileSize", new BigDecimal("2.5"),
+            "score", 0.75,
+            "draft", false);
+
+    @DataProvider
+    public Object[][] comparisons() {
+        return new Object[][]{
+                {"fileName", EQUAL, "guide.md", true},
+                {"fileName", NOT_EQUAL, "guide.md", false},
+                {"index", EQUAL, 4.0, false},
+                {"index", IN, List.of(1L, 4L), true},
+                {"index", NOT_IN, List.of(1L, 4L), false},
+                {"index", IN, 4L, false},
+                {"index", NOT_IN, 5L, false},
+                {"index", GREATER_THAN, 3L, true},
+                {"index", GREATER_THAN, new BigDecimal("4.5"), false},
+                {"fileSize", LESS_THAN, 3L, true},
+                {"score", GREATER_THAN_OR_EQUAL, new BigDecimal("0.75"), true},
+                {"draft", EQUAL, false, true},
+                {"missing", NOT_EQUAL, "value", false},
+        };
+    }
+
+    @Test(dataProvider = "comparisons")
+    public void testComparison(String key, MetadataFilter.Operator operator, Object value, boolean expected) {
+        Assert.assertEquals(new MetadataFilter.Comparison(key, operator, value).matches(METADATA), expected);
+    }
+
+    @DataProvider
+    public Object[][] valueComparisons() {
+        return new Object[][]{
+                {"hello", EQUAL, "hello", true},
+                {"hello", EQUAL, "world", false},
+                {42L, EQUAL, 42L, true},
+                {42L, EQUAL, 43L, false},
+                {true, EQUAL, true, true},
+                {true, EQUAL, false, false},
+                {"hello", NOT_EQUAL, "world", true},
+                {"hello", NOT_EQUAL, "hello", false},
+                {1L, NOT_EQUAL, 2L, true},
+                {1L, NOT_EQUAL, 1L, false},
+                {"b", IN, List.of("a", "b", "c"), true},
+                {"d", IN, List.of("a", "b", "c"), false},
+                {2L, IN, List.of(1L, 2L, 3L), true},
+                {5L, IN, List.of(1L, 2L, 3L), false},
+                {"a", IN, "a", false},
+                {"d", NOT_IN, List.of("a", "b", "c"), true},
+                {"b", NOT_IN, List.of("a", "b", "c"), false},
+                {5L, NOT_IN, List.of(1L, 2L, 3L), true},
+                {2L, NOT_IN, List.of(1L, 2L, 3L), false},
+                {"a", NOT_IN, "a", false},
+                {10L, GREATER_THAN, 5L, true},
+                {5L, GREATER_THAN, 10L, false},
+                {5L, GREATER_THAN, 5L, false},
+                {5L, LESS_THAN, 10L, true},
+                {10L, LESS_THAN, 5L, false},
+                {5L, LESS_THAN, 5L, false},
+                {10L, GREATER_THAN_OR_EQUAL, 5L, true},
+                {5L, GREATER_THAN_OR_EQUAL, 5L, true},
+                {4L, GREATER_THAN_OR_EQUAL, 5L, false},
+                {5L, LESS_THAN_OR_EQUAL, 10L, true},
+                {5L, LESS_THAN_OR_EQUAL, 5L, true},
+                {10L, LESS_THAN_OR_EQUAL, 5L, false},
+        };
+    }
+
+    @Test(dataProvider = "valueComparisons")
+    public void testValueComparison(Object actual, MetadataFilter.Operator operator, Object value,
+                                    boolean expected) {
+        Assert.assertEquals(new MetadataFilter.Comparison("key", operator, value).test(actual), expected);
+    }
+
+    @Test
+    public void testOrderingNonNumericValuesFails() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new MetadataFilter.Comparison("key", GREATER_THAN, "def").test("abc"));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new MetadataFilter.Comparison("fileName", GREATER_THAN, "a").matches(METADATA));
+    }
+
+    @Test
+    public void testGroups() {
+        MetadataFilter matching = new MetadataFilter.Comparison("index", EQUAL, 4L);
+        MetadataFilter notMatching = new MetadataFilter.Comparison("index", EQUAL, 5L);
+        Assert.assertTrue(new MetadataFilter.Group(true, List.of(matching, matching)).matches(METADATA));
+        Assert.assertFalse(new MetadataFilter.Group(true, List.of(matching, notMatching)).matches(METADATA));
+        Assert.assertTrue(new MetadataFilter.Group(false, List.of(notMatching, matching)).matches(METADATA));
+        Assert.assertFalse(new MetadataFilter.Group(false, List.of(notMatching)).matches(METADATA));
+        Assert.assertTrue(new MetadataFilter.Group(true, List.of()).matches(METADATA));
+        Assert.assertFalse(new MetadataFilter.Group(false, List.of()).matches(METADATA));
+        Assert.assertTrue(new MetadataFilter.Group(false, List.of(notMatching,
+                new MetadataFilter.Group(true, List.of(matching)))).matches(METADATA));
+    }
+
+    @Test
+    public void testGroupsEvaluateEveryFilter() {
+        MetadataFilter failing = new MetadataFilter.Comparison("fileName", GREATER_THAN, 1L);
+        Assert.assertThrows(IllegalArgumentException.class, () -> new MetadataFilter.Group(true,
+                List.of(new MetadataFilter.Comparison("index", EQUAL, 5L), failing)).matches(METADATA));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new MetadataFilter.Group(false,
+                List.of(new MetadataFilter.Comparison("index", EQUAL, 4L), failing)).matches(METADATA));
+    }
+
+    @Test
+    public void testOperatorsAreParsedFromSymbols() {
+        Assert.assertEquals(MetadataFilter.Operator.of("nin"), NOT_IN);
+        Assert.assertEquals(MetadataFilter.Operator.of(">="), GREATER_THAN_OR_EQUAL);
+        Assert.assertThrows(IllegalArgumentException.class, () -> MetadataFilter.Operator.of("~"));
+    }
+}
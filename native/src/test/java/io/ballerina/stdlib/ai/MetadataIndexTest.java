@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.EQUAL;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.GREATER_THAN;
+import static io.ballerina.stdlib.ai.MetadataFilter.Operator.LESS_THAN;
+
+public class MetadataIndexTest {
+
+    private static final String[] KEYS = {"fileName", "index", "score", "draft"};
+
+    private static Object randomValue(Random random, String key) {
+        return switch (key) {
+            case "fileName" -> "file" + random.nextInt(5) + ".md";
+            case "index" -> (long) random.nextInt(20);
+            case "score" -> random.nextBoolean() ? random.nextInt(10) / 4.0 : BigDecimal.valueOf(random.nextInt(10), 1);
+            default -> random.nextBoolean();
+        };
+    }
+
+    private static MetadataFilter randomFilter(Random random, int depth) {
+        if (depth > 0 && random.nextInt(3) == 0) {
+            List<MetadataFilter> filters = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                filters.add(randomFilter(random, depth - 1));
+            }
+            return new MetadataFilter.Group(random.nextBoolean(), filters);
+        }
+        String key = KEYS[random.nextInt(2) + (random.nextBoolean() ? 2 : 0)];
+        MetadataFilter.Operator operator = MetadataFilter.Operator.values()[random.nextInt(8)];
+        if (operator.isOrdering()) {
+            key = random.nextBoolean() ? "index" : "score";
+        }
+        Object value = switch (operator) {
+            case IN, NOT_IN -> List.of(randomValue(random, key), randomValue(random, key));
+            default -> randomValue(random, key);
+        };
+        return new MetadataFilter.Comparison(key, operator, value);
+    }
+
+    @Test
+    public void testSelectMatchesEachEntryInTurn() {
+        Random random = new Random(17);
+        List<Map<String, Object>> metadata = new ArrayList<>();
+        for (int slot = 0; slot < 300; slot++) {
+            if (random.nextInt(10) == 0) {
+                metadata.add(null);
+                continue;
+            }
+            Map<String, Object> values = new HashMap<>();
+            for (String key : KEYS) {
+                if (random.nextInt(5) > 0) {
+                    values.put(key, randomValue(random, key));
+                }
+            }
+            metadata.add(values);
+        }
+        MetadataIndex index = new MetadataIndex(metadata);
+
+        for (int i = 0; i < 500; i++) {
+            MetadataFilter filter = randomFilter(random, 3);
+            BitSet selected = index.select(filter, slot -> true);
+            for (int slot = 0; slot < metadata.size(); slot++) {
+                boolean expected = metadata.get(slot) != null && filter.matches(metadata.get(slot));
+                Assert.assertEquals(selected.get(slot), expected, filter + " for slot " + slot);
+            }
+        }
+    }
+
+    @Test
+    public void testSelectFailsLikeMatchingEachEntryInTurn() {
+        Random random = new Random(29);
+        List<Map<String, Object>> metadata = new ArrayList<>();
+        for (int slot = 0; slot < 100; slot++) {
+            Map<String, Object> values = new HashMap<>();
+            for (String key : KEYS) {
+                if (random.nextInt(5) > 0) {
+                    // Now and then a value that cannot be ordered
+                    values.put(key, random.nextInt(40) == 0 ? "value" + slot : randomValue(random, key));
+                }
+            }
+            metadata.add(values);
+        }
+        MetadataIndex index = new MetadataIndex(metadata);
+
+        int failures = 0;
+        for (int i = 0; i < 500; i++) {
+            MetadataFilter filter = randomFilter(random, 3);
+            String expected = null;
+            for (Map<String, Object> values : metadata) {
+                try {
+                    filter.matches(values);
+                } catch (IllegalArgumentException e) {
+                    expected = e.getMessage();
+                    break;
+                }
+            }
+            try {
+                index.select(filter, slot -> true);
+                Assert.assertNull(expected, filter.toString());
+            } catch (IllegalArgumentException e) {
+                Assert.assertEquals(e.getMessage(), expected, filter.toString());
+                failures++;
+            }
+        }
+        Assert.assertTrue(failures > 0, "Some filters should fail to compare");
+    }
+
+    @Test
+    public void testOrderingFailsOnlyForVisibleValues() {
+        List<Map<String, Object>> metadata = List.of(
+                Map.of("index", "first", "draft", true),
+                Map.of("index", 2L, "draft", false),
+                Map.of("index", 3L, "draft", false));
+        MetadataIndex index = new MetadataIndex(metadata);
+        MetadataFilter greaterThanOne = new MetadataFilter.Comparison("index", GREATER_THAN, 1L);
+
+        try {
+            index.select(greaterThanOne, slot -> true);
+            Assert.fail("Expected the value that is not a number to be rejected");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(e.getMessage(), "Cannot compare 'first' as a number");
+        }
+        // Deleted entries are not compared
+        Assert.assertEquals(index.select(greaterThanOne, slot -> slot > 0).stream().boxed().toList(), List.of(1, 2));
+        // Every filter of a group is compared, even for entries that an earlier filter rules out
+        MetadataFilter notDraft = new MetadataFilter.Comparison("draft", EQUAL, false);
+        Assert.assertThrows(IllegalArgumentException.class, () -> index.select(
+                new MetadataFilter.Group(true, List.of(notDraft, greaterThanOne)), slot -> true));
+        Assert.assertThrows(IllegalArgumentException.class, () -> index.select(
+                new MetadataFilter.Comparison("draft", LESS_THAN, 1L), slot -> true));
+        Assert.assertTrue(index.select(new MetadataFilter.Comparison("missing", LESS_THAN, "a"), slot -> true)
+                .isEmpty());
+    }
+}
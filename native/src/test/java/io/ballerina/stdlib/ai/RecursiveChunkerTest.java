@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.stdlib.ai.RecursiveChunker.Chunk;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class RecursiveChunkerTest {
+
+    private static final List<RecursiveChunker.Splitter> SPLITTERS = List.of(
+            new RecursiveChunker.SimpleDelimiterSplitter("\n\n"),
+            RecursiveChunker.Splitter.createWordSplitter(),
+            RecursiveChunker.Splitter.createCharacterSplitter());
+
+    @Test
+    public void testChunksAreViewsOverContent() {
+        String content = "First paragraph here.\n\nSecond paragraph is a little longer.\n\nThird.";
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 30, 0);
+
+        int expectedStart = 0;
+        for (Chunk chunk : chunks) {
+            Assert.assertSame(chunk.content(), content);
+            Assert.assertEquals(chunk.start(), expectedStart);
+            Assert.assertTrue(chunk.length() <= 30);
+            expectedStart = chunk.end();
+        }
+        Assert.assertEquals(expectedStart, content.length());
+        Assert.assertEquals(chunks.stream().map(Chunk::piece).collect(Collectors.joining()), content);
+    }
+
+    @Test
+    public void testOverlapIsSuffixOfPreviousChunk() {
+        String content = "alpha beta gamma delta epsilon zeta eta theta iota kappa";
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 20, 6);
+
+        for (int i = 1; i < chunks.size(); i++) {
+            Chunk previous = chunks.get(i - 1);
+            Chunk current = chunks.get(i);
+            Assert.assertTrue(current.start() <= previous.end());
+            Assert.assertTrue(previous.end() - current.start() <= 6);
+        }
+    }
+
+    @Test
+    public void testOverlapIsTailOfLastPiece() {
+        String content = "Zeta eta theta iota kappa.\n\nAlpha beta gamma delta epsilon.\n\nMu nu xi omicron pi rho sigma.";
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 30, 12);
+
+        Assert.assertEquals(chunks.stream().map(Chunk::piece).toList(), List.of(
+                "Zeta eta theta iota kappa.",
+                " kappa.\n\nAlpha beta gamma",
+                " gamma delta epsilon.\n\nMu nu",
+                " nu xi omicron pi rho sigma."));
+    }
+
+    @Test
+    public void testMergeKeepsCommonMetadata() {
+        String content = "abcdef";
+        Chunk first = new Chunk(content, 0, 2, Map.of("header", "A", "type", "x"));
+        Chunk second = new Chunk(content, 2, 4, Map.of("header", "A", "type", "y"));
+        Chunk third = new Chunk(content, 4, 6, Map.of("header", "A"));
+
+        Chunk merged = Chunk.merge(List.of(first, second, third));
+        Assert.assertEquals(merged.piece(), content);
+        Assert.assertEquals(merged.metadata(), Map.of("header", "A"));
+        Assert.assertSame(Chunk.merge(List.of(first)), first);
+    }
+
+    @Test
+    public void testBreakUpChunkLinksToEmittedParts() {
+        String content = "0123456789";
+        List<Chunk> parts = RecursiveChunker.breakUpChunk(new Chunk(content, 1, 10, Map.of()), 4);
+
+        Assert.assertEquals(parts.stream().map(Chunk::piece).toList(), List.of("1234", "5678", "9"));
+        Assert.assertEquals(parts.get(0).prev(), Chunk.NO_PREV);
+        Assert.assertEquals(parts.get(1).prev(), parts.get(0).id());
+        Assert.assertEquals(parts.get(2).prev(), parts.get(1).id());
+    }
+
+    @Test
+    public void testMergeKeepsEveryPartOfOversizedPiece() {
+        String content = "0123456789";
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).mergeChunksWithOverlap(SPLITTERS,
+                List.of(new Chunk(content, Map.of())), 4, 0);
+
+        Assert.assertEquals(chunks.stream().map(Chunk::piece).toList(), List.of("0123", "4567", "89"));
+    }
+
+    @Test
+    public void testIdsAreDerivedFromContent() {
+        String content = "repeated text. other text. repeated text.";
+        Chunk first = new Chunk(content, 0, 14, Map.of());
+        Chunk second = new Chunk(content, 27, 41, Map.of("header", "A"));
+        Chunk other = new Chunk(content, 15, 26, Map.of());
+
+        Assert.assertEquals(first.id(), second.id());
+        Assert.assertEquals(first.id(), new Chunk("repeated text.", Map.of()).id());
+        Assert.assertNotEquals(first.id(), other.id());
+        Assert.assertEquals(first.id(), Chunk.contentHash("repeated text."));
+
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 20, 6);
+        List<Chunk> rechunked = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 20, 6);
+        Assert.assertEquals(chunks.stream().map(Chunk::id).toList(), rechunked.stream().map(Chunk::id).toList());
+    }
+
+    @Test
+    public void testScopedIdsDependOnDocument() {
+        long id = Chunk.contentHash("same text");
+        long firstDocument = Chunk.contentHash("a.md");
+        long secondDocument = Chunk.contentHash("b.md");
+        Assert.assertEquals(Chunk.scopedId(firstDocument, id, 0), Chunk.scopedId(firstDocument, id, 0));
+        Assert.assertNotEquals(Chunk.scopedId(firstDocument, id, 0), Chunk.scopedId(secondDocument, id, 0));
+        Assert.assertNotEquals(Chunk.scopedId(firstDocument, id, 0), Chunk.scopedId(firstDocument, id, 1));
+    }
+
+    @Test
+    public void testRepeatedChunksOfDocumentGetIdsOfTheirOwn() {
+        String content = "Footer. Body one. Footer. Body two. Footer.";
+        List<Chunk> chunks = List.of(new Chunk(content, 0, 7, Map.of()), new Chunk(content, 8, 17, Map.of()),
+                new Chunk(content, 18, 25, Map.of()), new Chunk(content, 26, 35, Map.of()),
+                new Chunk(content, 36, 43, Map.of()));
+        ChunkIds ids = new ChunkIds("docs/a.md");
+        List<Long> assigned = chunks.stream().map(ids::next).toList();
+        Assert.assertEquals(Set.copyOf(assigned).size(), chunks.size());
+        // The latest footer is the one a following chunk links to
+        Assert.assertEquals(ids.latest(chunks.getFirst().id()), assigned.getLast().longValue());
+
+        ChunkIds again = new ChunkIds("docs/a.md");
+        Assert.assertEquals(chunks.stream().map(again::next).toList(), assigned);
+        ChunkIds otherDocument = new ChunkIds("docs/b.md");
+        Assert.assertNotEquals(otherDocument.next(chunks.getFirst()), assigned.getFirst().longValue());
+    }
+
+    @Test
+    public void testHardCutSlicesContentWithoutDelimiters() {
+        String content = "x".repeat(1050);
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 100, 0);
+
+        Assert.assertEquals(chunks.size(), 11);
+        for (int i = 0; i < chunks.size(); i++) {
+            Assert.assertEquals(chunks.get(i).start(), i * 100);
+        }
+        Assert.assertEquals(chunks.getLast().length(), 50);
+    }
+
+    @Test
+    public void testHardCutKeepsSurrogatePairsTogether() {
+        // Each emoji is a surrogate pair, so a cut every three characters would split one in half
+        String content = "\uD83D\uDE00".repeat(10);
+        List<Chunk> chunks = new RecursiveChunker(Set.of()).chunkUsingSplitters(content, SPLITTERS, 3, 0);
+
+        for (Chunk chunk : chunks) {
+            Assert.assertTrue(chunk.length() <= 3);
+            Assert.assertFalse(Character.isLowSurrogate(content.charAt(chunk.start())));
+        }
+        Assert.assertEquals(chunks.stream().map(Chunk::piece).collect(Collectors.joining()), content);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.stdlib.ai.RecursiveChunker.Chunk;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class SentenceDetectorSplitterTest {
+
+    private static final String CONTENT = "  The first sentence is short. The second one is a little longer! "
+            + "Is this the third?\n\nThe last sentence.";
+
+    @Test
+    public void testPiecesAreSentencesCoveringContent() {
+        List<Chunk> pieces = new ArrayList<>();
+        SentenceDetectorSplitter.forLanguage("en").split(CONTENT, 2, CONTENT.length()).forEachRemaining(pieces::add);
+
+        Assert.assertEquals(pieces.stream().map(Chunk::piece).toList(), List.of(
+                "The first sentence is short. ",
+                "The second one is a little longer! ",
+                "Is this the third?\n\n",
+                "The last sentence."));
+        Assert.assertEquals(pieces.getFirst().start(), 2);
+        Assert.assertEquals(pieces.getLast().end(), CONTENT.length());
+    }
+
+    @Test
+    public void testModelIsLoadedOncePerLanguage() {
+        Assert.assertSame(SentenceDetectorSplitter.forLanguage("en"), SentenceDetectorSplitter.forLanguage("en"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> SentenceDetectorSplitter.forLanguage("xx"));
+    }
+
+    @Test
+    public void testConcurrentSplitsShareTheModel() {
+        String content = CONTENT.repeat(50);
+        List<List<Chunk>> results = IntStream.range(0, 32).parallel()
+                .mapToObj(i -> MarkdownChunker.split(content, MarkdownChunker.MarkdownChunkStrategy.BY_NLP_SENTENCE,
+                        100, 0))
+                .toList();
+
+        List<Chunk> expected = results.getFirst();
+        Assert.assertEquals(expected.stream().map(Chunk::piece).collect(Collectors.joining()), content);
+        expected.forEach(chunk -> Assert.assertTrue(chunk.length() <= 100));
+        results.forEach(chunks -> Assert.assertEquals(chunks, expected));
+    }
+}
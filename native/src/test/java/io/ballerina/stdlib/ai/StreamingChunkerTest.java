@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StreamingChunkerTest {
+
+    private static final String PARAGRAPH = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. "
+            + "Sed do eiusmod tempor incididunt ut labore et dolore magna aliqua.\n\n";
+
+    private static List<RecursiveChunker.Chunk> stream(StreamingChunker chunker, String content, int blockSize) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        List<RecursiveChunker.Chunk> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += blockSize) {
+            chunks.addAll(chunker.feed(Arrays.copyOfRange(bytes, offset, Math.min(offset + blockSize, bytes.length))));
+        }
+        chunks.addAll(chunker.finish());
+        return chunks;
+    }
+
+    @Test
+    public void testSingleWindowMatchesDocumentChunking() {
+        String content = "# Title\n\nIntroduction.\n\n## Section\n\n" + PARAGRAPH.repeat(3)
+                + "```java\nint x = 1;\n```\n";
+        StreamingChunker chunker = StreamingChunker.forMarkdown(MarkdownChunker.MarkdownChunkStrategy.BY_HEADER,
+                200, 20);
+        List<RecursiveChunker.Chunk> streamed = stream(chunker, content, 16);
+
+        List<RecursiveChunker.Chunk> whole = MarkdownChunker.split(content,
+                MarkdownChunker.MarkdownChunkStrategy.BY_HEADER, 200, 20);
+        Assert.assertTrue(whole.size() > 1);
+        Assert.assertEquals(streamed.size(), whole.size());
+        for (int i = 0; i < whole.size(); i++) {
+            Assert.assertEquals(streamed.get(i).start(), whole.get(i).start());
+            Assert.assertEquals(streamed.get(i).end(), whole.get(i).end());
+            Assert.assertEquals(streamed.get(i).metadata(), whole.get(i).metadata());
+            Assert.assertEquals(streamed.get(i).id(), whole.get(i).id());
+        }
+        Assert.assertEquals(chunker.emitted(), whole.size());
+    }
+
+    @Test
+    public void testStreamedChunksCoverContent() {
+        String content = "# Title\n\n" + PARAGRAPH.repeat(40);
+        StreamingChunker chunker = StreamingChunker.forMarkdown(MarkdownChunker.MarkdownChunkStrategy.BY_PARAGRAPH,
+                100, 0);
+        List<RecursiveChunker.Chunk> chunks = stream(chunker, content, 64);
+
+        String whole = MarkdownChunker.split(content, MarkdownChunker.MarkdownChunkStrategy.BY_PARAGRAPH, 100, 0)
+                .stream().map(RecursiveChunker.Chunk::piece).collect(Collectors.joining());
+        Assert.assertTrue(chunks.size() > 1);
+        Assert.assertEquals(chunks.stream().map(RecursiveChunker.Chunk::piece).collect(Collectors.joining()), whole);
+        chunks.forEach(chunk -> Assert.assertTrue(chunk.length() <= 100));
+        Assert.assertEquals(chunker.emitted(), chunks.size());
+    }
+
+    @Test
+    public void testChunksAreEmittedBeforeContentEnds() {
+        String paragraph = "<p>" + PARAGRAPH + "</p>";
+        StreamingChunker chunker = StreamingChunker.forHtml(HtmlChunker.HtmlChunkStrategy.HTML_PARAGRAPH, 200, 0);
+        List<RecursiveChunker.Chunk> chunks = new ArrayList<>(chunker.feed(paragraph.repeat(200)));
+        Assert.assertTrue(chunks.size() > 100);
+        chunks.addAll(chunker.feed(paragraph.repeat(200)));
+        chunks.addAll(chunker.finish());
+        Assert.assertEquals(chunks.size(), 400);
+        Assert.assertEquals(chunker.emitted(), 400);
+        chunks.forEach(chunk -> Assert.assertTrue(chunk.length() <= 200));
+    }
+
+    @Test
+    public void testUnterminatedTagIsHeldUntilClosed() {
+        StreamingChunker chunker = StreamingChunker.forHtml(HtmlChunker.HtmlChunkStrategy.HTML_PARAGRAPH, 100, 0);
+        List<RecursiveChunker.Chunk> chunks = new ArrayList<>(chunker.feed("<p>" + PARAGRAPH.repeat(10)));
+        chunks.addAll(chunker.feed("</p><p>Last paragraph.</p>"));
+        chunks.addAll(chunker.finish());
+        Assert.assertTrue(chunks.size() > 1);
+        Assert.assertTrue(chunks.getLast().piece().endsWith("<p>Last paragraph.</p>"));
+    }
+
+    @Test
+    public void testMultiByteCharactersSplitAcrossBlocks() {
+        String content = "Ünïcödé téxt wïth àccénts — and “quotes” 🙂 in every sentence. ".repeat(30);
+        StreamingChunker chunker = StreamingChunker.forMarkdown(MarkdownChunker.MarkdownChunkStrategy.BY_WORD,
+                50, 0);
+        List<RecursiveChunker.Chunk> chunks = stream(chunker, content, 7);
+
+        String streamed = chunks.stream().map(RecursiveChunker.Chunk::piece).collect(Collectors.joining());
+        Assert.assertFalse(streamed.contains("�"));
+        Assert.assertEquals(streamed.replaceAll("\\s", ""), content.replaceAll("\\s", ""));
+    }
+
+    @Test
+    public void testStreamedTextChunksMatchDocumentChunking() {
+        String content = PARAGRAPH.repeat(40);
+        StreamingChunker chunker = StreamingChunker.forText(TextChunker.TextChunkStrategy.PARAGRAPH, 100, 0);
+        List<RecursiveChunker.Chunk> chunks = stream(chunker, content, 64);
+
+        List<String> whole = TextChunker.split(content, TextChunker.TextChunkStrategy.PARAGRAPH, 100, 0).stream()
+                .map(RecursiveChunker.Chunk::piece).toList();
+        Assert.assertTrue(chunks.size() > 1);
+        Assert.assertEquals(chunks.stream().map(RecursiveChunker.Chunk::piece).toList(), whole);
+        Assert.assertEquals(chunker.emitted(), chunks.size());
+    }
+}
@@ -18,21 +18,52 @@
 
 package io.ballerina.stdlib.ai;
 
+import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.segment.TextSegment;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class TestUtil {
 
-    public static void resetChunkIdCounter() throws Exception {
-        Field nextIdField = RecursiveChunker.Chunk.class.getDeclaredField("nextId");
-        nextIdField.setAccessible(true);
-        AtomicLong nextId = (AtomicLong) nextIdField.get(null);
-        nextId.set(0);
+    static List<TextSegment> chunkMarkdown(String content, MarkdownChunker.MarkdownChunkStrategy strategy,
+                                           int maxChunkSize, int maxOverlapSize) {
+        return toTextSegments(MarkdownChunker.split(content, strategy, maxChunkSize, maxOverlapSize));
+    }
+
+    static List<TextSegment> chunkMarkdown(String content, int maxChunkSize, int maxOverlapSize) {
+        return chunkMarkdown(content, MarkdownChunker.MarkdownChunkStrategy.BY_HEADER, maxChunkSize, maxOverlapSize);
+    }
+
+    static List<TextSegment> chunkHtml(String content, HtmlChunker.HtmlChunkStrategy strategy, int maxChunkSize,
+                                       int maxOverlapSize) {
+        return toTextSegments(HtmlChunker.split(content, strategy, maxChunkSize, maxOverlapSize));
+    }
+
+    static List<TextSegment> chunkHtml(String content, int maxChunkSize, int maxOverlapSize) {
+        return chunkHtml(content, HtmlChunker.HtmlChunkStrategy.HTML_HEADER, maxChunkSize, maxOverlapSize);
+    }
+
+    /**
+     * Converts chunks to text segments whose metadata holds the metadata of each chunk along with its id, index and
+     * the id of the part before it, as the golden files record them.
+     */
+    static List<TextSegment> toTextSegments(List<RecursiveChunker.Chunk> chunks) {
+        List<TextSegment> segments = new ArrayList<>(chunks.size());
+        for (int index = 0; index < chunks.size(); index++) {
+            RecursiveChunker.Chunk chunk = chunks.get(index);
+            Map<String, Object> metadata = new HashMap<>(chunk.metadata());
+            if (chunk.prev() != RecursiveChunker.Chunk.NO_PREV) {
+                metadata.put("prev", String.valueOf(chunk.prev()));
+            }
+            metadata.put("id", chunk.id());
+            metadata.put("index", index);
+            segments.add(new TextSegment(chunk.piece(), new Metadata(metadata)));
+        }
+        return segments;
     }
 
     static String formatChunksOutput(List<TextSegment> chunks, int chunkSize, int maxOverlapSize) {
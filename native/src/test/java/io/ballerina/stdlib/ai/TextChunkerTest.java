@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import io.ballerina.stdlib.ai.TextChunker.TextChunkStrategy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class TextChunkerTest {
+
+    private static List<String> chunk(String content, TextChunkStrategy strategy, int maxChunkSize,
+                                      int maxOverlapSize) {
+        return TextChunker.split(content, strategy, maxChunkSize, maxOverlapSize).stream()
+                .map(RecursiveChunker.Chunk::piece)
+                .toList();
+    }
+
+    @Test
+    public void testPartsAreSplitAtTheDelimitersOfTheStrategy() {
+        Assert.assertEquals(chunk("abcde", TextChunkStrategy.CHARACTER, 2, 0), List.of("ab", "cd", "e"));
+        Assert.assertEquals(chunk("hello world\nballerina test", TextChunkStrategy.WORD, 11, 0),
+                List.of("hello world", "ballerina", "test"));
+        Assert.assertEquals(chunk("line1\nline2\nline3\r\nline4\n", TextChunkStrategy.LINE, 13, 0),
+                List.of("line1\nline2", "line3\r\nline4"));
+        Assert.assertEquals(chunk("Paragraph one.\n\nParagraph two is here.\n \n\nAnd three.",
+                TextChunkStrategy.PARAGRAPH, 40, 0), List.of("Paragraph one.\n\nParagraph two is here.", "And three."));
+    }
+
+    @Test
+    public void testLargePartsFallBackToFinerStrategies() {
+        String content = "Short paragraph.\n\nThis paragraph is far too long to fit. It has two sentences.";
+        Assert.assertEquals(chunk(content, TextChunkStrategy.PARAGRAPH, 40, 0), List.of(
+                "Short paragraph.",
+                "This paragraph is far too long to fit.",
+                "It has two sentences."));
+        Assert.assertEquals(chunk("Supercalifragilistic word", TextChunkStrategy.WORD, 8, 0),
+                List.of("Supercal", "ifragili", "stic", "word"));
+    }
+
+    @Test
+    public void testOverlapIsMadeOfTrailingSentences() {
+        String content = "Ballerina is a cloud-native programming language. It simplifies writing integrations. "
+                + "Recursive chunking helps process long documents efficiently. "
+                + "Overlapping chunks retain context across boundaries.";
+        Assert.assertEquals(chunk(content, TextChunkStrategy.PARAGRAPH, 100, 40), List.of(
+                "Ballerina is a cloud-native programming language. It simplifies writing integrations.",
+                "It simplifies writing integrations. Recursive chunking helps process long documents efficiently.",
+                "Overlapping chunks retain context across boundaries."));
+    }
+
+    @Test
+    public void testChunksAreTrimmedViewsOfTheContent() {
+        String content = "  First paragraph.  \n\n  " + "x".repeat(1000);
+        List<RecursiveChunker.Chunk> chunks = TextChunker.split(content, TextChunkStrategy.PARAGRAPH, 30, 0);
+        Assert.assertEquals(chunks.size(), 35);
+        Assert.assertEquals(chunks.get(0).piece(), "First paragraph.");
+        Assert.assertEquals(chunks.get(0).start(), 2);
+        Assert.assertEquals(chunks.getLast().piece(), "x".repeat(10));
+        for (RecursiveChunker.Chunk chunk : chunks) {
+            Assert.assertSame(chunk.content(), content);
+            Assert.assertTrue(chunk.length() <= 30);
+            Assert.assertEquals(chunk.piece(), chunk.piece().strip());
+        }
+        // Text without delimiters is cut into windows of the maximum size rather than split into characters
+        Assert.assertEquals(TextChunker.split("y".repeat(10_000), TextChunkStrategy.CHARACTER, 100, 0).size(), 100);
+    }
+
+    @Test
+    public void testInvalidSizesAreRejected() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> chunk("text", TextChunkStrategy.WORD, 0, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> chunk("text", TextChunkStrategy.WORD, 5, 6));
+    }
+}
@@ -34,7 +34,7 @@ public class TextDataLoaderTest {
         Path resourcePath = Paths.get(System.getProperty("user.dir"))
                 .resolve("src/test/resources")
                 .resolve("doc-reader-test/TestDoc.pdf");
-        var doc = TextDataLoader.parsePDF(resourcePath.toString());
+        var doc = TextDataLoader.parsePDF(resourcePath.toString(), ExtractionLimits.UNLIMITED);
         String content = doc.content();
 
         Assert.assertNotNull(content, "PDF parsing result should not be null");
@@ -42,6 +42,47 @@ public class TextDataLoaderTest {
         Assert.assertTrue(content.length() > 100, "PDF should contain substantial content");
     }
 
+    @Test
+    public void testPdfPageReader() throws Exception {
+        Path resourcePath = Paths.get(System.getProperty("user.dir"))
+                .resolve("src/test/resources")
+                .resolve("doc-reader-test/TestDoc.pdf");
+        StringBuilder content = new StringBuilder();
+        int expectedPage = 1;
+        try (PdfPageReader reader = new PdfPageReader(resourcePath.toString(), 1)) {
+            for (PdfPageReader.PageGroup pageGroup = reader.next(); pageGroup != null; pageGroup = reader.next()) {
+                Assert.assertEquals(pageGroup.firstPage(), expectedPage++, "Pages should be read in order");
+                content.append(pageGroup.content());
+            }
+        }
+
+        Assert.assertTrue(expectedPage > 1, "PDF should contain at least one page");
+        Assert.assertTrue(content.length() > 100, "PDF pages should contain substantial content");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testPdfPageReaderWithInvalidPath() throws Exception {
+        try (PdfPageReader reader = new PdfPageReader("non-existent-file.pdf", 1)) {
+            reader.next();
+        }
+    }
+
+    @Test
+    public void testPdfPageReaderWithinLimits() throws Exception {
+        Path resourcePath = Paths.get(System.getProperty("user.dir"))
+                .resolve("src/test/resources")
+                .resolve("doc-reader-test/TestDoc.pdf");
+        ExtractionLimits.configure(-1, 10, -1);
+        try (PdfPageReader reader = new PdfPageReader(resourcePath.toString(), 1)) {
+            reader.next();
+            Assert.fail("Expected the size limit to be exceeded");
+        } catch (ExtractionLimits.LimitExceededException e) {
+            Assert.assertTrue(e.getMessage().endsWith("exceeds the limit of 10 bytes"));
+        } finally {
+            ExtractionLimits.configure(-1, -1, -1);
+        }
+    }
+
     @Test
     public void testParseOfficeXDocx() {
         Path resourcePath = Paths.get(System.getProperty("user.dir"))
@@ -68,6 +109,17 @@ public class TextDataLoaderTest {
         Assert.assertTrue(result.length() > 10, "PPTX should contain substantial content");
     }
 
+    @Test
+    public void testParsingAfterWarmUp() throws TikaException, IOException, SAXException {
+        DocumentParsers.warmUp();
+        Path resourcePath = Paths.get(System.getProperty("user.dir"))
+                .resolve("src/test/resources")
+                .resolve("doc-reader-test/TestDoc.pdf");
+        var doc = TextDataLoader.parsePDF(resourcePath.toString(), ExtractionLimits.UNLIMITED);
+
+        Assert.assertTrue(doc.content().length() > 100, "PDF should be parsed as usual after warming up");
+    }
+
     @Test(expectedExceptions = RuntimeException.class)
     public void testParseOfficeXWithInvalidPath() {
         TextDataLoader.parseOfficeX("non-existent-file.docx");
@@ -0,0 +1,394 @@
+/*
+ *  Copyright (c) 2025, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.ai;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class VectorIndexTest {
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static float[] nearby(Random random, float[] centre) {
+        float[] vector = randomVector(random, centre.length);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = centre[i] + 0.5f * vector[i];
+        }
+        return vector;
+    }
+
+    private static double exactScore(SimilarityMetric metric, float[] a, float[] b) {
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        double distance = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+            distance += (a[i] - b[i]) * (a[i] - b[i]);
+        }
+        return switch (metric) {
+            case COSINE -> dot / Math.sqrt(normA * normB);
+            case EUCLIDEAN -> Math.sqrt(distance);
+            case DOT_PRODUCT -> dot;
+        };
+    }
+
+    private static VectorIndex.Entry<Integer> entry(int value, float[] vector) {
+        return new VectorIndex.Entry<>("id" + value, vector, value,
+                Map.of("value", (long) value, "even", value % 2 == 0));
+    }
+
+    private static MetadataFilter comparison(String key, MetadataFilter.Operator operator, Object value) {
+        return new MetadataFilter.Comparison(key, operator, value);
+    }
+
+    private static List<String> ids(List<? extends VectorIndex.Match<?>> matches) {
+        return matches.stream().map(VectorIndex.Match::id).toList();
+    }
+
+    @Test
+    public void testSearchMatchesExhaustiveRanking() {
+        Random random = new Random(42);
+        int dimension = 37;
+        List<float[]> vectors = new ArrayList<>();
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            vectors.add(randomVector(random, dimension));
+            entries.add(new VectorIndex.Entry<>("id" + i, vectors.get(i), i));
+        }
+        float[] query = randomVector(random, dimension);
+
+        for (SimilarityMetric metric : SimilarityMetric.values()) {
+            VectorIndex<Integer> index = new VectorIndex<>(metric);
+            index.addAll(entries);
+            Comparator<Integer> closestFirst =
+                    Comparator.comparingDouble(i -> exactScore(metric, query, vectors.get(i)));
+            if (metric != SimilarityMetric.EUCLIDEAN) {
+                closestFirst = closestFirst.reversed();
+            }
+            List<Integer> expected = entries.stream().map(VectorIndex.Entry::value).sorted(closestFirst).limit(10)
+                    .toList();
+
+            List<VectorIndex.Match<Integer>> matches = index.search(query, 10, null);
+            Assert.assertEquals(matches.stream().map(VectorIndex.Match::value).toList(), expected, metric.name());
+            for (VectorIndex.Match<Integer> match : matches) {
+                Assert.assertEquals(match.score(), exactScore(metric, query, vectors.get(match.value())), 1e-4);
+            }
+        }
+    }
+
+    @Test
+    public void testSearchWithFilterAndWithoutLimit() {
+        VectorIndex<Integer> index = new VectorIndex<>(SimilarityMetric.DOT_PRODUCT);
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(entry(i, new float[]{i, 1}));
+        }
+        index.addAll(entries);
+        float[] query = {1, 0};
+
+        MetadataFilter even = comparison("even", MetadataFilter.Operator.EQUAL, true);
+        MetadataFilter aboveSix = comparison("value", MetadataFilter.Operator.GREATER_THAN, 6L);
+        Assert.assertEquals(ids(index.search(query, 3, even)), List.of("id8", "id6", "id4"));
+        Assert.assertEquals(index.search(query, -1, null).size(), 10);
+        Assert.assertEquals(ids(index.search(query, 0, aboveSix)), List.of("id9", "id8", "id7"));
+        Assert.assertEquals(ids(index.entries(2, aboveSix)), List.of("id7", "id8"));
+        Assert.assertEquals(ids(index.entries(-1, new MetadataFilter.Group(false, List.of(
+                comparison("value", MetadataFilter.Operator.LESS_THAN_OR_EQUAL, 1L),
+                new MetadataFilter.Group(true, List.of(even, aboveSix)))))), List.of("id0", "id1", "id8"));
+    }
+
+    @Test
+    public void testReplacingAndRemovingEntries() {
+        VectorIndex<String> index = new VectorIndex<>(SimilarityMetric.COSINE);
+        List<VectorIndex.Entry<String>> entries = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            entries.add(new VectorIndex.Entry<>("id" + i, new float[]{1, i}, "value" + i));
+        }
+        index.addAll(entries);
+        index.addAll(List.of(new VectorIndex.Entry<>("id3", new float[]{0, 1}, "replaced")));
+        for (int i : new int[]{0, 1, 4, 5, 6}) {
+            Assert.assertTrue(index.remove("id" + i));
+        }
+        Assert.assertFalse(index.remove("id0"));
+
+        Assert.assertEquals(index.size(), 3);
+        Assert.assertEquals(index.entries(-1, null).stream().map(VectorIndex.Match::value).toList(),
+                List.of("value2", "value7", "replaced"));
+        Assert.assertEquals(ids(index.search(new float[]{0, 1}, 1, null)), List.of("id3"));
+    }
+
+    @Test
+    public void testVectorsMustHaveTheSameDimension() {
+        VectorIndex<String> index = new VectorIndex<>(SimilarityMetric.COSINE);
+        index.addAll(List.of(new VectorIndex.Entry<>("a", new float[]{1, 0}, "a")));
+        try {
+            index.addAll(List.of(new VectorIndex.Entry<>("b", new float[]{0, 1}, "b"),
+                    new VectorIndex.Entry<>("c", new float[]{1, 0, 0}, "c")));
+            Assert.fail("Expected the dimension of the vector to be rejected");
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals(e.getMessage(),
+                    "Vector of dimension 3 does not match the dimension 2 of the vector store");
+        }
+        Assert.assertEquals(index.size(), 1, "No entry should be added when a vector is rejected");
+        Assert.assertThrows(IllegalArgumentException.class, () -> index.search(new float[]{1, 0, 0}, 1, null));
+
+        // An empty index takes the dimension of the next vector added
+        index.remove("a");
+        index.addAll(List.of(new VectorIndex.Entry<>("c", new float[]{1, 0, 0}, "c")));
+        Assert.assertEquals(ids(index.search(new float[]{1, 0, 0}, 1, null)), List.of("c"));
+    }
+
+    @Test
+    public void testHnswSearchFindsNearestEntries() {
+        Random random = new Random(7);
+        int dimension = 24;
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            entries.add(new VectorIndex.Entry<>("id" + i, randomVector(random, dimension), i));
+        }
+        VectorIndex<Integer> exact = new VectorIndex<>(SimilarityMetric.COSINE);
+        VectorIndex<Integer> approximate =
+                new VectorIndex<>(SimilarityMetric.COSINE, new HnswGraph.Config(16, 100, 64), null);
+        exact.addAll(entries);
+        for (int i = 0; i < entries.size(); i += 500) {
+            // Entries added in batches are linked to those added before
+            approximate.addAll(entries.subList(i, i + 500));
+        }
+
+        int found = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random, dimension);
+            List<String> expected = ids(exact.search(query, 10, null));
+            List<String> actual = ids(approximate.search(query, 10, null));
+            Assert.assertEquals(actual.size(), 10);
+            found += (int) actual.stream().filter(expected::contains).count();
+        }
+        Assert.assertTrue(found >= 450, "Recall should be at least 0.9, found " + found + " of 500");
+    }
+
+    @Test
+    public void testHnswSearchSkipsDeletedAndFilteredEntries() {
+        Random random = new Random(11);
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            entries.add(entry(i, randomVector(random, 8)));
+        }
+        VectorIndex<Integer> index = new VectorIndex<>(SimilarityMetric.EUCLIDEAN, new HnswGraph.Config(8, 50, 20),
+                null);
+        index.addAll(entries);
+        float[] query = entries.get(3).vector();
+        Assert.assertEquals(ids(index.search(query, 1, null)), List.of("id3"));
+
+        index.remove("id3");
+        List<VectorIndex.Match<Integer>> matches = index.search(query, 5, null);
+        Assert.assertEquals(matches.size(), 5);
+        Assert.assertFalse(ids(matches).contains("id3"), "Deleted entries should not be returned");
+
+        // Too few entries near the query match, so the index scans every entry
+        List<VectorIndex.Match<Integer>> filtered = index.search(query, 5,
+                comparison("value", MetadataFilter.Operator.IN, List.of(1L, 101L, 201L, 301L)));
+        Assert.assertEquals(filtered.stream().map(VectorIndex.Match::value).sorted().toList(),
+                List.of(1, 101, 201, 301));
+
+        // Deleting most entries rewrites the segment and its graph without them
+        for (int i = 0; i < 390; i++) {
+            index.remove("id" + i);
+        }
+        Assert.assertEquals(index.size(), 10);
+        Assert.assertEquals(ids(index.search(entries.get(395).vector(), 1, null)), List.of("id395"));
+        Assert.assertEquals(index.search(query, 20, null).size(), 10);
+    }
+
+    @Test
+    public void testQuantizedSearchRanksShortlistWithFullPrecision() {
+        // Entries are grouped around centres, as the embeddings of related texts are
+        Random random = new Random(3);
+        int dimension = 128;
+        List<float[]> centres = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            centres.add(randomVector(random, dimension));
+        }
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entries.add(new VectorIndex.Entry<>("id" + i, nearby(random, centres.get(i % 100)), i));
+        }
+        List<float[]> queries = new ArrayList<>();
+        for (int q = 0; q < 20; q++) {
+            queries.add(nearby(random, centres.get(random.nextInt(100))));
+        }
+
+        for (SimilarityMetric metric : SimilarityMetric.values()) {
+            VectorIndex<Integer> exact = new VectorIndex<>(metric);
+            exact.addAll(entries);
+            for (QuantizedVectors.Encoding encoding : QuantizedVectors.Encoding.values()) {
+                int rerankFactor = encoding == QuantizedVectors.Encoding.INT8 ? 4 : 10;
+                VectorIndex<Integer> quantized =
+                        new VectorIndex<>(metric, null, new QuantizedVectors.Config(encoding, rerankFactor));
+                quantized.addAll(entries);
+                int found = 0;
+                for (float[] query : queries) {
+                    List<VectorIndex.Match<Integer>> expected = exact.search(query, 10, null);
+                    List<VectorIndex.Match<Integer>> actual = quantized.search(query, 10, null);
+                    Assert.assertEquals(actual.size(), 10);
+                    found += (int) ids(actual).stream().filter(ids(expected)::contains).count();
+                    // The shortlisted entries are scored with their full-precision vectors
+                    VectorIndex.Match<Integer> match = actual.get(0);
+                    Assert.assertEquals(match.score(), exactScore(metric, query, match.vector()), 1e-4);
+                    Assert.assertTrue(Arrays.equals(match.vector(), entries.get(match.value()).vector()));
+                }
+                Assert.assertTrue(found >= 180, metric + " " + encoding + " recall should be at least 0.9, found "
+                        + found + " of 200");
+            }
+        }
+    }
+
+    @Test
+    public void testQuantizedIndexRewritesCodesOfMergedSegments() {
+        VectorIndex<Integer> index = new VectorIndex<>(SimilarityMetric.COSINE, null,
+                new QuantizedVectors.Config(QuantizedVectors.Encoding.INT8, 1), Runnable::run);
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            float[] vector = new float[40];
+            vector[i] = 1;
+            entries.add(new VectorIndex.Entry<>("id" + i, vector, i));
+        }
+        for (int i = 0; i < entries.size(); i += 10) {
+            index.addAll(entries.subList(i, i + 10));
+        }
+        for (int i = 0; i < 30; i++) {
+            index.remove("id" + i);
+        }
+
+        // The remaining entries are merged into a single segment with their codes
+        Assert.assertEquals(index.segmentCount(), 1);
+        for (int i = 30; i < 40; i++) {
+            Assert.assertEquals(ids(index.search(entries.get(i).vector(), 1, null)), List.of("id" + i));
+        }
+        Assert.assertEquals(index.search(new float[40], 3, null).size(), 3);
+        Assert.assertTrue(Arrays.equals(index.entries(1, null).get(0).vector(), entries.get(30).vector()));
+        VectorIndex<Integer> unquantized = new VectorIndex<>(SimilarityMetric.COSINE);
+        unquantized.addAll(entries.subList(0, 1));
+        Assert.assertTrue(Arrays.equals(unquantized.entries(1, null).get(0).vector(), entries.get(0).vector()));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new QuantizedVectors.Config(QuantizedVectors.Encoding.BINARY, 0));
+    }
+
+    @Test
+    public void testSegmentsAreMergedInOrder() {
+        Random random = new Random(5);
+        VectorIndex<Integer> index = new VectorIndex<>(SimilarityMetric.EUCLIDEAN, null, null, Runnable::run);
+        VectorIndex<Integer> reference = new VectorIndex<>(SimilarityMetric.EUCLIDEAN);
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            entries.add(entry(i, randomVector(random, 6)));
+        }
+        for (VectorIndex.Entry<Integer> entry : entries) {
+            index.addAll(List.of(entry));
+        }
+        reference.addAll(entries);
+        // Segments are merged while their sizes are within a factor of two
+        Assert.assertTrue(index.segmentCount() <= 8, "Found " + index.segmentCount() + " segments");
+
+        for (int i = 0; i < 200; i += 3) {
+            index.remove("id" + i);
+            reference.remove("id" + i);
+        }
+        VectorIndex.Entry<Integer> replaced = new VectorIndex.Entry<>("id1", randomVector(random, 6), -1,
+                Map.of("value", -1L, "even", true));
+        index.addAll(List.of(replaced));
+        reference.addAll(List.of(replaced));
+
+        Assert.assertEquals(index.size(), reference.size());
+        Assert.assertEquals(ids(index.entries(-1, null)), ids(reference.entries(-1, null)));
+        Assert.assertEquals(ids(index.entries(-1, null)).get(index.size() - 1), "id1");
+        for (int q = 0; q < 10; q++) {
+            float[] query = randomVector(random, 6);
+            MetadataFilter even = comparison("even", MetadataFilter.Operator.EQUAL, true);
+            Assert.assertEquals(ids(index.search(query, 7, even)), ids(reference.search(query, 7, even)));
+        }
+    }
+
+    @Test
+    public void testQueriesRunWhileEntriesAreAddedAndDeleted() throws Exception {
+        Random random = new Random(9);
+        VectorIndex<Integer> index = new VectorIndex<>(SimilarityMetric.COSINE, new HnswGraph.Config(8, 40, 20), null);
+        List<VectorIndex.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            entries.add(new VectorIndex.Entry<>("id" + i, randomVector(random, 16), i));
+        }
+        index.addAll(entries.subList(0, 100));
+        float[] query = randomVector(random, 16);
+
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            AtomicBoolean writing = new AtomicBoolean(true);
+            List<Future<Integer>> queries = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                queries.add(readers.submit(() -> {
+                    int count = 0;
+                    do {
+                        // Entries 0 to 99 are never deleted, so every snapshot has at least 100 entries
+                        List<String> matched = ids(index.search(query, 50, null));
+                        Assert.assertEquals(matched.size(), 50);
+                        Assert.assertEquals(new HashSet<>(matched).size(), 50, "Entries should be returned once");
+                        List<String> all = ids(index.entries(-1, null));
+                        Assert.assertEquals(new HashSet<>(all).size(), all.size(), "Entries should be listed once");
+                        count++;
+                    } while (writing.get());
+                    return count;
+                }));
+            }
+            for (int i = 100; i < entries.size(); i += 50) {
+                index.addAll(entries.subList(i, i + 50));
+                for (int j = i; j < i + 25; j++) {
+                    index.remove("id" + j);
+                }
+            }
+            writing.set(false);
+            for (Future<Integer> future : queries) {
+                Assert.assertTrue(future.get(60, TimeUnit.SECONDS) > 0);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        Assert.assertEquals(index.size(), 100 + (entries.size() - 100) / 2);
+    }
+}